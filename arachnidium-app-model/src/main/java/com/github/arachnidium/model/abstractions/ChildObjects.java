@@ -0,0 +1,89 @@
+package com.github.arachnidium.model.abstractions;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Children of the {@link ModelObject}. They are weakly referenced, so a child
+ * which is not used anymore is collected by the GC while its parent is alive.
+ *
+ * The count of children can be limited. The eldest child is evicted when the
+ * limit is exceeded. The evicted child is not destroyed together with the
+ * parent.
+ *
+ * @param <T> is the type of children
+ */
+final class ChildObjects<T> {
+
+	private final Set<WeakReference<T>> references = new LinkedHashSet<>();
+	private final ReferenceQueue<T> collected = new ReferenceQueue<>();
+	private int limit;
+
+	// removes references to collected children
+	private void expunge() {
+		Reference<? extends T> reference;
+		while ((reference = collected.poll()) != null) {
+			references.remove(reference);
+		}
+	}
+
+	/**
+	 * @param limit is the max count of children. The count is not limited if
+	 *            it is 0 or less
+	 */
+	synchronized void setLimit(int limit) {
+		this.limit = limit;
+		evict();
+	}
+
+	private void evict() {
+		Iterator<WeakReference<T>> iterator = references.iterator();
+		while (limit > 0 && references.size() > limit) {
+			iterator.next();
+			iterator.remove();
+		}
+	}
+
+	synchronized void add(T child) {
+		expunge();
+		references.add(new WeakReference<>(child, collected));
+		evict();
+	}
+
+	synchronized void remove(T child) {
+		expunge();
+		Iterator<WeakReference<T>> iterator = references.iterator();
+		while (iterator.hasNext()) {
+			if (iterator.next().get() == child) {
+				iterator.remove();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * @return Children which are still alive
+	 */
+	synchronized List<T> get() {
+		expunge();
+		List<T> result = new ArrayList<>(references.size());
+		for (WeakReference<T> reference : references) {
+			T child = reference.get();
+			if (child != null) {
+				result.add(child);
+			}
+		}
+		return result;
+	}
+
+	synchronized void clear() {
+		expunge();
+		references.clear();
+	}
+}
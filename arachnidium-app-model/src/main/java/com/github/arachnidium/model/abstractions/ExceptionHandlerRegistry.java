@@ -0,0 +1,239 @@
+package com.github.arachnidium.model.abstractions;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import net.sf.cglib.proxy.MethodProxy;
+
+import com.github.arachnidium.model.interfaces.IModelObjectExceptionHandler;
+
+/**
+ * Exception handlers which are checked in by the {@link ModelObject}.
+ *
+ * Handlers of the thrown exception are resolved once per exception class.
+ * The handler of the nearest superclass goes first (the exception class
+ * itself is the nearest), handlers of the same class go in the order they
+ * have been checked in. If the handler fails the next one is invoked. The
+ * original exception is thrown when there is no handler or all of them fail.
+ */
+final class ExceptionHandlerRegistry implements IModelObjectExceptionHandler {
+
+	private static final ModelObjectExceptionHandler[] NO_HANDLERS = new ModelObjectExceptionHandler[] {};
+
+	/**
+	 * The live set view of checked in handlers. It is kept for subclasses
+	 * which used the former set of handlers (see
+	 * {@link ModelObject#checkedInExceptionHandlers}). Changes are made by
+	 * {@link ExceptionHandlerRegistry#checkIn(ModelObjectExceptionHandler)}
+	 * and {@link ExceptionHandlerRegistry#checkOut(ModelObjectExceptionHandler)},
+	 * the iterator goes over the copy.
+	 */
+	private final class HandlerSet extends HashSet<ModelObjectExceptionHandler> {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public boolean add(ModelObjectExceptionHandler handler) {
+			return checkIn(handler);
+		}
+
+		@Override
+		public boolean remove(Object handler) {
+			return (handler instanceof ModelObjectExceptionHandler)
+					&& checkOut((ModelObjectExceptionHandler) handler);
+		}
+
+		@Override
+		public boolean contains(Object handler) {
+			synchronized (ExceptionHandlerRegistry.this) {
+				return handlers.contains(handler);
+			}
+		}
+
+		@Override
+		public int size() {
+			synchronized (ExceptionHandlerRegistry.this) {
+				return handlers.size();
+			}
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return size() == 0;
+		}
+
+		@Override
+		public void clear() {
+			for (ModelObjectExceptionHandler handler : getCheckedIn()) {
+				checkOut(handler);
+			}
+		}
+
+		@Override
+		public Iterator<ModelObjectExceptionHandler> iterator() {
+			final Iterator<ModelObjectExceptionHandler> copy = getCheckedIn()
+					.iterator();
+			return new Iterator<ModelObjectExceptionHandler>() {
+				private ModelObjectExceptionHandler current;
+
+				@Override
+				public boolean hasNext() {
+					return copy.hasNext();
+				}
+
+				@Override
+				public ModelObjectExceptionHandler next() {
+					current = copy.next();
+					return current;
+				}
+
+				@Override
+				public void remove() {
+					if (current == null) {
+						throw new IllegalStateException();
+					}
+					checkOut(current);
+					current = null;
+				}
+			};
+		}
+
+		@Override
+		public Object[] toArray() {
+			return getCheckedIn().toArray();
+		}
+
+		@Override
+		public <T> T[] toArray(T[] a) {
+			return getCheckedIn().toArray(a);
+		}
+
+		@Override
+		public Spliterator<ModelObjectExceptionHandler> spliterator() {
+			return Spliterators.spliterator(getCheckedIn(),
+					Spliterator.DISTINCT);
+		}
+
+		@Override
+		public Object clone() {
+			return new HashSet<>(getCheckedIn());
+		}
+	}
+
+	/**
+	 * Handlers which are resolved for exception classes. It is replaced when
+	 * handlers are changed, so a resolution of former handlers can't get into
+	 * the new one
+	 */
+	private static final class Resolved {
+		private final ModelObjectExceptionHandler[] checkedIn;
+		private final ConcurrentMap<Class<?>, ModelObjectExceptionHandler[]> byThrowableClass = new ConcurrentHashMap<>();
+
+		private Resolved(ModelObjectExceptionHandler[] checkedIn) {
+			this.checkedIn = checkedIn;
+		}
+
+		private ModelObjectExceptionHandler[] get(Class<?> throwableClass) {
+			ModelObjectExceptionHandler[] result = byThrowableClass
+					.get(throwableClass);
+			if (result == null) {
+				result = resolve(checkedIn, throwableClass);
+				byThrowableClass.putIfAbsent(throwableClass, result);
+			}
+			return result;
+		}
+	}
+
+	private final List<ModelObjectExceptionHandler> handlers = new ArrayList<>();
+	// is null when handlers are changed
+	private volatile Resolved resolved;
+	private final HashSet<ModelObjectExceptionHandler> handlerSet = new HandlerSet();
+
+	private static ModelObjectExceptionHandler[] resolve(
+			ModelObjectExceptionHandler[] handlers, Class<?> throwableClass) {
+		List<ModelObjectExceptionHandler> result = new ArrayList<>();
+		for (Class<?> c = throwableClass; c != Object.class; c = c
+				.getSuperclass()) {
+			@SuppressWarnings("unchecked")
+			Class<? extends Throwable> tClass = (Class<? extends Throwable>) c;
+			for (ModelObjectExceptionHandler handler : handlers) {
+				if (handler.isThrowableInList(tClass)
+						&& !result.contains(handler)) {
+					result.add(handler);
+				}
+			}
+		}
+		return result.toArray(NO_HANDLERS);
+	}
+
+	synchronized boolean checkIn(ModelObjectExceptionHandler handler) {
+		if (!handlers.contains(handler)) {
+			handlers.add(handler);
+			resolved = null;
+			return true;
+		}
+		return false;
+	}
+
+	synchronized boolean checkOut(ModelObjectExceptionHandler handler) {
+		if (handlers.remove(handler)) {
+			resolved = null;
+			return true;
+		}
+		return false;
+	}
+
+	private synchronized List<ModelObjectExceptionHandler> getCheckedIn() {
+		return new ArrayList<>(handlers);
+	}
+
+	/**
+	 * @return The live set view of checked in handlers
+	 */
+	HashSet<ModelObjectExceptionHandler> asSet() {
+		return handlerSet;
+	}
+
+	private ModelObjectExceptionHandler[] getHandlers(Class<?> throwableClass) {
+		Resolved current = resolved;
+		if (current == null) {
+			synchronized (this) {
+				if (resolved == null) {
+					if (handlers.isEmpty()) {
+						return NO_HANDLERS;
+					}
+					resolved = new Resolved(handlers.toArray(NO_HANDLERS));
+				}
+				current = resolved;
+			}
+		}
+		return current.get(throwableClass);
+	}
+
+	/**
+	 * @see com.github.arachnidium.model.interfaces.IModelObjectExceptionHandler#handleException(java.lang.Object,
+	 *      java.lang.reflect.Method, net.sf.cglib.proxy.MethodProxy,
+	 *      java.lang.Object[], java.lang.Throwable)
+	 */
+	@Override
+	public Object handleException(Object object, Method originalMethod,
+			MethodProxy methodProxy, Object[] args, Throwable t)
+			throws Throwable {
+		for (ModelObjectExceptionHandler handler : getHandlers(t.getClass())) {
+			try {
+				return handler.handleException(object, originalMethod,
+						methodProxy, args, t);
+			} catch (Throwable e) {
+				continue; // it wasn't the suitable handler
+			}
+		}
+		// if there are no suitable handlers
+		throw t;
+	}
+}
@@ -17,11 +17,7 @@
 
 package com.github.arachnidium.model.abstractions;
 
-import java.lang.reflect.Proxy;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashSet;
-import java.util.List;
 
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.internal.WrapsDriver;
@@ -67,33 +63,23 @@ public abstract class ModelObject<S extends Handle> implements IDestroyable,
 	protected final Awaiting awaiting; //performs waiting
 	protected final DriverLogs logs; //is for getting WebDriver logs
 	
-	//this is for interception and automatically handling exceptions
-	protected final HashSet<ModelObjectExceptionHandler> checkedInExceptionHandlers = new HashSet<ModelObjectExceptionHandler>();
-
 	// this will be invoked when some exception is caught out
-	IModelObjectExceptionHandler exceptionHandler = (IModelObjectExceptionHandler) Proxy
-			.newProxyInstance(
-					IModelObjectExceptionHandler.class.getClassLoader(),
-					new Class[] { IModelObjectExceptionHandler.class },
-					(proxy, method, args) -> {
-						// it needs to know exception
-						Throwable t = (Throwable) args[4];
-						for (ModelObjectExceptionHandler handler : checkedInExceptionHandlers)
-							// it looks for the suitable handler
-							if (handler.isThrowableInList(t.getClass()))
-								try {
-									return method.invoke(handler, args);
-								} catch (Exception e) {
-									continue; // it wasn't the suitable
-												// handler
-								}
-						// if there are no suitable handlers
-						throw t;
-					});
-
-	@SuppressWarnings("rawtypes")
-	final List<ModelObject> children = Collections
-			.synchronizedList(new ArrayList<ModelObject>());
+	final ExceptionHandlerRegistry exceptionHandler = new ExceptionHandlerRegistry();
+
+	/**
+	 * The live view of checked in exception handlers.
+	 * 
+	 * @deprecated handlers should be added and removed by
+	 *             {@link #checkInExceptionHandler(ModelObjectExceptionHandler)}
+	 *             and
+	 *             {@link #checkOutExceptionHandler(ModelObjectExceptionHandler)}
+	 */
+	@Deprecated
+	protected final HashSet<ModelObjectExceptionHandler> checkedInExceptionHandlers = exceptionHandler
+			.asSet();
+
+	// children are weakly referenced, see ChildObjects
+	final ChildObjects<ModelObject<?>> children = new ChildObjects<>();
 
 	/**
 	 * This is the general constructor.
@@ -110,18 +96,37 @@ public abstract class ModelObject<S extends Handle> implements IDestroyable,
 	}
 
 	/**
-	 * Adds the child object
+	 * Adds the child object. The child is weakly referenced.
+	 * If a {@link PartScope} is open in the current thread then 
+	 * the child is bound to it and is destroyed when the scope 
+	 * is closed
 	 * 
 	 * @param child is the child {@link ModelObject}
 	 */
 	protected void addChild(ModelObject<?> child) {
 		children.add(child);
+		PartScope.bind(this, child);
+	}
+
+	/**
+	 * Limits the count of children. If there are more 
+	 * children the eldest ones are not destroyed together 
+	 * with this object
+	 * 
+	 * @param limit is the max count of children. The count 
+	 * is not limited if it is 0 or less
+	 */
+	protected final void setChildLimit(int limit) {
+		children.setLimit(limit);
 	}
 
 	/**
 	 * This method add an object that 
 	 * performs automatically handling of 
-	 * some caught exception.  
+	 * some caught exception. The handler is 
+	 * also used for subclasses of declared
+	 * exceptions. Handlers of the nearest
+	 * exception class are invoked first
 	 * 
 	 * @param exceptionHandler is the object which
 	 * performs automatically handling of 
@@ -133,12 +138,12 @@ public abstract class ModelObject<S extends Handle> implements IDestroyable,
 	 */
 	public void checkInExceptionHandler(
 			ModelObjectExceptionHandler exceptionHandler) {
-		checkedInExceptionHandlers.add(exceptionHandler);
+		this.exceptionHandler.checkIn(exceptionHandler);
 	}
 
 	public void checkOutExceptionHandler(
 			ModelObjectExceptionHandler exceptionHandler) {
-		checkedInExceptionHandlers.remove(exceptionHandler);
+		this.exceptionHandler.checkOut(exceptionHandler);
 	}
 
 	/**
@@ -147,7 +152,7 @@ public abstract class ModelObject<S extends Handle> implements IDestroyable,
 	 */
 	@Override
 	public void destroy() {
-		for (ModelObject<?> child : children)
+		for (ModelObject<?> child : children.get())
 			child.destroy();
 		children.clear();
 	}
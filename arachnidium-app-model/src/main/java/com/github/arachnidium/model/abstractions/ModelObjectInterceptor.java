@@ -1,7 +1,6 @@
 package com.github.arachnidium.model.abstractions;
 
 import java.lang.reflect.Method;
-import java.util.List;
 
 import net.sf.cglib.proxy.MethodInterceptor;
 import net.sf.cglib.proxy.MethodProxy;
@@ -9,8 +8,8 @@ import net.sf.cglib.proxy.MethodProxy;
 
 
 import com.github.arachnidium.model.support.HowToGetByFrames;
-import com.github.arachnidium.model.support.annotations.classdeclaration.ClassDeclarationReader;
 import com.github.arachnidium.model.support.annotations.classdeclaration.Frame;
+import com.github.arachnidium.model.support.annotations.classdeclaration.PageObjectDescriptor;
 import com.github.arachnidium.util.proxy.DefaultInterceptor;
 
 /**
@@ -42,18 +41,7 @@ public abstract class ModelObjectInterceptor	extends DefaultInterceptor {
 	 */
 	protected HowToGetByFrames ifClassIsAnnotatedByFrames(
 			Class<?> annotated) {
-		List<Object> framePath = ClassDeclarationReader
-				.getFramePath(ClassDeclarationReader.getAnnotations(
-						Frame.class, annotated));
-		if (framePath.size() == 0) {
-			return null;
-		}
-	
-		HowToGetByFrames howTo = new HowToGetByFrames();
-		framePath.forEach((chainElement) -> {
-			howTo.addNextFrame(chainElement);
-		});
-		return howTo;
+		return PageObjectDescriptor.get(annotated).getHowToGetByFrames();
 	}	
 	
 	/**
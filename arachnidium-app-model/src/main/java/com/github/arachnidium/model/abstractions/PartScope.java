@@ -0,0 +1,100 @@
+package com.github.arachnidium.model.abstractions;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Limits the lifetime of parts. Each {@link ModelObject} which is created as
+ * a child by the current thread while the scope is open is destroyed and
+ * removed from its parent when the scope is closed. It is supposed to be used
+ * like this:
+ *
+ * <p>
+ * <code>
+ * <p>try (PartScope scope = PartScope.open()) {
+ * <p>&nbsp;&nbsp;application.getPart(SomePage.class).doSomething();
+ * <p>}
+ * </code>
+ * <p>
+ * Scopes can be nested. A child is bound to the innermost open scope.
+ */
+public final class PartScope implements AutoCloseable {
+
+	private static final ThreadLocal<Deque<PartScope>> OPEN_SCOPES = new ThreadLocal<Deque<PartScope>>() {
+		@Override
+		protected Deque<PartScope> initialValue() {
+			return new ArrayDeque<>();
+		}
+	};
+
+	/**
+	 * The parent and the child which are bound to the scope
+	 */
+	private static final class Binding {
+		private final WeakReference<ModelObject<?>> parent;
+		private final WeakReference<ModelObject<?>> child;
+
+		private Binding(ModelObject<?> parent, ModelObject<?> child) {
+			this.parent = new WeakReference<ModelObject<?>>(parent);
+			this.child = new WeakReference<ModelObject<?>>(child);
+		}
+	}
+
+	/**
+	 * Opens the new scope for the current thread
+	 *
+	 * @return The opened scope
+	 */
+	public static PartScope open() {
+		PartScope scope = new PartScope();
+		OPEN_SCOPES.get().push(scope);
+		return scope;
+	}
+
+	/**
+	 * Binds the child to the innermost scope of the current thread
+	 */
+	static void bind(ModelObject<?> parent, ModelObject<?> child) {
+		PartScope scope = OPEN_SCOPES.get().peek();
+		if (scope != null) {
+			scope.bindings.add(new Binding(parent, child));
+		}
+	}
+
+	private final List<Binding> bindings = new ArrayList<>();
+
+	private PartScope() {
+		super();
+	}
+
+	/**
+	 * Destroys children which have been created inside the scope. The last
+	 * created child is destroyed first.
+	 *
+	 * @see java.lang.AutoCloseable#close()
+	 */
+	@Override
+	public void close() {
+		Deque<PartScope> openScopes = OPEN_SCOPES.get();
+		openScopes.remove(this);
+		if (openScopes.isEmpty()) {
+			OPEN_SCOPES.remove();
+		}
+		for (int i = bindings.size() - 1; i >= 0; i--) {
+			Binding binding = bindings.get(i);
+			ModelObject<?> child = binding.child.get();
+			if (child == null) {
+				continue;
+			}
+			ModelObject<?> parent = binding.parent.get();
+			if (parent != null) {
+				parent.children.remove(child);
+			}
+			child.destroy();
+		}
+		bindings.clear();
+	}
+}
@@ -10,6 +10,7 @@ import com.github.arachnidium.core.Manager;
 import com.github.arachnidium.core.MobileScreen;
 import com.github.arachnidium.core.fluenthandle.IHowToGetHandle;
 import com.github.arachnidium.core.settings.HandleWaitingTimeOut;
+import com.github.arachnidium.core.settings.PartLifetime;
 import com.github.arachnidium.model.abstractions.ModelObject;
 import com.github.arachnidium.model.interfaces.IDecomposable;
 import com.github.arachnidium.model.interfaces.IDecomposableByHandles;
@@ -77,6 +78,8 @@ public abstract class Application<S extends Handle, U extends IHowToGetHandle> e
 		super(handle);
 		manager = (Manager<U>) handle.getManager();
 		getWebDriverEncapsulation().addDestroyable(this);
+		setChildLimit(getWebDriverEncapsulation().getWrappedConfiguration()
+				.getSection(PartLifetime.class).getMaxChildren());
 	}
 
 	private <T extends IDecomposable> T get(Class<T> partClass,
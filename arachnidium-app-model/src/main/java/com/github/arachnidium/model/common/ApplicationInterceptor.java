@@ -2,15 +2,16 @@ package com.github.arachnidium.model.common;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import net.sf.cglib.proxy.MethodProxy;
 
-import org.apache.commons.lang3.ArrayUtils;
-
 import com.github.arachnidium.core.HowToGetBrowserWindow;
 import com.github.arachnidium.core.HowToGetMobileScreen;
 import com.github.arachnidium.core.fluenthandle.IHowToGetHandle;
@@ -18,7 +19,6 @@ import com.github.arachnidium.model.abstractions.ModelObjectInterceptor;
 import com.github.arachnidium.model.interfaces.IDecomposable;
 import com.github.arachnidium.model.interfaces.IDecomposableByHandles;
 import com.github.arachnidium.model.support.HowToGetByFrames;
-import com.github.arachnidium.model.support.annotations.classdeclaration.ClassDeclarationReader;
 import com.github.arachnidium.model.support.annotations.classdeclaration.Frame;
 import com.github.arachnidium.model.support.annotations.classdeclaration.IfBrowserDefaultPageIndex;
 import com.github.arachnidium.model.support.annotations.classdeclaration.IfBrowserPageTitle;
@@ -26,6 +26,7 @@ import com.github.arachnidium.model.support.annotations.classdeclaration.IfBrows
 import com.github.arachnidium.model.support.annotations.classdeclaration.IfMobileAndroidActivity;
 import com.github.arachnidium.model.support.annotations.classdeclaration.IfMobileContext;
 import com.github.arachnidium.model.support.annotations.classdeclaration.IfMobileDefaultContextIndex;
+import com.github.arachnidium.model.support.annotations.classdeclaration.PageObjectDescriptor;
 import com.github.arachnidium.model.support.annotations.classdeclaration.TimeOut;
 
 /**
@@ -73,92 +74,92 @@ HowTo extends IHowToGetHandle>
 		extends ModelObjectInterceptor {
 
 	/**
-	 * This methods transforms
-	 * values of annotations that marks
-	 * the given class to strategies 
-	 * {@link HowToGetBrowserWindow} or {@link HowToGetMobileScreen} 
-	 * 
-	 *@param indexAnnotation is the class of annotation which 
-	 * is expected marks the given class
-	 *possible annotations are {@link IfBrowserDefaultPageIndex} and {@link IfMobileDefaultContextIndex}.
-	 * 
-	 *@param handleUniqueIdentifiers is the class of annotation which 
-	 * is expected marks the given class
-	 * Possible annotations are {@link IfBrowserURL} and {@link IfMobileAndroidActivity}.
-	 * 
-	 *@param additionalStringIdentifieris the class of annotation which 
-	 * is expected marks the given class
-	 * Possible annotations are {@link IfBrowserPageTitle} and {@link IfMobileContext}.
-	 * 
-	 *@param annotated is a given class that can be marked by annotations above
-	 * 
-	 *@param howToClass is the class of strategy that combines values of 
-	 * annotations above. Available classes are {@link HowToGetBrowserWindow} 
-	 * and {@link HowToGetMobileScreen}
-	 * 
-	 * @return the instance of a strategy class defined by 
-	 *@param howToClass
-	 * 
-	 * @throws ReflectiveOperationException
+	 * Target getPart methods of the application class. They are resolved once
+	 * per invoked getPart method and set of substituted parameters
 	 */
-	private HowTo getHowToGetHandleStrategy(
-			Class<IndexAnnotation> indexAnnotation,
-			Class<HandleUniqueIdentifiers> handleUniqueIdentifiers,
-			Class<AdditionalStringIdentifier> additionalStringIdentifier,
-			Class<?> annotated, Class<HowTo> howToClass)
-			throws ReflectiveOperationException {
-		IndexAnnotation[] indexAnnotations = ClassDeclarationReader
-				.getAnnotations(indexAnnotation, annotated);
-		Integer index = null;
-		if (indexAnnotations.length > 0) {
-			index = ClassDeclarationReader.getIndex(indexAnnotations[0]);
+	private static final ClassValue<Map<Method, GetPartSignature>> GET_PART_SIGNATURES = new ClassValue<Map<Method, GetPartSignature>>() {
+		@Override
+		protected Map<Method, GetPartSignature> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
 		}
+	};
 
-		HandleUniqueIdentifiers[] handleUniqueIdentifiers2 = ClassDeclarationReader
-				.getAnnotations(handleUniqueIdentifiers, annotated);
-		List<String> identifiers = ClassDeclarationReader
-				.getRegExpressions(handleUniqueIdentifiers2);
-		if (identifiers.size() == 0) {
-			identifiers = null;
-		}
+	// flags of the substituted parameter set
+	private static final int WITH_HOW_TO = 1;
+	private static final int WITH_INDEX = 2;
+	private static final int WITH_FRAMES = 4;
+	private static final int WITH_TIME_OUT = 8;
+
+	/**
+	 * The substituted method and its {@link MethodProxy}
+	 */
+	private static final class GetPartTarget {
+		private final Method method;
+		private final MethodProxy methodProxy;
 
-		String additionalStringIdentifier2 = null;
-		AdditionalStringIdentifier[] additionalStringIdentifiers = ClassDeclarationReader
-				.getAnnotations(additionalStringIdentifier, annotated);
-		if (additionalStringIdentifiers.length > 0) {
-			additionalStringIdentifier2 = ClassDeclarationReader
-					.getRegExpressions(additionalStringIdentifiers).get(0);
+		private GetPartTarget(Class<?> applicationClass, Object[] args) {
+			method = ModelSupportUtil.getSuitableMethod(applicationClass,
+					GET_PART, args);
+			methodProxy = ModelSupportUtil.getMethodProxy(applicationClass,
+					method);
 		}
+	}
+
+	/**
+	 * Describes parameters of the invoked getPart method and keeps methods
+	 * which it is substituted by
+	 */
+	private static final class GetPartSignature {
+		private final boolean isDefined;
+		private final boolean hasHowTo;
+		private final boolean hasFrames;
+		private final int howToIndex;
+		private final int indexIndex;
+		private final int timeOutIndex;
+		private final Map<Integer, GetPartTarget> targets = new ConcurrentHashMap<>();
 
-		if (index == null && identifiers == null
-				&& additionalStringIdentifier2 == null) {
-			return null;
+		private GetPartSignature(Method method, Class<?> howToClass) {
+			List<Class<?>> paramClasses = Arrays.asList(method
+					.getParameterTypes());
+			Parameter[] parameters = method.getParameters();
+			hasHowTo = paramClasses.contains(IHowToGetHandle.class);
+			hasFrames = paramClasses.contains(HowToGetByFrames.class);
+			// There is nothing to do if all parameters apparently defined
+			isDefined = hasHowTo && hasFrames
+					&& paramClasses.contains(long.class);
+			howToIndex = hasHowTo ? ModelSupportUtil.getParameterIndex(
+					parameters, howToClass) : -1;
+			indexIndex = ModelSupportUtil.getParameterIndex(parameters,
+					int.class);
+			timeOutIndex = ModelSupportUtil.getParameterIndex(parameters,
+					long.class);
 		}
 
-		try {
-			HowTo result = howToClass.newInstance();
-			if (index != null) {
-				result.setExpected(index);
-			}
-			if (identifiers != null) {
-				result.setExpected(identifiers);
-			}
-			if (additionalStringIdentifier2 != null) {
-				result.setExpected(additionalStringIdentifier2);
-			}
-			return result;
-		} catch (InstantiationException | IllegalAccessException e) {
-			throw e;
+		private GetPartTarget getTarget(Class<?> applicationClass, int flags,
+				Object[] args) {
+			return targets.computeIfAbsent(flags,
+					(f) -> new GetPartTarget(applicationClass, args));
 		}
 	}
 
-	private Long getTimeOut(Class<?> annotated) {
-		TimeOut[] timeOuts = ClassDeclarationReader.getAnnotations(
-				TimeOut.class, annotated);
-		if (timeOuts.length == 0) {
-			return null;
-		}
-		return ClassDeclarationReader.getTimeOut(timeOuts[0]);
+	private final Class<IndexAnnotation> indexAnnotationClass;
+	private final Class<HandleUniqueIdentifiers> huiA;
+	private final Class<AdditionalStringIdentifier> asiA;
+	private final Class<HowTo> howTo;
+
+	/**
+	 * Classes of annotations and strategy are resolved by type arguments
+	 * of the subclass
+	 */
+	@SuppressWarnings("unchecked")
+	protected ApplicationInterceptor() {
+		super();
+		Type[] typeArguments = ((ParameterizedType) this
+				.getClass().getGenericSuperclass()).getActualTypeArguments();
+		indexAnnotationClass = (Class<IndexAnnotation>) typeArguments[0];
+		huiA = (Class<HandleUniqueIdentifiers>) typeArguments[1];
+		asiA = (Class<AdditionalStringIdentifier>) typeArguments[2];
+		howTo = (Class<HowTo>) typeArguments[3];
 	}
 
 	/**
@@ -182,41 +183,28 @@ HowTo extends IHowToGetHandle>
 				return super.intercept(application, method, args, methodProxy);
 			}
 
-			List<Class<?>> paramClasses = Arrays.asList(method
-					.getParameterTypes());
-			Type generic = this.getClass().getGenericSuperclass();
-			ParameterizedType pType = (ParameterizedType) generic;
-			Class<IndexAnnotation> indexAnnotationClass = (Class<IndexAnnotation>) Class
-					.forName(pType.getActualTypeArguments()[0].getTypeName());
-			Class<HandleUniqueIdentifiers> huiA = (Class<HandleUniqueIdentifiers>) Class
-					.forName(pType.getActualTypeArguments()[1].getTypeName());
-			Class<AdditionalStringIdentifier> asiA = (Class<AdditionalStringIdentifier>) Class
-					.forName(pType.getActualTypeArguments()[2].getTypeName());
-			Class<HowTo> howTo = (Class<HowTo>) Class.forName(pType
-					.getActualTypeArguments()[3].getTypeName());
+			Class<?> applicationClass = application.getClass();
+			GetPartSignature signature = GET_PART_SIGNATURES.get(
+					applicationClass).computeIfAbsent(method,
+					(m) -> new GetPartSignature(m, howTo));
 
-			// There is nothing to do if all parameters apparently defined
-			if (!paramClasses.contains(IHowToGetHandle.class)
-					|| !paramClasses.contains(HowToGetByFrames.class)
-					|| !paramClasses.contains(long.class)) {
+			if (!signature.isDefined) {
 
 				HowTo how = null;
-				if (!paramClasses.contains(IHowToGetHandle.class)){
-					how = getHowToGetHandleStrategy(indexAnnotationClass,
-						huiA, asiA, (Class<?>) args[0], howTo);
-						// the first parameter is a class which instance we
-						// want
+				// the first parameter is a class which instance we want
+				PageObjectDescriptor descriptor = PageObjectDescriptor
+						.get((Class<?>) args[0]);
+				if (!signature.hasHowTo){
+					how = descriptor.getHowToGetHandle(indexAnnotationClass,
+						huiA, asiA, howTo);
 				}
 				else{
-					how = (HowTo) args[ModelSupportUtil.getParameterIndex(
-							method.getParameters(), howTo)];
+					how = (HowTo) args[signature.howToIndex];
 				}
 
-				int paramIndex = ModelSupportUtil.getParameterIndex(
-						method.getParameters(), int.class);
 				Integer index = null;
-				if (paramIndex >= 0) {
-					index = (Integer) args[paramIndex];
+				if (signature.indexIndex >= 0) {
+					index = (Integer) args[signature.indexIndex];
 				}
 
 				// if index of a window/screen was defined
@@ -225,42 +213,56 @@ HowTo extends IHowToGetHandle>
 				}
 
 				HowToGetByFrames howToGetByFrames = null;
-				if (!paramClasses.contains(HowToGetByFrames.class)) {
-					howToGetByFrames = ifClassIsAnnotatedByFrames((Class<?>) args[0]);
-					// the first parameter is a class which instance we want
+				if (!signature.hasFrames) {
+					howToGetByFrames = descriptor.getHowToGetByFrames();
 				}
 
 				Long timeOutLong = null;
-				paramIndex = ModelSupportUtil.getParameterIndex(
-						method.getParameters(), long.class);
-				if (paramIndex >= 0) {
-					timeOutLong = (Long) args[paramIndex];
+				if (signature.timeOutIndex >= 0) {
+					timeOutLong = (Long) args[signature.timeOutIndex];
 				} else {
-					timeOutLong = getTimeOut((Class<?>) args[0]);
-					// the first parameter is a class which instance we want
+					timeOutLong = descriptor.getTimeOut();
 				}
 
 				// attempt to substitute methods is described below
-				Object[] newArgs = new Object[] { args[0] };
+				int flags = 0;
+				int length = 1;
 				if (how != null) {
-					newArgs = ArrayUtils.add(newArgs, how);
+					flags |= WITH_HOW_TO;
+					length++;
 				} else if (index != null) {
-					newArgs = ArrayUtils.add(newArgs, index.intValue());
+					flags |= WITH_INDEX;
+					length++;
 				}
-
 				if (howToGetByFrames != null) {
-					newArgs = ArrayUtils.add(newArgs, howToGetByFrames);
+					flags |= WITH_FRAMES;
+					length++;
 				}
-
 				if (timeOutLong != null) {
-					newArgs = ArrayUtils.add(newArgs, timeOutLong.longValue());
+					flags |= WITH_TIME_OUT;
+					length++;
+				}
+
+				Object[] newArgs = new Object[length];
+				int i = 0;
+				newArgs[i++] = args[0];
+				if ((flags & WITH_HOW_TO) != 0) {
+					newArgs[i++] = how;
+				} else if ((flags & WITH_INDEX) != 0) {
+					newArgs[i++] = index;
+				}
+				if ((flags & WITH_FRAMES) != 0) {
+					newArgs[i++] = howToGetByFrames;
+				}
+				if ((flags & WITH_TIME_OUT) != 0) {
+					newArgs[i++] = timeOutLong;
 				}
 
 				args = newArgs;
-				method = ModelSupportUtil.getSuitableMethod(
-						application.getClass(), GET_PART, args);
-				methodProxy = ModelSupportUtil.getMethodProxy(
-						application.getClass(), method);
+				GetPartTarget target = signature.getTarget(applicationClass,
+						flags, args);
+				method = target.method;
+				methodProxy = target.methodProxy;
 
 			}
 			return super.intercept(application, method, args, methodProxy);
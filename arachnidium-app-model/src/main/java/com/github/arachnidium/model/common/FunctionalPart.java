@@ -3,13 +3,14 @@
  */
 package com.github.arachnidium.model.common;
 
-import io.appium.java_client.pagefactory.AppiumFieldDecorator;
 
 import java.awt.Color;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
@@ -23,6 +24,7 @@ import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
 import org.openqa.selenium.support.pagefactory.FieldDecorator;
 
 import com.github.arachnidium.core.BrowserWindow;
+import com.github.arachnidium.core.FocusTracker;
 import com.github.arachnidium.core.Handle;
 import com.github.arachnidium.core.HowToGetBrowserWindow;
 import com.github.arachnidium.core.HowToGetMobileScreen;
@@ -32,12 +34,15 @@ import com.github.arachnidium.core.components.common.ScriptExecutor;
 import com.github.arachnidium.core.components.common.TimeOut;
 import com.github.arachnidium.core.fluenthandle.IHowToGetHandle;
 import com.github.arachnidium.core.highlighting.IWebElementHighlighter;
-import com.github.arachnidium.core.highlighting.WebElementHighLighter;
 import com.github.arachnidium.core.interfaces.ISwitchesToItself;
 import com.github.arachnidium.core.interfaces.ITakesPictureOfItSelf;
 import com.github.arachnidium.model.abstractions.ModelObject;
 import com.github.arachnidium.model.interfaces.IDecomposable;
+import com.github.arachnidium.model.support.ElementFieldDecorator;
 import com.github.arachnidium.model.support.HowToGetByFrames;
+import com.github.arachnidium.model.support.annotations.classdeclaration.CachesElements;
+import com.github.arachnidium.model.support.annotations.classdeclaration.PageObjectDescriptor;
+import com.github.arachnidium.util.proxy.EnhancedProxyFactory;
 
 /**
  *This class is for description of browser or mobile UI or the fragment 
@@ -91,7 +96,7 @@ public abstract class FunctionalPart<S extends Handle> extends ModelObject<S> im
 	protected Application<?,?> application;
 	protected final Ime ime;
 	private final HowToGetByFrames pathStrategy;
-	private final AppiumFieldDecorator defaultFieldDecorator;
+	private final ElementFieldDecorator defaultFieldDecorator;
 	private final TimeOut timeOut;
 	protected final ScriptExecutor scriptExecutor; //executes given javaScript
 
@@ -204,8 +209,7 @@ public abstract class FunctionalPart<S extends Handle> extends ModelObject<S> im
 	protected FunctionalPart(S handle, HowToGetByFrames path) {
 		super(handle);
 		timeOut = getWebDriverEncapsulation().getTimeOut();
-		defaultFieldDecorator = new AppiumFieldDecorator(getWrappedDriver(), 
-				timeOut.getImplicitlyWaitTimeOut(), timeOut.getImplicitlyWaitTimeUnit());
+		defaultFieldDecorator = ElementFieldDecorator.get(getWebDriverEncapsulation());
 		this.pathStrategy = path;
 		ime =            getComponent(Ime.class);
 		scriptExecutor = getComponent(ScriptExecutor.class);
@@ -282,10 +286,7 @@ public abstract class FunctionalPart<S extends Handle> extends ModelObject<S> im
 	}
 
 	private IWebElementHighlighter getHighlighter(){
-		WebElementHighLighter highLighter = new WebElementHighLighter();
-		highLighter.resetAccordingTo(getWebDriverEncapsulation().
-				getWrappedConfiguration());
-		return highLighter;
+		return getWebDriverEncapsulation().getHighlighter();
 	}
 	
 	/**
@@ -418,10 +419,15 @@ public abstract class FunctionalPart<S extends Handle> extends ModelObject<S> im
 
 	/**
 	 *Instantiates declared {@link WebElement} fields
-	 *using {@link PageFactory} and {@link AppiumFieldDecorator}
+	 *using {@link ElementFieldDecorator}. Locators of fields
+	 *are described once per class and the decorator is
+	 *shared by the session. Found elements are reused
+	 *if the class is annotated by {@link CachesElements}
 	 */
 	protected void load() {
-		PageFactory.initElements(defaultFieldDecorator, this);
+		Class<?> declared = EnhancedProxyFactory.getProxiedClass(getClass());
+		defaultFieldDecorator.decorate(this,
+				PageObjectDescriptor.get(declared).cachesElements());
 	}
 
 	/**
@@ -458,15 +464,51 @@ public abstract class FunctionalPart<S extends Handle> extends ModelObject<S> im
 	 */
 	@Override
 	public synchronized void switchToMe() {
-		// firstly we should switch parent browser window on
-		if (parent != null)
-			parent.switchToMe();
-		else
-			handle.switchToMe();
-		pathStrategy.switchTo(getWrappedDriver());
+		List<Object> framePath = getFullFramePath();
+		FocusTracker focusTracker = getWebDriverEncapsulation()
+				.getFocusTracker();
+		// there is nothing to do if the driver is already focused here
+		if (focusTracker.isOn(handle, framePath))
+			return;
+		List<Object> currentPath = focusTracker.getFramePath(handle);
+		if (currentPath != null)
+			// the driver is already on the window/mobile context, so it
+			// moves between frames only
+			HowToGetByFrames.switchTo(getWrappedDriver(), currentPath,
+					getPathStrategies());
+		else {
+			// firstly we should switch parent browser window on
+			if (parent != null)
+				parent.switchToMe();
+			else
+				handle.switchToMe();
+			pathStrategy.switchTo(getWrappedDriver());
+		}
+		focusTracker.framesAreEntered(handle, framePath);
 		return;
 	}
 
+	// frames from the top level document of the window/mobile context
+	private List<Object> getFullFramePath() {
+		if (parent == null)
+			return pathStrategy.getFramePath();
+		List<Object> result = new ArrayList<Object>(parent.getFullFramePath());
+		result.addAll(pathStrategy.getFramePath());
+		return result;
+	}
+
+	// strategies from the top level document of the window/mobile context
+	private List<HowToGetByFrames> getPathStrategies() {
+		if (parent == null) {
+			List<HowToGetByFrames> result = new ArrayList<HowToGetByFrames>();
+			result.add(pathStrategy);
+			return result;
+		}
+		List<HowToGetByFrames> result = parent.getPathStrategies();
+		result.add(pathStrategy);
+		return result;
+	}
+
 	/**
 	 *takes screenshots and attaches it to
 	 *log messages. {@link Level#FINE}
@@ -525,10 +567,9 @@ public abstract class FunctionalPart<S extends Handle> extends ModelObject<S> im
 		return timeOut;
 	}
 
-	AppiumFieldDecorator getDefaultFieldDecorator() {
+	ElementFieldDecorator getDefaultFieldDecorator() {
 		if (defaultFieldDecorator == null) {
-			return new AppiumFieldDecorator(getWebDriverEncapsulation()
-					.getWrappedDriver());
+			return ElementFieldDecorator.get(getWebDriverEncapsulation());
 		}
 		return defaultFieldDecorator;
 	}
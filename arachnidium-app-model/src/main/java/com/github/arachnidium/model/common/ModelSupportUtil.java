@@ -8,6 +8,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import net.sf.cglib.asm.Type;
 import net.sf.cglib.core.Signature;
@@ -34,6 +37,39 @@ abstract class ModelSupportUtil {
 		}
 	};
 	
+	/**
+	 * Parameter classes of suitable constructors. They are kept per class and
+	 * classes of given parameters. The empty value means that there is no
+	 * suitable constructor
+	 */
+	private static final ClassValue<Map<List<Class<?>>, Optional<Class<?>[]>>> SUITABLE_CONSTRUCTOR_PARAMETERS = new ClassValue<Map<List<Class<?>>, Optional<Class<?>[]>>>() {
+		@Override
+		protected Map<List<Class<?>>, Optional<Class<?>[]>> computeValue(
+				Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	/**
+	 * Suitable methods. They are kept per class and the method name followed
+	 * by classes of given parameters. The empty value means that there is no
+	 * suitable method
+	 */
+	private static final ClassValue<Map<List<Object>, Optional<Method>>> SUITABLE_METHODS = new ClassValue<Map<List<Object>, Optional<Method>>>() {
+		@Override
+		protected Map<List<Object>, Optional<Method>> computeValue(
+				Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	private static final ClassValue<Map<Method, MethodProxy>> METHOD_PROXIES = new ClassValue<Map<Method, MethodProxy>>() {
+		@Override
+		protected Map<Method, MethodProxy> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
 	private ModelSupportUtil() {
 		super();
 	}
@@ -67,18 +103,24 @@ abstract class ModelSupportUtil {
 		}
 	}
 
-	static Class<?>[] getParameterClasses(Object[] paramerers,
-			Class<?> requiredClass) {
-	
+	private static Class<?>[] getClasses(Object[] paramerers) {
 		Class<?>[] givenParameters = new Class<?>[paramerers.length];
 		for (int i = 0; i < paramerers.length; i++) {
 			givenParameters[i] = paramerers[i].getClass();
-		}	
-		Constructor<?>[] declaredConstructors = requiredClass
-				.getDeclaredConstructors();
-		Class<?>[] result = getSuitableParameterClasses(declaredConstructors, paramerers);
-		if (result != null){
-			return result;
+		}
+		return givenParameters;
+	}
+
+	static Class<?>[] getParameterClasses(Object[] paramerers,
+			Class<?> requiredClass) {
+	
+		Class<?>[] givenParameters = getClasses(paramerers);
+		Optional<Class<?>[]> result = SUITABLE_CONSTRUCTOR_PARAMETERS.get(
+				requiredClass).computeIfAbsent(Arrays.asList(givenParameters),
+				(key) -> Optional.ofNullable(getSuitableParameterClasses(
+						requiredClass.getDeclaredConstructors(), paramerers)));
+		if (result.isPresent()){
+			return result.get();
 		}
 		throw new RuntimeException(new NoSuchMethodException(
 				"There is no suitable constructor! Given parameters: "
@@ -89,10 +131,7 @@ abstract class ModelSupportUtil {
 	private static Class<?>[] getSuitableParameterClasses(
 			Executable[] executables, Object[] paramerers) {
 
-		Class<?>[] givenParameters = new Class<?>[paramerers.length];
-		for (int i = 0; i < paramerers.length; i++) {
-			givenParameters[i] = paramerers[i].getClass();
-		}
+		Class<?>[] givenParameters = getClasses(paramerers);
 
 		for (Executable executable : executables) {
 			Class<?>[] declaredParameters = executable.getParameterTypes();
@@ -129,6 +168,16 @@ abstract class ModelSupportUtil {
 	
 	
 	static Method getSuitableMethod(Class<?> clazz, String methodName, Object[] argValues){
+		Class<?>[] givenParameters = getClasses(argValues);
+		Object[] key = new Object[givenParameters.length + 1];
+		key[0] = methodName;
+		System.arraycopy(givenParameters, 0, key, 1, givenParameters.length);
+		return SUITABLE_METHODS.get(clazz).computeIfAbsent(Arrays.asList(key),
+				(k) -> Optional.ofNullable(findSuitableMethod(clazz,
+						methodName, argValues))).orElse(null);
+	}
+	
+	private static Method findSuitableMethod(Class<?> clazz, String methodName, Object[] argValues){
 		Method[] declaredMethods = clazz.getDeclaredMethods();
 		List<Method> found = new ArrayList<Method>();
 		for (Method m: declaredMethods){
@@ -154,6 +203,11 @@ abstract class ModelSupportUtil {
 	}
 	
 	static MethodProxy getMethodProxy(Class<?> clazz, Method m){
+		return METHOD_PROXIES.get(clazz).computeIfAbsent(m,
+				(method) -> findMethodProxy(clazz, method));
+	}
+	
+	private static MethodProxy findMethodProxy(Class<?> clazz, Method m){
 		Type returned = Type.getReturnType(m);
 		Type[] argTypes = Type.getArgumentTypes(m);
 		return MethodProxy.find(clazz,
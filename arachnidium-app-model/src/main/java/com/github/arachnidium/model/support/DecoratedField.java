@@ -0,0 +1,243 @@
+package com.github.arachnidium.model.support;
+
+import io.appium.java_client.MobileBy;
+import io.appium.java_client.MobileElement;
+import io.appium.java_client.android.AndroidElement;
+import io.appium.java_client.ios.IOSElement;
+import io.appium.java_client.pagefactory.AndroidFindBy;
+import io.appium.java_client.pagefactory.AndroidFindBys;
+import io.appium.java_client.pagefactory.iOSFindBy;
+import io.appium.java_client.pagefactory.iOSFindBys;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebElement;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.ByChained;
+
+/**
+ * The description of a field which is decorated by
+ * {@link ElementFieldDecorator}. It is created once per field and platform.
+ *
+ * Rules are the same as rules of the
+ * {@link io.appium.java_client.pagefactory.AppiumFieldDecorator}:
+ * {@link AndroidFindBy}/{@link AndroidFindBys} are used on Android,
+ * {@link iOSFindBy}/{@link iOSFindBys} are used on iOS and {@link FindBy},
+ * {@link FindBys}, {@link FindAll} are used otherwise.
+ */
+final class DecoratedField {
+
+	private static final List<Class<?>> AVAILABLE_ELEMENT_CLASSES = Arrays
+			.asList(WebElement.class, RemoteWebElement.class,
+					MobileElement.class, AndroidElement.class,
+					IOSElement.class);
+	private static final List<Class<? extends Annotation>> LOCATOR_ANNOTATIONS = Arrays
+			.asList(AndroidFindBy.class, iOSFindBy.class,
+					AndroidFindBys.class, iOSFindBys.class, FindBy.class,
+					FindBys.class, FindAll.class);
+	// names of values of AndroidFindBy and iOSFindBy
+	private static final String[] STRATEGIES = new String[] { "uiAutomator",
+			"accessibility", "className", "id", "tagName", "name", "xpath" };
+
+	private static final String ANDROID = "ANDROID";
+	private static final String IOS = "IOS";
+
+	/**
+	 * Decorated fields of the class and its superclasses. Keys are platform
+	 * names
+	 */
+	private static final ClassValue<Map<String, List<DecoratedField>>> DECORATED_FIELDS = new ClassValue<Map<String, List<DecoratedField>>>() {
+		@Override
+		protected Map<String, List<DecoratedField>> computeValue(
+				Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	/**
+	 * @param type is the class of a decorated object
+	 * @param platform is the value of the "platformName" capability
+	 * @return Fields which are declared by the class and its superclasses
+	 *         and can be decorated
+	 */
+	static List<DecoratedField> getDecoratedFields(Class<?> type,
+			String platform) {
+		return DECORATED_FIELDS.get(type).computeIfAbsent(platform, (p) -> {
+			List<DecoratedField> result = new ArrayList<>();
+			for (Class<?> c = type; c != Object.class && c != null; c = c
+					.getSuperclass()) {
+				for (Field field : c.getDeclaredFields()) {
+					DecoratedField decorated = create(field, p);
+					if (decorated != null) {
+						result.add(decorated);
+					}
+				}
+			}
+			return Collections.unmodifiableList(result);
+		});
+	}
+
+	/**
+	 * @return The description of the given field or <code>null</code> if the
+	 *         field can't be decorated
+	 */
+	static DecoratedField create(Field field, String platform) {
+		boolean isList = isDecoratableList(field);
+		if (!AVAILABLE_ELEMENT_CLASSES.contains(field.getType()) && !isList) {
+			return null;
+		}
+		if (!isList && !WebElement.class.isAssignableFrom(field.getType())) {
+			return null;
+		}
+		return new DecoratedField(field, isList, platform);
+	}
+
+	private static boolean isDecoratableList(Field field) {
+		if (!List.class.isAssignableFrom(field.getType())) {
+			return false;
+		}
+		Type genericType = field.getGenericType();
+		if (!(genericType instanceof ParameterizedType)) {
+			return false;
+		}
+		boolean isAnnotated = false;
+		for (Class<? extends Annotation> annotation : LOCATOR_ANNOTATIONS) {
+			if (field.getAnnotation(annotation) != null) {
+				isAnnotated = true;
+				break;
+			}
+		}
+		if (!isAnnotated) {
+			return false;
+		}
+		Type listType = ((ParameterizedType) genericType)
+				.getActualTypeArguments()[0];
+		return AVAILABLE_ELEMENT_CLASSES.contains(listType);
+	}
+
+	private static String getFilledValue(Annotation annotation) {
+		for (String strategy : STRATEGIES) {
+			try {
+				String value = String.valueOf(annotation.annotationType()
+						.getMethod(strategy).invoke(annotation));
+				if (!"".equals(value)) {
+					return strategy;
+				}
+			} catch (ReflectiveOperationException e) {
+				throw new RuntimeException(e);
+			}
+		}
+		throw new IllegalArgumentException("@"
+				+ annotation.annotationType().getSimpleName() + ": one of "
+				+ Arrays.toString(STRATEGIES) + " should be filled");
+	}
+
+	private static By getMobileBy(Annotation annotation) {
+		String strategy = getFilledValue(annotation);
+		String value;
+		try {
+			value = String.valueOf(annotation.annotationType()
+					.getMethod(strategy).invoke(annotation));
+		} catch (ReflectiveOperationException e) {
+			throw new RuntimeException(e);
+		}
+		switch (strategy) {
+		case "uiAutomator":
+			if (annotation.annotationType().equals(AndroidFindBy.class)) {
+				return MobileBy.AndroidUIAutomator(value);
+			}
+			return MobileBy.IosUIAutomation(value);
+		case "accessibility":
+			return MobileBy.AccessibilityId(value);
+		case "className":
+			return By.className(value);
+		case "id":
+			return By.id(value);
+		case "tagName":
+			return By.tagName(value);
+		case "name":
+			return By.name(value);
+		default:
+			return By.xpath(value);
+		}
+	}
+
+	private static By getChainedMobileBy(Annotation[] annotations) {
+		By[] bys = new By[annotations.length];
+		for (int i = 0; i < annotations.length; i++) {
+			bys[i] = getMobileBy(annotations[i]);
+		}
+		return new ByChained(bys);
+	}
+
+	private static By buildBy(Field field, Annotations annotations,
+			String platform) {
+		if (field.getAnnotation(AndroidFindBy.class) != null
+				&& field.getAnnotation(AndroidFindBys.class) != null) {
+			throw new IllegalArgumentException(
+					"If you use a '@AndroidFindBy' annotation, you must not also use a '@AndroidFindBys' annotation");
+		}
+		if (field.getAnnotation(iOSFindBy.class) != null
+				&& field.getAnnotation(iOSFindBys.class) != null) {
+			throw new IllegalArgumentException(
+					"If you use a '@iOSFindBy' annotation, you must not also use a '@iOSFindBys' annotation");
+		}
+		if (ANDROID.equals(platform)) {
+			if (field.getAnnotation(AndroidFindBy.class) != null) {
+				return getMobileBy(field.getAnnotation(AndroidFindBy.class));
+			}
+			if (field.getAnnotation(AndroidFindBys.class) != null) {
+				return getChainedMobileBy(field.getAnnotation(
+						AndroidFindBys.class).value());
+			}
+		}
+		if (IOS.equals(platform)) {
+			if (field.getAnnotation(iOSFindBy.class) != null) {
+				return getMobileBy(field.getAnnotation(iOSFindBy.class));
+			}
+			if (field.getAnnotation(iOSFindBys.class) != null) {
+				return getChainedMobileBy(field.getAnnotation(iOSFindBys.class)
+						.value());
+			}
+		}
+		return annotations.buildBy();
+	}
+
+	final Field field;
+	final boolean isList;
+	/**
+	 * The class of the element proxy
+	 */
+	final Class<?> elementClass;
+	final By by;
+	final boolean shouldCache;
+
+	private DecoratedField(Field field, boolean isList, String platform) {
+		this.field = field;
+		this.isList = isList;
+		if (isList || field.getType().equals(WebElement.class)) {
+			elementClass = RemoteWebElement.class;
+		} else {
+			elementClass = field.getType();
+		}
+		Annotations annotations = new Annotations(field);
+		by = buildBy(field, annotations,
+				String.valueOf(platform).toUpperCase().trim());
+		shouldCache = annotations.isLookupCached();
+		field.setAccessible(true);
+	}
+}
@@ -0,0 +1,197 @@
+package com.github.arachnidium.model.support;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import net.sf.cglib.proxy.MethodInterceptor;
+import net.sf.cglib.proxy.MethodProxy;
+
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.FieldDecorator;
+
+import com.github.arachnidium.core.FocusTracker;
+import com.github.arachnidium.core.WebDriverEncapsulation;
+import com.github.arachnidium.core.components.common.TimeOut;
+import com.github.arachnidium.util.proxy.EnhancedProxyFactory;
+
+/**
+ * The {@link FieldDecorator} which is shared by all objects of the one
+ * session. It works as the
+ * {@link io.appium.java_client.pagefactory.AppiumFieldDecorator} does but
+ * locators of fields (see {@link DecoratedField}) are described once per
+ * class. So {@link #decorate(Object)} only creates lazy proxies of elements
+ * and sets them to fields.
+ */
+public final class ElementFieldDecorator implements FieldDecorator {
+
+	/**
+	 * @param driverEncapsulation is the session
+	 * @return The decorator of the given session. It is kept by the session
+	 *         (see {@link WebDriverEncapsulation#getSessionObject(Class, java.util.function.Function)})
+	 */
+	public static ElementFieldDecorator get(
+			WebDriverEncapsulation driverEncapsulation) {
+		return driverEncapsulation.getSessionObject(
+				ElementFieldDecorator.class, ElementFieldDecorator::new);
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args)
+			throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getTargetException();
+		}
+	}
+
+	private static class ElementInterceptor implements MethodInterceptor {
+		private final FieldElementLocator locator;
+
+		private ElementInterceptor(FieldElementLocator locator) {
+			this.locator = locator;
+		}
+
+		@Override
+		public Object intercept(Object obj, Method method, Object[] args,
+				MethodProxy proxy) throws Throwable {
+			WebElement element = locator.findElement();
+			try {
+				return invoke(element, method, args);
+			} catch (StaleElementReferenceException e) {
+				// the reused element is found again once
+				if (!locator.forget(element)) {
+					throw e;
+				}
+				return invoke(locator.findElement(), method, args);
+			}
+		}
+	}
+
+	private static class ElementListInterceptor implements MethodInterceptor {
+		private final ElementLocator locator;
+
+		private ElementListInterceptor(ElementLocator locator) {
+			this.locator = locator;
+		}
+
+		@Override
+		public Object intercept(Object obj, Method method, Object[] args,
+				MethodProxy proxy) throws Throwable {
+			return invoke(new ArrayList<WebElement>(locator.findElements()),
+					method, args);
+		}
+	}
+
+	private final WebDriver driver;
+	private final FocusTracker focusTracker;
+	private String platform;
+	private volatile long timeOutValue;
+	private volatile TimeUnit timeUnit;
+
+	private ElementFieldDecorator(WebDriverEncapsulation driverEncapsulation) {
+		driver = driverEncapsulation.getWrappedDriver();
+		focusTracker = driverEncapsulation.getFocusTracker();
+		TimeOut timeOut = driverEncapsulation.getTimeOut();
+		timeOutValue = timeOut.getImplicitlyWaitTimeOut();
+		timeUnit = timeOut.getImplicitlyWaitTimeUnit();
+	}
+
+	private synchronized String getPlatform() {
+		if (platform == null) {
+			platform = String.valueOf(((HasCapabilities) driver)
+					.getCapabilities().getCapability("platformName"));
+		}
+		return platform;
+	}
+
+	private Object createProxy(DecoratedField decoratedField,
+			boolean reusesElements) {
+		FieldElementLocator locator = new FieldElementLocator(driver, this,
+				decoratedField, reusesElements ? focusTracker : null);
+		if (decoratedField.isList) {
+			return EnhancedProxyFactory.getProxy(ArrayList.class,
+					new Class<?>[] {}, new Object[] {},
+					new ElementListInterceptor(locator));
+		}
+		return EnhancedProxyFactory.getProxy(decoratedField.elementClass,
+				new Class<?>[] {}, new Object[] {}, new ElementInterceptor(
+						locator));
+	}
+
+	/**
+	 * Sets proxies of elements to fields of the given object. It is the same
+	 * as <code>PageFactory.initElements(this, page)</code>
+	 *
+	 * @param page is the object which declares {@link WebElement} fields
+	 *
+	 * @see PageFactory#initElements(FieldDecorator, Object)
+	 */
+	public void decorate(Object page) {
+		decorate(page, false);
+	}
+
+	/**
+	 * Sets proxies of elements to fields of the given object.
+	 *
+	 * @param page is the object which declares {@link WebElement} fields
+	 * @param reusesElements is the flag which allows to reuse found elements
+	 *            while the driver stays on the same document (see
+	 *            {@link FocusTracker#getDocumentState()}). Lists of elements
+	 *            are not reused
+	 */
+	public void decorate(Object page, boolean reusesElements) {
+		// proxy classes don't declare fields, so fields are described once
+		// for the proxied class
+		for (DecoratedField decoratedField : DecoratedField.getDecoratedFields(
+				EnhancedProxyFactory.getProxiedClass(page.getClass()),
+				getPlatform())) {
+			try {
+				decoratedField.field.set(page,
+						createProxy(decoratedField, reusesElements));
+			} catch (IllegalAccessException e) {
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+	/**
+	 * @see org.openqa.selenium.support.pagefactory.FieldDecorator#decorate(java.lang.ClassLoader,
+	 *      java.lang.reflect.Field)
+	 */
+	@Override
+	public Object decorate(ClassLoader loader, Field field) {
+		DecoratedField decoratedField = DecoratedField.create(field,
+				getPlatform());
+		if (decoratedField == null) {
+			return null;
+		}
+		return createProxy(decoratedField, false);
+	}
+
+	/**
+	 * Changes the time of the waiting for elements
+	 *
+	 * @param timeOutValue is the new time out value
+	 * @param timeUnit is the time unit of the new time out
+	 */
+	public void resetImplicitlyWaitTimeOut(long timeOutValue, TimeUnit timeUnit) {
+		this.timeOutValue = timeOutValue;
+		this.timeUnit = timeUnit;
+	}
+
+	long getTimeOutValue() {
+		return timeOutValue;
+	}
+
+	TimeUnit getTimeUnit() {
+		return timeUnit;
+	}
+}
@@ -0,0 +1,137 @@
+package com.github.arachnidium.model.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.ui.FluentWait;
+
+import com.github.arachnidium.core.FocusTracker;
+import com.google.common.base.Function;
+
+/**
+ * Finds elements of the decorated field. The element is searched during the
+ * time out of the {@link ElementFieldDecorator}, the implicit waiting of the
+ * driver is off meanwhile.
+ *
+ * If the {@link FocusTracker} is given the found element is reused while the
+ * state of the document is the same (see
+ * {@link FocusTracker#getDocumentState()}).
+ */
+class FieldElementLocator implements ElementLocator {
+
+	private final WebDriver driver;
+	private final ElementFieldDecorator decorator;
+	private final DecoratedField decoratedField;
+	private WebElement cachedElement;
+	private List<WebElement> cachedElementList;
+	private final FocusTracker focusTracker;
+	private WebElement reusableElement;
+	private Object documentState;
+
+	FieldElementLocator(WebDriver driver, ElementFieldDecorator decorator,
+			DecoratedField decoratedField, FocusTracker focusTracker) {
+		this.driver = driver;
+		this.decorator = decorator;
+		this.decoratedField = decoratedField;
+		this.focusTracker = focusTracker;
+	}
+
+	private void changeImplicitlyWaitTimeOut(long timeOut, TimeUnit timeUnit) {
+		driver.manage().timeouts().implicitlyWait(timeOut, timeUnit);
+	}
+
+	private List<WebElement> waitFor() {
+		By by = decoratedField.by;
+		try {
+			changeImplicitlyWaitTimeOut(0, TimeUnit.SECONDS);
+			FluentWait<By> wait = new FluentWait<By>(by);
+			wait.withTimeout(decorator.getTimeOutValue(),
+					decorator.getTimeUnit());
+			return wait.until(new Function<By, List<WebElement>>() {
+				@Override
+				public List<WebElement> apply(By by) {
+					List<WebElement> result = new ArrayList<WebElement>();
+					try {
+						result.addAll(driver.findElements(by));
+					} catch (StaleElementReferenceException e) {
+						return null;
+					}
+					if (result.size() > 0) {
+						return result;
+					}
+					return null;
+				}
+			});
+		} catch (TimeoutException e) {
+			return new ArrayList<WebElement>();
+		} finally {
+			changeImplicitlyWaitTimeOut(decorator.getTimeOutValue(),
+					decorator.getTimeUnit());
+		}
+	}
+
+	@Override
+	public synchronized WebElement findElement() {
+		if (cachedElement != null && decoratedField.shouldCache) {
+			return cachedElement;
+		}
+		Object state = null;
+		if (focusTracker != null) {
+			state = focusTracker.getDocumentState();
+			if (reusableElement != null && state != null
+					&& state.equals(documentState)) {
+				return reusableElement;
+			}
+		}
+		reusableElement = null;
+		List<WebElement> result = waitFor();
+		if (result.size() == 0) {
+			throw new NoSuchElementException(
+					"Cann't locate an element by this strategy: "
+							+ decoratedField.by.toString());
+		}
+		if (decoratedField.shouldCache) {
+			cachedElement = result.get(0);
+		} else if (state != null) {
+			reusableElement = result.get(0);
+			documentState = state;
+		}
+		return result.get(0);
+	}
+
+	/**
+	 * Forgets the reused element when it is stale
+	 *
+	 * @param element is the stale element
+	 * @return true if the given element has been reused. So it makes sense
+	 *         to find the element again
+	 */
+	synchronized boolean forget(WebElement element) {
+		if (reusableElement == null || reusableElement != element) {
+			return false;
+		}
+		reusableElement = null;
+		documentState = null;
+		return true;
+	}
+
+	@Override
+	public List<WebElement> findElements() {
+		if (cachedElementList != null && decoratedField.shouldCache) {
+			return cachedElementList;
+		}
+		List<WebElement> result = waitFor();
+		if (decoratedField.shouldCache) {
+			cachedElementList = result;
+		}
+		return result;
+	}
+}
@@ -2,8 +2,11 @@ package com.github.arachnidium.model.support;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriver.TargetLocator;
 import org.openqa.selenium.WebElement;
@@ -26,6 +29,8 @@ public class HowToGetByFrames {
 		}
 	};
 	final ArrayList<Object> framePath = new ArrayList<Object>();
+	// frame elements which are found by By-locators. Keys are indexes
+	private final Map<Integer, WebElement> frameElements = new ConcurrentHashMap<Integer, WebElement>();
 
 	/**
 	 * This method performs the switching from
@@ -37,28 +42,89 @@ public class HowToGetByFrames {
 	 * @see TargetLocator
 	 */
 	public void switchTo(WebDriver driver) {
-		framePath.forEach((frameIdentifier) -> {
-			if (frameIdentifier instanceof String) {
-				driver.switchTo().frame(String.valueOf(frameIdentifier));
-				return;
-			}
+		for (int i = 0; i < framePath.size(); i++) {
+			enterFrame(driver, i);
+		}
+	}
 
-			if (frameIdentifier instanceof Integer) {
-				driver.switchTo().frame((int) frameIdentifier);
-				return;
+	/**
+	 * This method performs the switching by the shortest way. The driver
+	 * leaves frames which are not common for the current and the target path
+	 * (see {@link TargetLocator#parentFrame()}) and enters remaining frames of
+	 * the target path
+	 * 
+	 * @param driver is the instance of {@link WebDriver} 
+	 * On this instance the switching is performed
+	 * @param currentPath is the path of frames which the driver is switched to
+	 * @param targetPath is the chain of strategies which make the target path.
+	 * The first strategy describes frames of the top level document
+	 * 
+	 * @see TargetLocator
+	 */
+	public static void switchTo(WebDriver driver, List<Object> currentPath,
+			List<HowToGetByFrames> targetPath) {
+		int commonPrefix = 0;
+		int depth = 0;
+		boolean isCommon = true;
+		for (HowToGetByFrames howTo : targetPath) {
+			for (int i = 0; i < howTo.framePath.size(); i++) {
+				if (isCommon && depth < currentPath.size()
+						&& currentPath.get(depth).equals(howTo.framePath.get(i))) {
+					commonPrefix++;
+				} else {
+					if (isCommon) {
+						isCommon = false;
+						leaveFrames(driver, currentPath.size() - commonPrefix);
+					}
+					howTo.enterFrame(driver, i);
+				}
+				depth++;
 			}
+		}
+		if (isCommon) {
+			leaveFrames(driver, currentPath.size() - commonPrefix);
+		}
+	}
 
-			if (frameIdentifier instanceof By) {
-				driver.switchTo().frame(
-						driver.findElement((By) frameIdentifier));
-				return;
+	private static void leaveFrames(WebDriver driver, int count) {
+		for (int i = 0; i < count; i++) {
+			driver.switchTo().parentFrame();
+		}
+	}
+
+	private void enterFrame(WebDriver driver, int index) {
+		Object frameIdentifier = framePath.get(index);
+		if (frameIdentifier instanceof String) {
+			driver.switchTo().frame(String.valueOf(frameIdentifier));
+			return;
+		}
+
+		if (frameIdentifier instanceof Integer) {
+			driver.switchTo().frame((int) frameIdentifier);
+			return;
+		}
+
+		if (frameIdentifier instanceof By) {
+			// the found frame element is used again until it becomes stale
+			WebElement frame = frameElements.get(index);
+			if (frame != null) {
+				try {
+					driver.switchTo().frame(frame);
+					return;
+				} catch (StaleElementReferenceException e) {
+					frameElements.remove(index);
+				}
 			}
-			
-			if (frameIdentifier instanceof WebElement) {
-				driver.switchTo().frame((WebElement) frameIdentifier);
-				return;
-			}			
-		});
+			frame = driver.findElement((By) frameIdentifier);
+			frameElements.put(index, frame);
+			driver.switchTo().frame(frame);
+			return;
+		}
+		
+		if (frameIdentifier instanceof WebElement) {
+			driver.switchTo().frame((WebElement) frameIdentifier);
+			return;
+		}
 	}
 
 	/**
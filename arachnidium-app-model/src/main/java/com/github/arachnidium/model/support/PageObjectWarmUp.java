@@ -0,0 +1,182 @@
+package com.github.arachnidium.model.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+
+import com.github.arachnidium.core.settings.CapabilitySettings;
+import com.github.arachnidium.model.abstractions.ModelObject;
+import com.github.arachnidium.model.common.Application;
+import com.github.arachnidium.model.common.FunctionalPart;
+import com.github.arachnidium.model.support.annotations.classdeclaration.PageObjectDescriptor;
+import com.github.arachnidium.util.configuration.Configuration;
+import com.github.arachnidium.util.logging.Log;
+import com.github.arachnidium.util.proxy.EnhancedProxyFactory;
+
+/**
+ * Prepares {@link Application} and {@link FunctionalPart} subclasses before
+ * they are used. Proxy classes, descriptors of class declarations and
+ * descriptions of decorated fields are created eagerly and in parallel, so
+ * the first instantiation of each class doesn't pay for it.
+ *
+ * It is supposed to be invoked once at startup (e.g. by a TestNG
+ * &#64;BeforeSuite method): <br/>
+ * <code>PageObjectWarmUp.warmUp("com.mycompany.pages");</code>
+ *
+ * Fields are described for the platform which is configured by the
+ * "platformName" capability. If the started session reports another value of
+ * it then fields are described again at first use.
+ */
+public final class PageObjectWarmUp {
+
+	/**
+	 * The result of the warm-up
+	 */
+	public static final class Report {
+		private final List<Class<?>> classes;
+		private final Map<String, Throwable> failures;
+		private final long elapsedTime;
+		private final long firstUseCost;
+
+		private Report(List<Class<?>> classes, Map<String, Throwable> failures,
+				long elapsedTime, long firstUseCost) {
+			this.classes = Collections.unmodifiableList(classes);
+			this.failures = Collections.unmodifiableMap(failures);
+			this.elapsedTime = elapsedTime;
+			this.firstUseCost = firstUseCost;
+		}
+
+		/**
+		 * @return Classes which are prepared
+		 */
+		public List<Class<?>> getClasses() {
+			return classes;
+		}
+
+		/**
+		 * @return Names of classes which can't be prepared and the reasons
+		 */
+		public Map<String, Throwable> getFailures() {
+			return failures;
+		}
+
+		/**
+		 * @return How long the warm-up took (milliseconds)
+		 */
+		public long getElapsedTime() {
+			return elapsedTime;
+		}
+
+		/**
+		 * @return How long classes were prepared one by one in the calling
+		 *         thread (milliseconds). If it is the first use of these
+		 *         classes by the JVM it is the cost which is paid by first
+		 *         uses of them if there is no warm-up. It is -1 if classes
+		 *         were prepared in parallel
+		 * @see PageObjectWarmUp#measureFirstUse(String...)
+		 */
+		public long getFirstUseCost() {
+			return firstUseCost;
+		}
+
+		@Override
+		public String toString() {
+			String result = "Warm-up of " + classes.size()
+					+ " page object classes took " + elapsedTime + " ms. ";
+			if (firstUseCost >= 0) {
+				result = result + "The sequential first-use cost is "
+						+ firstUseCost + " ms. ";
+			}
+			return result + "Failed classes: " + failures.size();
+		}
+	}
+
+	/**
+	 * Finds subclasses of {@link Application} and {@link FunctionalPart} in
+	 * the given packages and prepares them on the common {@link ForkJoinPool}
+	 *
+	 * @param packages are names of packages which are scanned (with sub
+	 *            packages)
+	 * @return The {@link Report} of the warm-up
+	 */
+	public static Report warmUp(String... packages) {
+		return prepare(true, packages);
+	}
+
+	/**
+	 * Finds subclasses of {@link Application} and {@link FunctionalPart} in
+	 * the given packages and prepares them one by one in the calling thread.
+	 * If nothing has used these classes before then
+	 * {@link Report#getFirstUseCost()} shows what {@link #warmUp(String...)}
+	 * saves, so it should be invoked by a fresh JVM.
+	 *
+	 * @param packages are names of packages which are scanned (with sub
+	 *            packages)
+	 * @return The {@link Report} of the warm-up
+	 */
+	public static Report measureFirstUse(String... packages) {
+		return prepare(false, packages);
+	}
+
+	private static Report prepare(boolean parallel, String... packages) {
+		long start = System.nanoTime();
+		ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(
+				false);
+		scanner.addIncludeFilter(new AssignableTypeFilter(ModelObject.class));
+		Set<String> classNames = new LinkedHashSet<>();
+		for (String p : packages) {
+			for (BeanDefinition candidate : scanner.findCandidateComponents(p)) {
+				classNames.add(candidate.getBeanClassName());
+			}
+		}
+		// the same value as ElementFieldDecorator gets from the session
+		String platform = String.valueOf(Configuration.byDefault.getSection(
+				CapabilitySettings.class).getCapability("platformName"));
+
+		List<Class<?>> classes = new CopyOnWriteArrayList<>();
+		Map<String, Throwable> failures = new ConcurrentHashMap<>();
+		ClassLoader classLoader = Thread.currentThread()
+				.getContextClassLoader();
+		Stream<String> stream = parallel ? classNames.parallelStream()
+				: classNames.stream();
+		long preparationStart = System.nanoTime();
+		stream.forEach((className) -> {
+			try {
+				Class<?> clazz = Class.forName(className, false, classLoader);
+				EnhancedProxyFactory.prepareProxyClass(clazz);
+				PageObjectDescriptor.get(clazz);
+				DecoratedField.getDecoratedFields(clazz, platform);
+				classes.add(clazz);
+			} catch (Throwable t) {
+				failures.put(className, t);
+			}
+		});
+		long end = System.nanoTime();
+
+		Report report = new Report(new ArrayList<>(classes), failures,
+				TimeUnit.NANOSECONDS.toMillis(end - start),
+				parallel ? -1 : TimeUnit.NANOSECONDS.toMillis(end
+						- preparationStart));
+		Log.debug(report.toString());
+		failures.forEach((className, t) -> {
+			Log.debug("Class " + className + " hasn't been prepared", t);
+		});
+		return report;
+	}
+
+	private PageObjectWarmUp() {
+		super();
+	}
+}
@@ -0,0 +1,485 @@
+package com.github.arachnidium.model.support;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.JavaFileObject;
+
+import com.github.arachnidium.model.abstractions.ModelObject;
+import com.github.arachnidium.model.common.Application;
+import com.github.arachnidium.model.common.FunctionalPart;
+import com.github.arachnidium.util.proxy.EnhancedProxyFactory;
+import com.github.arachnidium.util.proxy.PrecompiledProxies;
+
+/**
+ * Generates proxy classes of {@link Application} and {@link FunctionalPart}
+ * subclasses at compile time. So the "generated" proxy backend (see
+ * {@link EnhancedProxyFactory#BACKEND_PROPERTY}) doesn't generate them at
+ * runtime. Generated classes invoke the same interceptors, so methods marked
+ * by annotations (InteractiveMethod, WithImplicitlyWait and so on) and
+ * class declarations (Frame, TimeOut and so on) behave as usual.
+ *
+ * The processor is not registered as a service. It should be declared
+ * explicitly, e.g. <br/>
+ * <code>javac -processor com.github.arachnidium.model.support.ProxyClassProcessor ...</code>
+ * <br/>
+ * or by the <code>annotationProcessors</code> parameter of the
+ * maven-compiler-plugin.
+ *
+ * @see PrecompiledProxies
+ */
+@SupportedAnnotationTypes("*")
+public class ProxyClassProcessor extends AbstractProcessor {
+
+	private static final String INTERCEPTOR = "net.sf.cglib.proxy.MethodInterceptor";
+	private static final String METHOD_PROXY = "net.sf.cglib.proxy.MethodProxy";
+	private static final String PRECOMPILED_PROXIES = PrecompiledProxies.class
+			.getName();
+
+	/**
+	 * The overridden method and its signature as a member of the proxied
+	 * class. The declared signature is the erasure of the method as it is
+	 * declared. It differs when type variables of a superclass are bound by
+	 * the proxied class (e.g. getPart(Class, U) of Application is
+	 * getPart(Class, HowToGetBrowserWindow) of a browser application).
+	 * Reflection and {@link net.sf.cglib.proxy.MethodProxy} see the declared
+	 * one.
+	 */
+	private static class ProxiedMethod {
+		private final ExecutableElement method;
+		private final List<TypeMirror> parameterTypes = new ArrayList<>();
+		private final List<TypeMirror> thrownTypes = new ArrayList<>();
+		private final TypeMirror returnType;
+		private final List<TypeMirror> declaredParameterTypes = new ArrayList<>();
+		private final TypeMirror declaredReturnType;
+
+		private ProxiedMethod(ExecutableElement method, ExecutableType type,
+				ProxyClassProcessor processor) {
+			this.method = method;
+			type.getParameterTypes().forEach((t) -> {
+				parameterTypes.add(processor.erasure(t));
+			});
+			type.getThrownTypes().forEach((t) -> {
+				thrownTypes.add(processor.erasure(t));
+			});
+			returnType = processor.erasure(type.getReturnType());
+			method.getParameters().forEach((p) -> {
+				declaredParameterTypes.add(processor.erasure(p.asType()));
+			});
+			declaredReturnType = processor.erasure(method.getReturnType());
+		}
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations,
+			RoundEnvironment roundEnv) {
+		TypeElement modelObject = processingEnv.getElementUtils()
+				.getTypeElement(ModelObject.class.getCanonicalName());
+		if (modelObject == null) {
+			return false;
+		}
+		TypeMirror modelObjectType = erasure(modelObject.asType());
+		for (TypeElement type : ElementFilter.typesIn(roundEnv
+				.getRootElements())) {
+			processType(type, modelObjectType);
+		}
+		return false;
+	}
+
+	private void processType(TypeElement type, TypeMirror modelObjectType) {
+		for (TypeElement nested : ElementFilter.typesIn(type
+				.getEnclosedElements())) {
+			processType(nested, modelObjectType);
+		}
+		if (type.getKind() != ElementKind.CLASS
+				|| type.getQualifiedName().toString()
+						.endsWith(PrecompiledProxies.NAME_SUFFIX)
+				|| !isProxiable(type)
+				|| !processingEnv.getTypeUtils().isSubtype(
+						erasure(type.asType()), modelObjectType)) {
+			return;
+		}
+		try {
+			generate(type);
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Kind.ERROR,
+					"The proxy class can not be generated: " + e.getMessage(),
+					type);
+		}
+	}
+
+	private static boolean isProxiable(TypeElement type) {
+		if (type.getModifiers().contains(Modifier.FINAL)) {
+			return false;
+		}
+		for (Element e = type; e.getKind().isClass()
+				|| e.getKind().isInterface(); e = e.getEnclosingElement()) {
+			TypeElement t = (TypeElement) e;
+			if (t.getModifiers().contains(Modifier.PRIVATE)
+					|| t.getNestingKind() == NestingKind.LOCAL
+					|| t.getNestingKind() == NestingKind.ANONYMOUS) {
+				return false;
+			}
+			if (t.getNestingKind() == NestingKind.MEMBER
+					&& !t.getModifiers().contains(Modifier.STATIC)) {
+				return false;
+			}
+		}
+		for (ExecutableElement c : ElementFilter.constructorsIn(type
+				.getEnclosedElements())) {
+			if (!c.getModifiers().contains(Modifier.PRIVATE)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private TypeMirror erasure(TypeMirror type) {
+		return processingEnv.getTypeUtils().erasure(type);
+	}
+
+	private String getPackageName(Element e) {
+		return processingEnv.getElementUtils().getPackageOf(e)
+				.getQualifiedName().toString();
+	}
+
+	private boolean isOverridable(ExecutableElement method, TypeElement type) {
+		Set<Modifier> modifiers = method.getModifiers();
+		if (modifiers.contains(Modifier.STATIC)
+				|| modifiers.contains(Modifier.FINAL)
+				|| modifiers.contains(Modifier.PRIVATE)) {
+			return false;
+		}
+		TypeElement declaring = (TypeElement) method.getEnclosingElement();
+		if (declaring.getQualifiedName().contentEquals(
+				Object.class.getName())
+				&& method.getSimpleName().contentEquals("finalize")) {
+			return false;
+		}
+		if (modifiers.contains(Modifier.PUBLIC)
+				|| modifiers.contains(Modifier.PROTECTED)
+				|| declaring.getKind().isInterface()) {
+			return true;
+		}
+		return getPackageName(declaring).equals(getPackageName(type));
+	}
+
+	/**
+	 * @return methods which are overridden by the proxy class. Methods of
+	 *         interfaces which are implemented by the class are skipped
+	 */
+	private List<ProxiedMethod> getProxiedMethods(TypeElement type) {
+		// members of the raw type are erased
+		DeclaredType memberOf = (DeclaredType) erasure(type.asType());
+		List<ExecutableElement> members = ElementFilter
+				.methodsIn(processingEnv.getElementUtils()
+						.getAllMembers(type));
+		Map<String, ProxiedMethod> result = new LinkedHashMap<>();
+		for (ExecutableElement m : members) {
+			if (!isOverridable(m, type)) {
+				continue;
+			}
+			boolean isOverridden = false;
+			for (ExecutableElement other : members) {
+				if (other != m
+						&& processingEnv.getElementUtils().overrides(other, m,
+								type)) {
+					isOverridden = true;
+					break;
+				}
+			}
+			if (isOverridden) {
+				continue;
+			}
+			ProxiedMethod proxied = new ProxiedMethod(m,
+					(ExecutableType) processingEnv.getTypeUtils().asMemberOf(
+							memberOf, m), this);
+			result.putIfAbsent(
+					m.getSimpleName() + proxied.parameterTypes.toString(),
+					proxied);
+		}
+		return new ArrayList<>(result.values());
+	}
+
+	private void generate(TypeElement type) throws IOException {
+		String packageName = getPackageName(type);
+		String binaryName = processingEnv.getElementUtils()
+				.getBinaryName(type).toString();
+		String proxyName = binaryName + PrecompiledProxies.NAME_SUFFIX;
+		String simpleName = packageName.isEmpty() ? proxyName : proxyName
+				.substring(packageName.length() + 1);
+		String superName = erasure(type.asType()).toString();
+		List<ProxiedMethod> methods = getProxiedMethods(type);
+
+		JavaFileObject file = processingEnv.getFiler().createSourceFile(
+				proxyName, type);
+		try (PrintWriter out = new PrintWriter(file.openWriter())) {
+			if (!packageName.isEmpty()) {
+				out.println("package " + packageName + ";");
+				out.println();
+			}
+			out.println("/**");
+			out.println(" * It is generated by " + getClass().getName());
+			out.println(" */");
+			out.println("@SuppressWarnings({\"rawtypes\", \"unchecked\", \"deprecation\"})");
+			out.println("public class " + simpleName + " extends " + superName
+					+ " {");
+			out.println();
+			out.println("\tprivate static final java.lang.reflect.Method[] arachnidium$methods = new java.lang.reflect.Method[] {");
+			for (ProxiedMethod m : methods) {
+				out.print("\t\t" + PRECOMPILED_PROXIES + ".findMethod("
+						+ superName + ".class, \"" + m.method.getSimpleName()
+						+ "\"");
+				for (TypeMirror p : m.declaredParameterTypes) {
+					out.print(", " + p + ".class");
+				}
+				out.println("),");
+			}
+			out.println("\t};");
+			out.println("\tprivate static final " + METHOD_PROXY
+					+ "[] arachnidium$methodProxies = " + PRECOMPILED_PROXIES
+					+ ".createMethodProxies(" + simpleName
+					+ ".class, arachnidium$methods);");
+			out.println();
+			out.println("\tprivate " + INTERCEPTOR
+					+ " arachnidium$interceptor;");
+			out.println();
+			out.println("\tpublic static " + METHOD_PROXY
+					+ " CGLIB$findMethodProxy(net.sf.cglib.core.Signature signature) {");
+			out.println("\t\treturn " + PRECOMPILED_PROXIES
+					+ ".findMethodProxy(arachnidium$methodProxies, signature);");
+			out.println("\t}");
+			out.println();
+			out.println("\tprivate " + INTERCEPTOR
+					+ " arachnidium$getInterceptor() {");
+			out.println("\t\tif (arachnidium$interceptor != null) {");
+			out.println("\t\t\treturn arachnidium$interceptor;");
+			out.println("\t\t}");
+			out.println("\t\t// the superclass constructor is running");
+			out.println("\t\treturn " + PRECOMPILED_PROXIES
+					+ ".getCreatedInstanceInterceptor();");
+			out.println("\t}");
+
+			DeclaredType memberOf = (DeclaredType) erasure(type.asType());
+			for (ExecutableElement c : ElementFilter.constructorsIn(type
+					.getEnclosedElements())) {
+				if (c.getModifiers().contains(Modifier.PRIVATE)) {
+					continue;
+				}
+				ExecutableType constructorType = (ExecutableType) processingEnv
+						.getTypeUtils().asMemberOf(memberOf, c);
+				out.println();
+				out.print("\tpublic " + simpleName + "(");
+				printParameters(out, erase(constructorType.getParameterTypes()));
+				out.print(")");
+				printThrows(out, erase(constructorType.getThrownTypes()));
+				out.println(" {");
+				out.print("\t\tsuper(");
+				printArguments(out, constructorType.getParameterTypes().size());
+				out.println(");");
+				out.println("\t\tarachnidium$interceptor = "
+						+ PRECOMPILED_PROXIES
+						+ ".getCreatedInstanceInterceptor();");
+				out.println("\t}");
+			}
+
+			for (int i = 0; i < methods.size(); i++) {
+				printMethod(out, methods.get(i), i);
+			}
+			out.println("}");
+		}
+	}
+
+	private List<TypeMirror> erase(List<? extends TypeMirror> types) {
+		List<TypeMirror> result = new ArrayList<>();
+		types.forEach((t) -> result.add(erasure(t)));
+		return result;
+	}
+
+	private static void printParameters(PrintWriter out,
+			List<TypeMirror> parameterTypes) {
+		for (int i = 0; i < parameterTypes.size(); i++) {
+			if (i > 0) {
+				out.print(", ");
+			}
+			out.print(parameterTypes.get(i) + " arg" + i);
+		}
+	}
+
+	private static void printArguments(PrintWriter out, int count) {
+		for (int i = 0; i < count; i++) {
+			if (i > 0) {
+				out.print(", ");
+			}
+			out.print("arg" + i);
+		}
+	}
+
+	private static void printThrows(PrintWriter out, List<TypeMirror> thrownTypes) {
+		for (int i = 0; i < thrownTypes.size(); i++) {
+			out.print((i == 0) ? " throws " : ", ");
+			out.print(thrownTypes.get(i));
+		}
+	}
+
+	private void printMethod(PrintWriter out, ProxiedMethod m, int index) {
+		String name = m.method.getSimpleName().toString();
+		String access = m.method.getModifiers().contains(Modifier.PUBLIC)
+				|| m.method.getEnclosingElement().getKind().isInterface() ? "public "
+				: (m.method.getModifiers().contains(Modifier.PROTECTED) ? "protected "
+						: "");
+		boolean isVoid = m.returnType.getKind() == TypeKind.VOID;
+
+		out.println();
+		out.println("\t@Override");
+		out.print("\t" + access + m.returnType + " " + name + "(");
+		printParameters(out, m.parameterTypes);
+		out.print(")");
+		printThrows(out, m.thrownTypes);
+		out.println(" {");
+		out.println("\t\t" + INTERCEPTOR
+				+ " interceptor = arachnidium$getInterceptor();");
+		out.println("\t\tif (interceptor == null) {");
+		out.print("\t\t\t" + (isVoid ? "" : "return ") + "arachnidium$super$"
+				+ index + "(");
+		printArguments(out, m.parameterTypes.size());
+		out.println(");");
+		if (isVoid) {
+			out.println("\t\t\treturn;");
+		}
+		out.println("\t\t}");
+		out.println("\t\ttry {");
+		out.print("\t\t\t" + (isVoid ? "" : "Object result = ")
+				+ "interceptor.intercept(this, arachnidium$methods[" + index
+				+ "], new Object[] {");
+		printArguments(out, m.parameterTypes.size());
+		out.println("}, arachnidium$methodProxies[" + index + "]);");
+		if (!isVoid) {
+			out.println("\t\t\t" + getReturnStatement(m.returnType));
+		}
+		printCatchBlocks(out, m.thrownTypes);
+		out.println("\t}");
+
+		// it is invoked by MethodProxy#invokeSuper, so it has the declared
+		// signature
+		out.println();
+		out.print("\tpublic final " + m.declaredReturnType
+				+ " arachnidium$super$" + index + "(");
+		printParameters(out, m.declaredParameterTypes);
+		out.print(")");
+		printThrows(out, m.thrownTypes);
+		out.println(" {");
+		if (m.method.getModifiers().contains(Modifier.ABSTRACT)) {
+			out.println("\t\tthrow new AbstractMethodError(\"" + name + "\");");
+		} else {
+			out.print("\t\t" + (isVoid ? "" : "return ") + "super." + name
+					+ "(");
+			printCastArguments(out, m);
+			out.println(");");
+		}
+		out.println("\t}");
+	}
+
+	private void printCastArguments(PrintWriter out, ProxiedMethod m) {
+		for (int i = 0; i < m.parameterTypes.size(); i++) {
+			if (i > 0) {
+				out.print(", ");
+			}
+			TypeMirror parameterType = m.parameterTypes.get(i);
+			if (!processingEnv.getTypeUtils().isSameType(parameterType,
+					m.declaredParameterTypes.get(i))) {
+				out.print("(" + parameterType + ") ");
+			}
+			out.print("arg" + i);
+		}
+	}
+
+	// null is converted to zero for primitive types as CGLIB does
+	private static String getReturnStatement(TypeMirror returnType) {
+		switch (returnType.getKind()) {
+		case BOOLEAN:
+			return "return result != null && ((Boolean) result).booleanValue();";
+		case CHAR:
+			return "return (result == null) ? (char) 0 : ((Character) result).charValue();";
+		case BYTE:
+		case SHORT:
+		case INT:
+		case LONG:
+		case FLOAT:
+		case DOUBLE:
+			return "return (result == null) ? (" + returnType + ") 0 : ((Number) result)."
+					+ returnType + "Value();";
+		default:
+			return "return (" + returnType + ") result;";
+		}
+	}
+
+	/**
+	 * Declared exceptions are thrown as they are. Other checked exceptions
+	 * are wrapped as CGLIB proxies do.
+	 */
+	private void printCatchBlocks(PrintWriter out, List<TypeMirror> thrownTypes) {
+		List<TypeMirror> caught = new ArrayList<>();
+		caught.add(processingEnv.getElementUtils()
+				.getTypeElement(RuntimeException.class.getName()).asType());
+		caught.add(processingEnv.getElementUtils()
+				.getTypeElement(Error.class.getName()).asType());
+		caught.addAll(thrownTypes);
+		// subclasses of caught exceptions are not caught again
+		List<TypeMirror> catchBlocks = new ArrayList<>();
+		for (int i = 0; i < caught.size(); i++) {
+			boolean isCovered = false;
+			for (int j = 0; j < caught.size(); j++) {
+				if (i != j
+						&& processingEnv.getTypeUtils().isSubtype(
+								caught.get(i), caught.get(j))
+						&& (j < i || !processingEnv.getTypeUtils()
+								.isSameType(caught.get(i), caught.get(j)))) {
+					isCovered = true;
+					break;
+				}
+			}
+			if (!isCovered) {
+				catchBlocks.add(caught.get(i));
+			}
+		}
+		boolean isThrowableCaught = false;
+		for (TypeMirror t : catchBlocks) {
+			out.println("\t\t} catch (" + t + " e) {");
+			out.println("\t\t\tthrow e;");
+			isThrowableCaught = isThrowableCaught
+					|| t.toString().equals(Throwable.class.getName());
+		}
+		if (!isThrowableCaught) {
+			out.println("\t\t} catch (Throwable t) {");
+			out.println("\t\t\tthrow new net.sf.cglib.proxy.UndeclaredThrowableException(t);");
+		}
+		out.println("\t\t}");
+	}
+}
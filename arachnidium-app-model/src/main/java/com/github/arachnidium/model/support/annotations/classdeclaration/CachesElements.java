@@ -0,0 +1,34 @@
+package com.github.arachnidium.model.support.annotations.classdeclaration;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation is useful for UI which 
+ * declares many {@link org.openqa.selenium.WebElement} 
+ * fields that are used again and again 
+ * (for example, big forms)
+ * 
+ * Elements of marked classes are found once 
+ * and they are reused until the driver 
+ * navigates, refreshes the page or is switched 
+ * to another window, context or frame. 
+ * If the reused element is stale it is found again. 
+ * 
+ * <p>
+ * <code>
+ * <p>
+ * <p>@CachesElements
+ * <p>public class ...
+ * </code>
+ * <p>
+ * Lists of elements are not cached. Elements are
+ * not cached if commands of the driver are not 
+ * listened (see the instrumentation profile)
+ */
+@Target(value = ElementType.TYPE)
+@Retention(value = RetentionPolicy.RUNTIME)
+public @interface CachesElements {
+}
@@ -0,0 +1,205 @@
+package com.github.arachnidium.model.support.annotations.classdeclaration;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.PatternSyntaxException;
+
+import com.github.arachnidium.core.fluenthandle.IHowToGetHandle;
+import com.github.arachnidium.core.interfaces.ICloneable;
+import com.github.arachnidium.model.support.HowToGetByFrames;
+
+/**
+ * Values of annotations which mark the class of a page object (the frame path,
+ * the time out, the element caching and the handle strategy).
+ *
+ * The descriptor is created once per class and is immutable. Annotations of
+ * the class and its superclasses are not read again when an instance of the
+ * class is required.
+ */
+public final class PageObjectDescriptor {
+
+	private static final ClassValue<PageObjectDescriptor> DESCRIPTORS = new ClassValue<PageObjectDescriptor>() {
+		@Override
+		protected PageObjectDescriptor computeValue(Class<?> annotated) {
+			return new PageObjectDescriptor(annotated);
+		}
+	};
+
+	/**
+	 * @param annotated is a class which can be marked by annotations like
+	 *            {@link Frame}, {@link TimeOut}, {@link IfBrowserURL} and so on
+	 * @return The descriptor of the given class
+	 */
+	public static PageObjectDescriptor get(Class<?> annotated) {
+		return DESCRIPTORS.get(annotated);
+	}
+
+	private final Class<?> annotated;
+	private final List<Object> framePath;
+	private final Long timeOut;
+	private final boolean cachesElements;
+	/**
+	 * Handle strategies which are filled by annotation values. They are
+	 * cloned by {@link #getHowToGetHandle(Class, Class, Class, Class)}
+	 */
+	private final Map<List<Class<?>>, Optional<IHowToGetHandle>> handleTemplates = new ConcurrentHashMap<>();
+
+	private PageObjectDescriptor(Class<?> annotated) {
+		this.annotated = annotated;
+		framePath = Collections.unmodifiableList(ClassDeclarationReader
+				.getFramePath(ClassDeclarationReader.getAnnotations(
+						Frame.class, annotated)));
+		TimeOut[] timeOuts = ClassDeclarationReader.getAnnotations(
+				TimeOut.class, annotated);
+		if (timeOuts.length > 0) {
+			timeOut = ClassDeclarationReader.getTimeOut(timeOuts[0]);
+		} else {
+			timeOut = null;
+		}
+		cachesElements = ClassDeclarationReader.getAnnotations(
+				CachesElements.class, annotated).length > 0;
+	}
+
+	/**
+	 * @return The default frame path described by {@link Frame} annotations.
+	 *         It is empty if the class isn't annotated by {@link Frame}
+	 */
+	public List<Object> getFramePath() {
+		return framePath;
+	}
+
+	/**
+	 * @return A new {@link HowToGetByFrames} strategy instance if the class is
+	 *         annotated by {@link Frame} <br/>
+	 *         <br/>
+	 *         <code>null</code> if the class isn't annotated by {@link Frame}
+	 */
+	public HowToGetByFrames getHowToGetByFrames() {
+		if (framePath.size() == 0) {
+			return null;
+		}
+		HowToGetByFrames howTo = new HowToGetByFrames();
+		framePath.forEach((chainElement) -> {
+			howTo.addNextFrame(chainElement);
+		});
+		return howTo;
+	}
+
+	/**
+	 * @return The value of {@link TimeOut} or <code>null</code> if the class
+	 *         isn't annotated by {@link TimeOut}
+	 */
+	public Long getTimeOut() {
+		return timeOut;
+	}
+
+	/**
+	 * @return true if the class is annotated by {@link CachesElements}
+	 */
+	public boolean cachesElements() {
+		return cachesElements;
+	}
+
+	/**
+	 * Returns a strategy which is filled by values of annotations which mark
+	 * the class. The strategy is built at the first invocation, following
+	 * invocations return its clone (if the strategy class implements
+	 * {@link ICloneable}). So the returned instance can be changed safely.
+	 *
+	 * @param indexAnnotation is the class of the annotation which has the
+	 *            "index()" method ({@link IfBrowserDefaultPageIndex},
+	 *            {@link IfMobileDefaultContextIndex})
+	 * @param uniqueIdentifiers is the class of the annotation which has the
+	 *            "regExp()" method and is repeatable ({@link IfBrowserURL},
+	 *            {@link IfMobileAndroidActivity})
+	 * @param additionalStringIdentifier is the class of the annotation which
+	 *            has the "regExp()" method ({@link IfBrowserPageTitle},
+	 *            {@link IfMobileContext})
+	 * @param howToClass is the class of the strategy
+	 * @return A strategy instance or <code>null</code> if the class isn't
+	 *         marked by any of annotations above
+	 * @throws ReflectiveOperationException
+	 */
+	public <T extends IHowToGetHandle> T getHowToGetHandle(
+			Class<? extends Annotation> indexAnnotation,
+			Class<? extends Annotation> uniqueIdentifiers,
+			Class<? extends Annotation> additionalStringIdentifier,
+			Class<T> howToClass) throws ReflectiveOperationException {
+		List<Class<?>> key = Arrays.asList(indexAnnotation, uniqueIdentifiers,
+				additionalStringIdentifier, howToClass);
+		Optional<IHowToGetHandle> template = handleTemplates.get(key);
+		if (template == null) {
+			T created = createHowToGetHandle(indexAnnotation,
+					uniqueIdentifiers, additionalStringIdentifier, howToClass);
+			if (created != null && !(created instanceof ICloneable)) {
+				return created;
+			}
+			template = Optional.ofNullable(created);
+			handleTemplates.putIfAbsent(key, template);
+		}
+		if (!template.isPresent()) {
+			return null;
+		}
+		return ((ICloneable) template.get()).cloneThis();
+	}
+
+	private <T extends IHowToGetHandle> T createHowToGetHandle(
+			Class<? extends Annotation> indexAnnotation,
+			Class<? extends Annotation> uniqueIdentifiers,
+			Class<? extends Annotation> additionalStringIdentifier,
+			Class<T> howToClass) throws ReflectiveOperationException {
+		Annotation[] indexAnnotations = ClassDeclarationReader.getAnnotations(
+				indexAnnotation, annotated);
+		Integer index = null;
+		if (indexAnnotations.length > 0) {
+			index = ClassDeclarationReader.getIndex(indexAnnotations[0]);
+		}
+
+		List<String> identifiers = ClassDeclarationReader
+				.getRegExpressions(ClassDeclarationReader.getAnnotations(
+						uniqueIdentifiers, annotated));
+		if (identifiers.size() == 0) {
+			identifiers = null;
+		} else {
+			identifiers = Collections.unmodifiableList(identifiers);
+		}
+
+		String stringIdentifier = null;
+		Annotation[] additionalStringIdentifiers = ClassDeclarationReader
+				.getAnnotations(additionalStringIdentifier, annotated);
+		if (additionalStringIdentifiers.length > 0) {
+			stringIdentifier = ClassDeclarationReader.getRegExpressions(
+					additionalStringIdentifiers).get(0);
+		}
+
+		if (index == null && identifiers == null && stringIdentifier == null) {
+			return null;
+		}
+
+		// strategies compile expressions when they are set. The template
+		// keeps compiled patterns and its clones share them. A wrong
+		// expression is reported at once instead of each waiting attempt
+		T result = howToClass.newInstance();
+		try {
+			if (index != null) {
+				result.setExpected(index);
+			}
+			if (identifiers != null) {
+				result.setExpected(identifiers);
+			}
+			if (stringIdentifier != null) {
+				result.setExpected(stringIdentifier);
+			}
+		} catch (PatternSyntaxException e) {
+			throw new IllegalArgumentException("Class " + annotated.getName()
+					+ " is annotated by the illegal regular expression "
+					+ e.getPattern(), e);
+		}
+		return result;
+	}
+}
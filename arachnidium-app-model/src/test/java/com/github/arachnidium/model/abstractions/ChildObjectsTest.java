@@ -0,0 +1,103 @@
+package com.github.arachnidium.model.abstractions;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.testng.annotations.Test;
+
+public class ChildObjectsTest {
+
+	/**
+	 * Adds the child which is not referenced by anything else and waits
+	 * until it is collected
+	 */
+	private static void addCollectedChild(ChildObjects<Object> children)
+			throws InterruptedException {
+		ReferenceQueue<Object> queue = new ReferenceQueue<>();
+		Object child = new Object();
+		WeakReference<Object> reference = new WeakReference<>(child, queue);
+		children.add(child);
+		child = null;
+		for (int i = 0; i < 50 && queue.poll() == null; i++) {
+			System.gc();
+			Thread.sleep(20);
+		}
+		Assert.assertNull(reference.get());
+		// the reference of ChildObjects is enqueued by the same thread
+		Thread.sleep(100);
+	}
+
+	@Test
+	public void childrenAreReturnedInTheOrderOfAddition() {
+		ChildObjects<Object> children = new ChildObjects<>();
+		Object first = new Object();
+		Object second = new Object();
+		children.add(first);
+		children.add(second);
+		Assert.assertEquals(Arrays.asList(first, second), children.get());
+	}
+
+	@Test
+	public void eldestChildrenAreEvicted() {
+		ChildObjects<Object> children = new ChildObjects<>();
+		children.setLimit(2);
+		Object first = new Object();
+		Object second = new Object();
+		Object third = new Object();
+		children.add(first);
+		children.add(second);
+		children.add(third);
+		Assert.assertEquals(Arrays.asList(second, third), children.get());
+	}
+
+	@Test
+	public void childrenAreEvictedWhenTheLimitIsSet() {
+		ChildObjects<Object> children = new ChildObjects<>();
+		List<Object> added = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			Object child = new Object();
+			added.add(child);
+			children.add(child);
+		}
+		children.setLimit(3);
+		Assert.assertEquals(added.subList(2, 5), children.get());
+
+		children.setLimit(0);
+		Object next = new Object();
+		children.add(next);
+		Assert.assertEquals(4, children.get().size());
+	}
+
+	@Test
+	public void childIsRemoved() {
+		ChildObjects<Object> children = new ChildObjects<>();
+		Object first = new Object();
+		Object second = new Object();
+		children.add(first);
+		children.add(second);
+		children.remove(first);
+		Assert.assertEquals(Arrays.asList(second), children.get());
+		children.clear();
+		Assert.assertTrue(children.get().isEmpty());
+	}
+
+	@Test
+	public void collectedChildrenAreExpunged() throws InterruptedException {
+		ChildObjects<Object> children = new ChildObjects<>();
+		children.setLimit(2);
+		Object kept = new Object();
+		children.add(kept);
+		addCollectedChild(children);
+		Assert.assertEquals(Arrays.asList(kept), children.get());
+
+		// the reference to the collected child doesn't take the place
+		Object next = new Object();
+		children.add(next);
+		Assert.assertEquals(Arrays.asList(kept, next), children.get());
+	}
+}
@@ -0,0 +1,139 @@
+package com.github.arachnidium.model.abstractions;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.Assert;
+import net.sf.cglib.proxy.MethodProxy;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class ExceptionHandlerRegistryTest {
+
+	private final List<String> invoked = new ArrayList<>();
+
+	/**
+	 * Records its invocation. It returns its name or fails
+	 */
+	private class TestHandler extends ModelObjectExceptionHandler {
+		private final String name;
+		private final boolean fails;
+
+		private TestHandler(String name, boolean fails,
+				Class<? extends Throwable> tClass) {
+			super(tClass);
+			this.name = name;
+			this.fails = fails;
+		}
+
+		@Override
+		public Object handleException(Object object, Method originalMethod,
+				MethodProxy methodProxy, Object[] args, Throwable t)
+				throws Throwable {
+			invoked.add(name);
+			if (fails) {
+				throw t;
+			}
+			return name;
+		}
+	}
+
+	@BeforeMethod
+	public void clear() {
+		invoked.clear();
+	}
+
+	private static Object handle(ExceptionHandlerRegistry registry,
+			Throwable t) throws Throwable {
+		return registry.handleException(null, null, null, new Object[] {}, t);
+	}
+
+	@Test
+	public void handlerOfTheNearestSuperclassGoesFirst() throws Throwable {
+		ExceptionHandlerRegistry registry = new ExceptionHandlerRegistry();
+		registry.checkIn(new TestHandler("runtime", false,
+				RuntimeException.class));
+		registry.checkIn(new TestHandler("exception", false, Exception.class));
+		registry.checkIn(new TestHandler("illegalArgument", false,
+				IllegalArgumentException.class));
+
+		Assert.assertEquals("illegalArgument", handle(registry,
+				new NumberFormatException()));
+		Assert.assertEquals("runtime",
+				handle(registry, new IllegalStateException()));
+		Assert.assertEquals("exception", handle(registry, new IOException()));
+	}
+
+	@Test
+	public void failedHandlerFallsThroughToTheNextOne() throws Throwable {
+		ExceptionHandlerRegistry registry = new ExceptionHandlerRegistry();
+		registry.checkIn(new TestHandler("runtime", false,
+				RuntimeException.class));
+		registry.checkIn(new TestHandler("illegalArgument1", true,
+				IllegalArgumentException.class));
+		registry.checkIn(new TestHandler("illegalArgument2", true,
+				IllegalArgumentException.class));
+
+		Assert.assertEquals("runtime",
+				handle(registry, new IllegalArgumentException()));
+		// handlers of the same class go in the order of check in
+		Assert.assertEquals(Arrays.asList("illegalArgument1",
+				"illegalArgument2", "runtime"), invoked);
+	}
+
+	@Test
+	public void originalExceptionIsThrownWhenAllHandlersFail() {
+		ExceptionHandlerRegistry registry = new ExceptionHandlerRegistry();
+		registry.checkIn(new TestHandler("runtime", true,
+				RuntimeException.class));
+		IllegalArgumentException original = new IllegalArgumentException();
+		try {
+			handle(registry, original);
+			Assert.fail("The exception should be thrown");
+		} catch (Throwable t) {
+			Assert.assertSame(original, t);
+		}
+		Assert.assertEquals(Arrays.asList("runtime"), invoked);
+	}
+
+	@Test
+	public void originalExceptionIsThrownWhenThereIsNoHandler() {
+		ExceptionHandlerRegistry registry = new ExceptionHandlerRegistry();
+		registry.checkIn(new TestHandler("illegalArgument", false,
+				IllegalArgumentException.class));
+		IOException original = new IOException();
+		try {
+			handle(registry, original);
+			Assert.fail("The exception should be thrown");
+		} catch (Throwable t) {
+			Assert.assertSame(original, t);
+		}
+		Assert.assertTrue(invoked.isEmpty());
+	}
+
+	@Test
+	public void resolutionIsChangedByCheckInAndCheckOut() throws Throwable {
+		ExceptionHandlerRegistry registry = new ExceptionHandlerRegistry();
+		TestHandler runtime = new TestHandler("runtime", false,
+				RuntimeException.class);
+		registry.checkIn(runtime);
+		Assert.assertEquals("runtime",
+				handle(registry, new IllegalArgumentException()));
+
+		TestHandler illegalArgument = new TestHandler("illegalArgument",
+				false, IllegalArgumentException.class);
+		Assert.assertTrue(registry.checkIn(illegalArgument));
+		Assert.assertFalse(registry.checkIn(illegalArgument));
+		Assert.assertEquals("illegalArgument",
+				handle(registry, new IllegalArgumentException()));
+
+		Assert.assertTrue(registry.checkOut(illegalArgument));
+		Assert.assertFalse(registry.checkOut(illegalArgument));
+		Assert.assertEquals("runtime",
+				handle(registry, new IllegalArgumentException()));
+	}
+}
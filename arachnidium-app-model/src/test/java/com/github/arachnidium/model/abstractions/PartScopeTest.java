@@ -0,0 +1,163 @@
+package com.github.arachnidium.model.abstractions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.Assert;
+
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.github.arachnidium.core.BrowserWindow;
+import com.github.arachnidium.core.WebDriverEncapsulation;
+import com.github.arachnidium.core.WindowManager;
+import com.github.arachnidium.model.interfaces.IDecomposable;
+import com.github.arachnidium.model.support.HowToGetByFrames;
+
+/**
+ * Model objects are stationed on the window of the stubbed driver, there is
+ * no browser.
+ */
+public class PartScopeTest {
+
+	private static final String WINDOW = "window";
+
+	/**
+	 * The driver which has the only window and performs nothing
+	 */
+	private static class StubDriver extends RemoteWebDriver {
+		@Override
+		protected Response execute(String driverCommand,
+				Map<String, ?> parameters) {
+			Response response = new Response();
+			if (DriverCommand.GET_WINDOW_HANDLES.equals(driverCommand)) {
+				response.setValue(Collections.singletonList(WINDOW));
+			} else if (DriverCommand.GET_CURRENT_WINDOW_HANDLE
+					.equals(driverCommand)) {
+				response.setValue(WINDOW);
+			} else if (DriverCommand.GET_CURRENT_URL.equals(driverCommand)) {
+				response.setValue("http://localhost/");
+			} else if (DriverCommand.GET_TITLE.equals(driverCommand)) {
+				response.setValue("");
+			}
+			return response;
+		}
+	}
+
+	private final List<TestObject> destroyed = new ArrayList<>();
+	private WebDriverEncapsulation driverEncapsulation;
+	private BrowserWindow window;
+
+	/**
+	 * Records the order of destruction
+	 */
+	private class TestObject extends ModelObject<BrowserWindow> {
+		private TestObject() {
+			super(window);
+		}
+
+		private TestObject newChild() {
+			TestObject child = new TestObject();
+			addChild(child);
+			return child;
+		}
+
+		@Override
+		public <T extends IDecomposable> T getPart(Class<T> partClass) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public <T extends IDecomposable> T getPart(Class<T> partClass,
+				HowToGetByFrames pathStrategy) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void destroy() {
+			destroyed.add(this);
+			super.destroy();
+		}
+	}
+
+	@BeforeClass
+	public void createWindow() {
+		driverEncapsulation = new WebDriverEncapsulation(new StubDriver());
+		window = new WindowManager(driverEncapsulation).getHandle(0, 1L);
+	}
+
+	@AfterClass
+	public void destroy() {
+		driverEncapsulation.destroy();
+	}
+
+	@BeforeMethod
+	public void clear() {
+		destroyed.clear();
+	}
+
+	@Test
+	public void childrenAreDestroyedInTheReverseOrder() {
+		TestObject parent = new TestObject();
+		TestObject first;
+		TestObject second;
+		TestObject grandChild;
+		try (PartScope scope = PartScope.open()) {
+			first = parent.newChild();
+			second = parent.newChild();
+			grandChild = first.newChild();
+		}
+		Assert.assertEquals(Arrays.asList(grandChild, second, first),
+				destroyed);
+		Assert.assertTrue(parent.children.get().isEmpty());
+		Assert.assertTrue(first.children.get().isEmpty());
+	}
+
+	@Test
+	public void childrenOutOfScopeAreKept() {
+		TestObject parent = new TestObject();
+		TestObject before = parent.newChild();
+		TestObject inside;
+		try (PartScope scope = PartScope.open()) {
+			inside = parent.newChild();
+		}
+		TestObject after = parent.newChild();
+		Assert.assertEquals(Arrays.asList(inside), destroyed);
+		Assert.assertEquals(Arrays.asList(before, after),
+				parent.children.get());
+	}
+
+	@Test
+	public void childIsBoundToTheInnermostScope() {
+		TestObject parent = new TestObject();
+		TestObject outer;
+		TestObject inner;
+		try (PartScope outerScope = PartScope.open()) {
+			outer = parent.newChild();
+			try (PartScope innerScope = PartScope.open()) {
+				inner = parent.newChild();
+			}
+			Assert.assertEquals(Arrays.asList(inner), destroyed);
+			Assert.assertEquals(Arrays.asList(outer), parent.children.get());
+		}
+		Assert.assertEquals(Arrays.asList(inner, outer), destroyed);
+	}
+
+	@Test
+	public void parentDestroysItsChildren() {
+		TestObject parent = new TestObject();
+		TestObject first = parent.newChild();
+		TestObject second = parent.newChild();
+		parent.destroy();
+		Assert.assertEquals(Arrays.asList(parent, first, second), destroyed);
+		Assert.assertTrue(parent.children.get().isEmpty());
+	}
+}
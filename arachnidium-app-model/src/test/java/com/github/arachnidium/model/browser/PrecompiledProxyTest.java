@@ -0,0 +1,240 @@
+package com.github.arachnidium.model.browser;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import junit.framework.Assert;
+import net.sf.cglib.proxy.MethodInterceptor;
+
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.github.arachnidium.core.BrowserWindow;
+import com.github.arachnidium.core.WebDriverEncapsulation;
+import com.github.arachnidium.core.WindowManager;
+import com.github.arachnidium.model.common.FunctionalPart;
+import com.github.arachnidium.model.common.InteractiveInterceptor;
+import com.github.arachnidium.model.support.ProxyClassProcessor;
+import com.github.arachnidium.util.proxy.EnhancedProxyFactory;
+import com.github.arachnidium.util.proxy.GeneratedProxyBackend;
+import com.github.arachnidium.util.proxy.IProxyBackend;
+import com.github.arachnidium.util.proxy.PrecompiledProxies;
+
+/**
+ * Page objects are compiled with {@link ProxyClassProcessor} and they are
+ * proxied by the generated backend. There is no browser.
+ */
+public class PrecompiledProxyTest {
+
+	private static final String WINDOW = "window";
+	private static final String APPLICATION_CLASS = "precompiled.TestApplication";
+	private static final String PAGE_CLASS = "precompiled.TestPage";
+
+	private static final String APPLICATION_SOURCE = String.join("\n",
+			"package precompiled;",
+			"import com.github.arachnidium.core.BrowserWindow;",
+			"import com.github.arachnidium.model.browser.BrowserApplication;",
+			"public class TestApplication extends BrowserApplication {",
+			"	public TestApplication(BrowserWindow window) {",
+			"		super(window);",
+			"	}",
+			"}");
+
+	private static final String PAGE_SOURCE = String.join("\n",
+			"package precompiled;",
+			"import com.github.arachnidium.core.BrowserWindow;",
+			"import com.github.arachnidium.model.browser.BrowserPage;",
+			"import com.github.arachnidium.model.support.HowToGetByFrames;",
+			"public class TestPage extends BrowserPage {",
+			"	public TestPage(BrowserWindow window) {",
+			"		super(window);",
+			"	}",
+			"	public TestPage(BrowserWindow window, HowToGetByFrames path) {",
+			"		super(window, path);",
+			"	}",
+			"	@InteractiveMethod",
+			"	public String getName() {",
+			"		return \"test page\";",
+			"	}",
+			"}");
+
+	/**
+	 * The driver which has the only window and performs nothing
+	 */
+	private static class StubDriver extends RemoteWebDriver {
+		@Override
+		protected Response execute(String driverCommand,
+				Map<String, ?> parameters) {
+			Response response = new Response();
+			if (DriverCommand.GET_WINDOW_HANDLES.equals(driverCommand)) {
+				response.setValue(Collections.singletonList(WINDOW));
+			} else if (DriverCommand.GET_CURRENT_WINDOW_HANDLE
+					.equals(driverCommand)) {
+				response.setValue(WINDOW);
+			} else if (DriverCommand.GET_CURRENT_URL.equals(driverCommand)) {
+				response.setValue("http://localhost/");
+			} else if (DriverCommand.GET_TITLE.equals(driverCommand)) {
+				response.setValue("");
+			}
+			return response;
+		}
+	}
+
+	private final IProxyBackend backend = new GeneratedProxyBackend();
+	private final List<String> intercepted = new ArrayList<>();
+	private Path classes;
+	private URLClassLoader classLoader;
+	private WebDriverEncapsulation driverEncapsulation;
+	private BrowserWindow window;
+
+	private static void write(Path sources, String className, String source)
+			throws IOException {
+		Path file = sources.resolve(className.replace('.', File.separatorChar)
+				+ ".java");
+		Files.createDirectories(file.getParent());
+		Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static void delete(Path directory) throws IOException {
+		Files.walk(directory).sorted(Comparator.reverseOrder())
+				.map(Path::toFile).forEach(File::delete);
+	}
+
+	@BeforeClass
+	public void compile() throws IOException {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		if (compiler == null) {
+			throw new SkipException("There is no Java compiler");
+		}
+		Path sources = Files.createTempDirectory("sources");
+		classes = Files.createTempDirectory("classes");
+		try {
+			write(sources, APPLICATION_CLASS, APPLICATION_SOURCE);
+			write(sources, PAGE_CLASS, PAGE_SOURCE);
+			int result = compiler.run(null, null, null, "-d",
+					classes.toString(), "-classpath",
+					System.getProperty("java.class.path"), "-processor",
+					ProxyClassProcessor.class.getName(),
+					sources.resolve("precompiled/TestApplication.java")
+							.toString(),
+					sources.resolve("precompiled/TestPage.java").toString());
+			Assert.assertEquals(0, result);
+		} finally {
+			delete(sources);
+		}
+		classLoader = new URLClassLoader(new URL[] { classes.toUri().toURL() },
+				getClass().getClassLoader());
+
+		driverEncapsulation = new WebDriverEncapsulation(new StubDriver());
+		window = new WindowManager(driverEncapsulation).getHandle(0, 1L);
+	}
+
+	@AfterClass(alwaysRun = true)
+	public void destroy() throws IOException {
+		if (driverEncapsulation != null) {
+			driverEncapsulation.destroy();
+		}
+		if (classLoader != null) {
+			classLoader.close();
+		}
+		if (classes != null) {
+			delete(classes);
+		}
+	}
+
+	@BeforeMethod
+	public void clear() {
+		intercepted.clear();
+	}
+
+	private MethodInterceptor recording(MethodInterceptor interceptor) {
+		return (object, method, args, methodProxy) -> {
+			intercepted.add(method.getName());
+			return interceptor.intercept(object, method, args, methodProxy);
+		};
+	}
+
+	private <T> T getProxy(Class<T> clazz, MethodInterceptor interceptor) {
+		return backend.getProxy(clazz, new Class<?>[] { BrowserWindow.class },
+				new Object[] { window },
+				new MethodInterceptor[] { recording(interceptor) });
+	}
+
+	@Test
+	public void precompiledClassesAreGenerated() throws ClassNotFoundException {
+		Class<?> application = classLoader.loadClass(APPLICATION_CLASS);
+		Class<?> proxy = classLoader.loadClass(APPLICATION_CLASS
+				+ PrecompiledProxies.NAME_SUFFIX);
+		Assert.assertSame(application, proxy.getSuperclass());
+		Assert.assertSame(classLoader.loadClass(PAGE_CLASS), classLoader
+				.loadClass(PAGE_CLASS + PrecompiledProxies.NAME_SUFFIX)
+				.getSuperclass());
+	}
+
+	@Test
+	public void precompiledPageIsProxied() throws Exception {
+		Class<?> pageClass = classLoader.loadClass(PAGE_CLASS);
+		FunctionalPart<?> page = (FunctionalPart<?>) getProxy(pageClass,
+				new InteractiveInterceptor());
+
+		Assert.assertEquals(PAGE_CLASS + PrecompiledProxies.NAME_SUFFIX, page
+				.getClass().getName());
+		Assert.assertEquals("test page",
+				pageClass.getMethod("getName").invoke(page));
+		// the interactive method switches to the page
+		Assert.assertTrue(intercepted.containsAll(Arrays.asList("getName",
+				"switchToMe")));
+	}
+
+	@Test
+	public void partIsGotFromPrecompiledApplication() throws Exception {
+		@SuppressWarnings("unchecked")
+		Class<? extends BrowserApplication> applicationClass = (Class<? extends BrowserApplication>) classLoader
+				.loadClass(APPLICATION_CLASS);
+		@SuppressWarnings("unchecked")
+		Class<? extends BrowserPage> pageClass = (Class<? extends BrowserPage>) classLoader
+				.loadClass(PAGE_CLASS);
+		BrowserApplication application = getProxy(applicationClass,
+				new BrowserApplicationInterceptor());
+		Assert.assertEquals(APPLICATION_CLASS
+				+ PrecompiledProxies.NAME_SUFFIX, application.getClass()
+				.getName());
+
+		// getPart(Class) is substituted by the other getPart method which is
+		// found by MethodProxy.find(...) of the precompiled class
+		intercepted.clear();
+		BrowserPage page = application.getPart(pageClass);
+		Assert.assertTrue(intercepted.size() > 1);
+		Assert.assertEquals("getPart", intercepted.get(0));
+		Assert.assertTrue(pageClass.isInstance(page));
+		Assert.assertSame(application, page.getApplication());
+		Assert.assertEquals("test page",
+				pageClass.getMethod("getName").invoke(page));
+		if (GeneratedProxyBackend.NAME.equals(System
+				.getProperty(EnhancedProxyFactory.BACKEND_PROPERTY))) {
+			// parts are created by the same backend
+			Assert.assertEquals(PAGE_CLASS + PrecompiledProxies.NAME_SUFFIX,
+					page.getClass().getName());
+		}
+	}
+}
@@ -0,0 +1,193 @@
+package com.github.arachnidium.model.support;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import junit.framework.Assert;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriver.TargetLocator;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Switching is performed by the mocked {@link WebDriver} which records
+ * commands, there is no browser.
+ */
+public class HowToGetByFramesTest {
+
+	private final List<String> commands = new ArrayList<>();
+	private final Set<WebElement> staleElements = new HashSet<>();
+	private final List<WebElement> foundElements = new ArrayList<>();
+	private WebDriver driver;
+
+	private static WebElement mockElement(String name) {
+		return (WebElement) Proxy.newProxyInstance(
+				HowToGetByFramesTest.class.getClassLoader(),
+				new Class<?>[] { WebElement.class }, (proxy, method, args) -> {
+					switch (method.getName()) {
+					case "toString":
+						return name;
+					case "hashCode":
+						return System.identityHashCode(proxy);
+					case "equals":
+						return proxy == args[0];
+					default:
+						return null;
+					}
+				});
+	}
+
+	@BeforeMethod
+	public void createDriver() {
+		commands.clear();
+		staleElements.clear();
+		foundElements.clear();
+		TargetLocator targetLocator = (TargetLocator) Proxy.newProxyInstance(
+				getClass().getClassLoader(),
+				new Class<?>[] { TargetLocator.class }, (proxy, method, args) -> {
+					if (args != null && staleElements.contains(args[0])) {
+						throw new StaleElementReferenceException(String
+								.valueOf(args[0]));
+					}
+					commands.add(method.getName()
+							+ (args == null ? "" : ":" + args[0]));
+					return null;
+				});
+		driver = (WebDriver) Proxy.newProxyInstance(getClass()
+				.getClassLoader(), new Class<?>[] { WebDriver.class }, (proxy,
+				method, args) -> {
+			switch (method.getName()) {
+			case "switchTo":
+				return targetLocator;
+			case "findElement":
+				WebElement element = mockElement("element"
+						+ foundElements.size());
+				foundElements.add(element);
+				commands.add("findElement:" + args[0]);
+				return element;
+			default:
+				return null;
+			}
+		});
+	}
+
+	private static HowToGetByFrames path(Object... frames) {
+		HowToGetByFrames result = new HowToGetByFrames();
+		for (Object frame : frames) {
+			result.addNextFrame(frame);
+		}
+		return result;
+	}
+
+	private static List<Object> current(Object... frames) {
+		return Arrays.asList(frames);
+	}
+
+	private void assertCommands(String... expected) {
+		Assert.assertEquals(Arrays.asList(expected), commands);
+	}
+
+	@Test
+	public void framesAreEnteredFromTheTopLevel() {
+		HowToGetByFrames.switchTo(driver, current(),
+				Collections.singletonList(path("a", "b")));
+		assertCommands("frame:a", "frame:b");
+	}
+
+	@Test
+	public void nothingIsDoneOnTheSamePath() {
+		HowToGetByFrames.switchTo(driver, current("a", "b"),
+				Collections.singletonList(path("a", "b")));
+		assertCommands();
+	}
+
+	@Test
+	public void commonFramesAreNotLeft() {
+		HowToGetByFrames.switchTo(driver, current("a", "b"),
+				Collections.singletonList(path("a", "c")));
+		assertCommands("parentFrame", "frame:c");
+	}
+
+	@Test
+	public void deeperFramesAreLeft() {
+		HowToGetByFrames.switchTo(driver, current("a", "b", "c"),
+				Collections.singletonList(path("a")));
+		assertCommands("parentFrame", "parentFrame");
+	}
+
+	@Test
+	public void framesAreLeftToTheTopLevel() {
+		HowToGetByFrames.switchTo(driver, current("a", "b"),
+				Collections.<HowToGetByFrames> emptyList());
+		assertCommands("parentFrame", "parentFrame");
+	}
+
+	@Test
+	public void framesAfterTheFirstDifferenceAreEntered() {
+		HowToGetByFrames.switchTo(driver, current("a", "b"),
+				Collections.singletonList(path("x", "b")));
+		assertCommands("parentFrame", "parentFrame", "frame:x", "frame:b");
+	}
+
+	@Test
+	public void pathIsMadeByTheChainOfStrategies() {
+		HowToGetByFrames.switchTo(driver, current("a", "b"),
+				Arrays.asList(path("a"), path("b", "c")));
+		assertCommands("frame:c");
+	}
+
+	@Test
+	public void indexesAreCompared() {
+		HowToGetByFrames.switchTo(driver, current(0),
+				Collections.singletonList(path(0, 1)));
+		assertCommands("frame:1");
+	}
+
+	@Test
+	public void foundFrameIsReused() {
+		By locator = By.id("frame");
+		HowToGetByFrames howTo = path(locator);
+		HowToGetByFrames.switchTo(driver, current(),
+				Collections.singletonList(howTo));
+		Assert.assertEquals(1, foundElements.size());
+		WebElement frame = foundElements.get(0);
+		assertCommands("findElement:" + locator, "frame:" + frame);
+
+		commands.clear();
+		HowToGetByFrames.switchTo(driver, current(),
+				Collections.singletonList(howTo));
+		Assert.assertEquals(1, foundElements.size());
+		assertCommands("frame:" + frame);
+	}
+
+	@Test
+	public void staleFrameIsFoundAgain() {
+		By locator = By.id("frame");
+		HowToGetByFrames howTo = path(locator);
+		HowToGetByFrames.switchTo(driver, current(),
+				Collections.singletonList(howTo));
+		staleElements.add(foundElements.get(0));
+
+		commands.clear();
+		HowToGetByFrames.switchTo(driver, current(),
+				Collections.singletonList(howTo));
+		Assert.assertEquals(2, foundElements.size());
+		WebElement refound = foundElements.get(1);
+		assertCommands("findElement:" + locator, "frame:" + refound);
+
+		commands.clear();
+		HowToGetByFrames.switchTo(driver, current(),
+				Collections.singletonList(howTo));
+		Assert.assertEquals(2, foundElements.size());
+		assertCommands("frame:" + refound);
+	}
+}
@@ -0,0 +1,104 @@
+package com.github.arachnidium.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+
+/**
+ * The driver which answers commands at once without any browser. Responses
+ * are converted by {@link RemoteWebDriver} as usual, so only the overhead of
+ * Selenium and the framework is measured.
+ */
+class FakeDriver extends RemoteWebDriver {
+
+	static final String WINDOW = "window";
+	static final String URL = "http://localhost/";
+	private static final String TITLE = "Fake page";
+
+	/**
+	 * Answers commands of the fake session
+	 */
+	private static class FakeExecutor implements CommandExecutor {
+		private final int foundElements;
+		private final AtomicLong elementCount = new AtomicLong();
+
+		private FakeExecutor(int foundElements) {
+			this.foundElements = foundElements;
+		}
+
+		private Map<String, Object> newElement() {
+			return Collections.<String, Object> singletonMap("ELEMENT",
+					String.valueOf(elementCount.incrementAndGet()));
+		}
+
+		private Object getValue(Command command) {
+			switch (command.getName()) {
+			case DriverCommand.NEW_SESSION:
+				Map<String, Object> capabilities = new HashMap<>();
+				capabilities.put("browserName", "fake");
+				capabilities.put("javascriptEnabled", true);
+				return capabilities;
+			case DriverCommand.GET_CURRENT_WINDOW_HANDLE:
+				return WINDOW;
+			case DriverCommand.GET_WINDOW_HANDLES:
+				return Collections.singletonList(WINDOW);
+			case DriverCommand.GET_TITLE:
+				return TITLE;
+			case DriverCommand.GET_CURRENT_URL:
+				return URL;
+			case DriverCommand.FIND_ELEMENT:
+			case DriverCommand.FIND_CHILD_ELEMENT:
+				return newElement();
+			case DriverCommand.FIND_ELEMENTS:
+			case DriverCommand.FIND_CHILD_ELEMENTS:
+				List<Object> elements = new ArrayList<>(foundElements);
+				for (int i = 0; i < foundElements; i++) {
+					elements.add(newElement());
+				}
+				return elements;
+			case DriverCommand.GET_ELEMENT_TAG_NAME:
+				return "div";
+			case DriverCommand.EXECUTE_SCRIPT:
+				if (String.valueOf(command.getParameters().get("script"))
+						.contains("document.readyState")) {
+					return Arrays.asList(TITLE, URL, "complete");
+				}
+				return 1L;
+			default:
+				return null;
+			}
+		}
+
+		@Override
+		public Response execute(Command command) {
+			Response response = new Response();
+			response.setSessionId("fake");
+			response.setStatus(0);
+			response.setValue(getValue(command));
+			return response;
+		}
+	}
+
+	/**
+	 * @param foundElements is the count of elements which are returned by
+	 *            findElements
+	 */
+	FakeDriver(int foundElements) {
+		super(new FakeExecutor(foundElements), new DesiredCapabilities());
+	}
+
+	FakeDriver() {
+		this(1);
+	}
+}
@@ -0,0 +1,80 @@
+package com.github.arachnidium.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.Test;
+
+import com.github.arachnidium.core.WebDriverEncapsulation;
+
+/**
+ * findElements which returns 10 000 elements. Only 10 of them are used, as a
+ * test usually does with large tables. Found elements are wrapped lazily.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FindElementsBenchmark {
+
+	private static final String RAW = "raw";
+	private static final int FOUND_ELEMENTS = 10000;
+	private static final int USED_ELEMENTS = 10;
+
+	@Param({ RAW, "off", "minimal", "standard", "full" })
+	private String profile;
+
+	private WebDriverEncapsulation session;
+	private WebDriver driver;
+
+	@Setup
+	public void setUp() {
+		if (RAW.equals(profile)) {
+			driver = new FakeDriver(FOUND_ELEMENTS);
+		} else {
+			session = Sessions.newSession(profile, new FakeDriver(
+					FOUND_ELEMENTS));
+			driver = session.getWrappedDriver();
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		if (session != null) {
+			session.destroy();
+		}
+	}
+
+	@Benchmark
+	public String largeResultSet() {
+		List<WebElement> elements = driver.findElements(By.tagName("tr"));
+		String result = null;
+		for (int i = 0; i < USED_ELEMENTS; i++) {
+			result = elements.get(i).getTagName();
+		}
+		return result;
+	}
+
+	@Test
+	public void run() throws RunnerException {
+		Harness.run(getClass(), "profile", Sessions.getAvailableProfiles(RAW));
+	}
+}
@@ -0,0 +1,77 @@
+package com.github.arachnidium.benchmarks;
+
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Launches JMH benchmarks of the given class. Benchmarks are run in forked
+ * JVMs which get the same arguments as the launching one (see pom.xml). The
+ * default settings of benchmark classes can be changed by
+ * -Dbenchmark.forks, -Dbenchmark.warmUpIterations and
+ * -Dbenchmark.iterations.
+ */
+public final class Harness {
+
+	/**
+	 * Runs all benchmarks which are declared by the given class
+	 */
+	public static void run(Class<?> benchmarkClass) throws RunnerException {
+		run(newOptions(benchmarkClass));
+	}
+
+	/**
+	 * Runs all benchmarks which are declared by the given class with the
+	 * given values of the parameter
+	 */
+	public static void run(Class<?> benchmarkClass, String parameter,
+			String... values) throws RunnerException {
+		run(newOptions(benchmarkClass).param(parameter, values));
+	}
+
+	private static ChainedOptionsBuilder newOptions(Class<?> benchmarkClass) {
+		return new OptionsBuilder().include(
+				Pattern.quote(benchmarkClass.getName()) + "\\.")
+				.shouldFailOnError(true);
+	}
+
+	private static void run(ChainedOptionsBuilder options)
+			throws RunnerException {
+		Integer forks = Integer.getInteger("benchmark.forks");
+		if (forks != null) {
+			options.forks(forks);
+		}
+		Integer warmUpIterations = Integer
+				.getInteger("benchmark.warmUpIterations");
+		if (warmUpIterations != null) {
+			options.warmupIterations(warmUpIterations);
+		}
+		Integer iterations = Integer.getInteger("benchmark.iterations");
+		if (iterations != null) {
+			options.measurementIterations(iterations);
+		}
+		new Runner(options.build()).run();
+	}
+
+	/**
+	 * @return used heap (bytes) after garbage collection
+	 */
+	public static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	public static void print(String format, Object... args) {
+		System.out.println(String.format(format, args));
+	}
+
+	private Harness() {
+		super();
+	}
+}
@@ -0,0 +1,79 @@
+package com.github.arachnidium.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.Test;
+
+import com.github.arachnidium.core.WebDriverEncapsulation;
+
+/**
+ * The per-command overhead of each instrumentation profile. The raw driver
+ * is the baseline. The full-woven profile is measured only if
+ * arachnidium-core is built with -P aspectj-weaving.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstrumentationProfileBenchmark {
+
+	private static final String RAW = "raw";
+
+	@Param({ RAW, "off", "minimal", "standard", "full" })
+	private String profile;
+
+	private WebDriverEncapsulation session;
+	private WebDriver driver;
+	private WebElement element;
+
+	@Setup
+	public void setUp() {
+		if (RAW.equals(profile)) {
+			driver = new FakeDriver();
+		} else {
+			session = Sessions.newSession(profile, new FakeDriver());
+			driver = session.getWrappedDriver();
+		}
+		element = driver.findElement(By.id("element"));
+	}
+
+	@TearDown
+	public void tearDown() {
+		if (session != null) {
+			session.destroy();
+		}
+	}
+
+	@Benchmark
+	public String getTitle() {
+		return driver.getTitle();
+	}
+
+	@Benchmark
+	public void click() {
+		element.click();
+	}
+
+	@Test
+	public void run() throws RunnerException {
+		Harness.run(getClass(), "profile", Sessions.getAvailableProfiles(RAW));
+	}
+}
@@ -0,0 +1,89 @@
+package com.github.arachnidium.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.testng.annotations.Test;
+
+import com.github.arachnidium.core.BrowserWindow;
+import com.github.arachnidium.core.WebDriverEncapsulation;
+import com.github.arachnidium.model.browser.BrowserApplication;
+import com.github.arachnidium.model.browser.BrowserPage;
+import com.github.arachnidium.model.browser.WebFactory;
+
+/**
+ * The long-running application which gets parts in a loop: 10 iterations
+ * of 100 000 parts. Parts are not kept by the caller. Used heap is printed
+ * after garbage collection at the end of each iteration, it should not
+ * grow.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 10, batchSize = 100000)
+@Fork(1)
+public class PartLifecycleSoakBenchmark {
+
+	public static class SoakApplication extends BrowserApplication {
+		protected SoakApplication(BrowserWindow window) {
+			super(window);
+		}
+	}
+
+	public static class SoakPage extends BrowserPage {
+		protected SoakPage(BrowserWindow window) {
+			super(window);
+		}
+	}
+
+	private WebDriverEncapsulation session;
+	private SoakApplication application;
+	private long parts;
+
+	@Setup
+	public void setUp() {
+		session = Sessions.newSession("standard", new FakeDriver());
+		application = WebFactory.getApplication(SoakApplication.class,
+				session, FakeDriver.URL);
+		printHeap();
+	}
+
+	private void printHeap() {
+		Harness.print("%,d parts, used heap %,.1f MB", parts,
+				Harness.usedHeap() / 1048576.0);
+	}
+
+	@TearDown(Level.Iteration)
+	public void iterationIsDone() {
+		printHeap();
+	}
+
+	@TearDown
+	public void tearDown() {
+		session.destroy();
+	}
+
+	@Benchmark
+	public SoakPage getPart() {
+		parts++;
+		return application.getPart(SoakPage.class);
+	}
+
+	@Test
+	public void run() throws RunnerException {
+		Harness.run(getClass());
+	}
+}
@@ -0,0 +1,97 @@
+package com.github.arachnidium.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import net.sf.cglib.proxy.MethodInterceptor;
+import net.sf.cglib.proxy.MethodProxy;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.testng.annotations.Test;
+
+import com.github.arachnidium.util.proxy.CglibProxyBackend;
+import com.github.arachnidium.util.proxy.GeneratedProxyBackend;
+import com.github.arachnidium.util.proxy.IProxyBackend;
+
+/**
+ * Creation and per-call costs of proxies for each proxy backend
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProxyBackendBenchmark {
+
+	/**
+	 * It looks like page objects of the model
+	 */
+	public static class Page {
+		private final String name;
+
+		public Page(String name) {
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+	}
+
+	private static class SuperInterceptor implements MethodInterceptor {
+		@Override
+		public Object intercept(Object obj, Method method, Object[] args,
+				MethodProxy proxy) throws Throwable {
+			return proxy.invokeSuper(obj, args);
+		}
+	}
+
+	@Param({ CglibProxyBackend.NAME, GeneratedProxyBackend.NAME })
+	private String backendName;
+
+	private IProxyBackend backend;
+	private Page page;
+
+	@Setup
+	public void setUp() {
+		if (GeneratedProxyBackend.NAME.equals(backendName)) {
+			backend = new GeneratedProxyBackend();
+		} else {
+			backend = new CglibProxyBackend();
+		}
+		page = newPage();
+	}
+
+	private Page newPage() {
+		return backend.getProxy(Page.class, new Class<?>[] { String.class },
+				new Object[] { "page" },
+				new MethodInterceptor[] { new SuperInterceptor() });
+	}
+
+	@Benchmark
+	public Page creation() {
+		return newPage();
+	}
+
+	@Benchmark
+	public String call() {
+		return page.getName();
+	}
+
+	@Test
+	public void run() throws RunnerException {
+		Harness.run(getClass());
+	}
+}
@@ -0,0 +1,77 @@
+package com.github.arachnidium.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.testng.annotations.Test;
+
+import com.github.arachnidium.core.WebDriverEncapsulation;
+import com.github.arachnidium.util.configuration.Configuration;
+
+/**
+ * Creation of sessions on the fake driver with the default (full)
+ * instrumentation. The first session also initializes shared wiring, so it
+ * is measured in fresh JVMs separately. 100 sessions are created by a fresh
+ * JVM too, the next session is measured after warm-up.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SessionStartupBenchmark {
+
+	private static final int SESSIONS = 100;
+
+	private Configuration configuration;
+
+	@Setup
+	public void setUp() {
+		configuration = Sessions.getConfiguration("full");
+	}
+
+	private void newSession() {
+		new WebDriverEncapsulation(new FakeDriver(), configuration).destroy();
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@Warmup(iterations = 0)
+	@Measurement(iterations = 1)
+	@Fork(5)
+	public void firstSession() {
+		newSession();
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@Warmup(iterations = 0)
+	@Measurement(iterations = 1)
+	@Fork(5)
+	public void hundredSessions() {
+		for (int i = 0; i < SESSIONS; i++) {
+			newSession();
+		}
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@Warmup(iterations = 5, time = 1)
+	@Measurement(iterations = 5, time = 1)
+	@Fork(1)
+	public void nextSession() {
+		newSession();
+	}
+
+	@Test
+	public void run() throws RunnerException {
+		Harness.run(getClass());
+	}
+}
@@ -0,0 +1,85 @@
+package com.github.arachnidium.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+
+import com.github.arachnidium.core.WebDriverEncapsulation;
+import com.github.arachnidium.util.configuration.Configuration;
+import com.github.arachnidium.util.logging.Log;
+
+/**
+ * Sessions on {@link FakeDriver}. Configurations are in
+ * src/test/resources/configs. Screenshots are off and logging is limited to
+ * SEVERE, so the log output is not measured. The log level is common for all
+ * sessions, it is not taken from their configurations.
+ */
+final class Sessions {
+
+	static {
+		Log.resetLogLevel(Level.SEVERE);
+	}
+
+	/**
+	 * Instrumentation profiles and weaving modes which are compared
+	 */
+	static final String[] PROFILES = new String[] { "off", "minimal",
+			"standard", "full", "full-woven" };
+
+	static Configuration getConfiguration(String profile) {
+		return Configuration.get("src/test/resources/configs/" + profile
+				+ ".json");
+	}
+
+	static WebDriverEncapsulation newSession(String profile,
+			FakeDriver driver) {
+		return new WebDriverEncapsulation(driver, getConfiguration(profile));
+	}
+
+	/**
+	 * @return true if listeners are woven by AspectJ (the aspectj-weaving
+	 *         build profile of arachnidium-core)
+	 */
+	static boolean isWoven() {
+		try {
+			Class.forName("com.github.arachnidium.core.bean.WovenListeners")
+					.getMethod("aspectOf");
+			return true;
+		} catch (ReflectiveOperationException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * @return true if the profile can be measured by this build
+	 */
+	static boolean isAvailable(String profile) {
+		if (profile.endsWith("-woven") && !isWoven()) {
+			Harness.print("%-12s is skipped: arachnidium-core is not built "
+					+ "with -P aspectj-weaving", profile);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @param baselines are names which are measured without a session (e.g.
+	 *            the raw driver)
+	 * @return the given names and profiles which can be measured by this
+	 *         build
+	 */
+	static String[] getAvailableProfiles(String... baselines) {
+		List<String> result = new ArrayList<>(Arrays.asList(baselines));
+		for (String profile : PROFILES) {
+			if (isAvailable(profile)) {
+				result.add(profile);
+			}
+		}
+		return result.toArray(new String[] {});
+	}
+
+	private Sessions() {
+		super();
+	}
+}
@@ -0,0 +1,162 @@
+package com.github.arachnidium.core.bean;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.testng.annotations.Test;
+
+import com.github.arachnidium.benchmarks.Harness;
+
+/**
+ * Listener dispatch by {@link Method#invoke(Object, Object...)} (as it was
+ * done before) and by method handles which are cached by
+ * {@link ListenerDispatchTable} and {@link ListenerFanOut}. Listener methods
+ * of the aspect are invoked in turn by the same call site, as the dispatch
+ * table does for different commands. The fan-out sends
+ * each event to three listeners of different classes, as SPI listeners
+ * usually are.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListenerDispatchBenchmark {
+
+	/**
+	 * It looks like listener interfaces which are loaded by SPI
+	 */
+	public static interface Listener {
+		void beforeClick(Object element, Object driver);
+	}
+
+	public static class CountingListener implements Listener {
+		private long count;
+
+		@Override
+		public void beforeClick(Object element, Object driver) {
+			count++;
+		}
+	}
+
+	public static class HashingListener implements Listener {
+		private int hash;
+
+		@Override
+		public void beforeClick(Object element, Object driver) {
+			hash = 31 * hash + element.hashCode();
+		}
+	}
+
+	public static class RecordingListener implements Listener {
+		private Object last;
+
+		@Override
+		public void beforeClick(Object element, Object driver) {
+			last = element;
+		}
+	}
+
+	/**
+	 * It looks like aspects which declare listener methods
+	 */
+	static class TestAspect {
+		private long count;
+		private Object last;
+
+		void beforeClick(Object element, Object driver) {
+			count++;
+		}
+
+		void afterClick(Object element, Object driver) {
+			last = element;
+		}
+
+		void beforeSubmit(Object element, Object driver) {
+			count--;
+		}
+	}
+
+	private static final String[] LISTENER_METHODS = new String[] {
+			"beforeClick", "afterClick", "beforeSubmit" };
+
+	private final Object[] args = new Object[] { "element", "driver" };
+	private TestAspect aspect;
+	private final Method[] listenerMethods = new Method[LISTENER_METHODS.length];
+	private final MethodHandle[] listenerHandles = new MethodHandle[LISTENER_METHODS.length];
+	private int next;
+	private Listener reflectiveFanOut;
+	private Listener fanOut;
+
+	@Setup
+	public void setUp() throws NoSuchMethodException {
+		aspect = new TestAspect();
+		for (int i = 0; i < LISTENER_METHODS.length; i++) {
+			listenerMethods[i] = TestAspect.class.getDeclaredMethod(
+					LISTENER_METHODS[i], Object.class, Object.class);
+			listenerMethods[i].setAccessible(true);
+			listenerHandles[i] = ListenerDispatchTable
+					.getHandle(listenerMethods[i]);
+		}
+
+		List<Listener> listeners = Arrays.asList(new CountingListener(),
+				new HashingListener(), new RecordingListener());
+		reflectiveFanOut = (Listener) Proxy.newProxyInstance(
+				Listener.class.getClassLoader(),
+				new Class<?>[] { Listener.class },
+				(proxy, method, values) -> {
+					for (Listener listener : listeners) {
+						method.invoke(listener, values);
+					}
+					return null;
+				});
+		fanOut = ListenerFanOut.create(Listener.class, listeners);
+	}
+
+	private int nextListenerMethod() {
+		next = (next + 1) % LISTENER_METHODS.length;
+		return next;
+	}
+
+	@Benchmark
+	public Object aspectMethodInvoke() throws ReflectiveOperationException {
+		return listenerMethods[nextListenerMethod()].invoke(aspect, args);
+	}
+
+	@Benchmark
+	public Object aspectMethodHandle() throws Throwable {
+		return (Object) listenerHandles[nextListenerMethod()].invokeExact(
+				(Object) aspect, args);
+	}
+
+	@Benchmark
+	public void fanOutMethodInvoke() {
+		reflectiveFanOut.beforeClick(args[0], args[1]);
+	}
+
+	@Benchmark
+	public void fanOutMethodHandles() {
+		fanOut.beforeClick(args[0], args[1]);
+	}
+
+	@Test
+	public void run() throws RunnerException {
+		Harness.run(getClass());
+	}
+}
@@ -0,0 +1,116 @@
+package com.github.arachnidium.core.components;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import net.sf.cglib.proxy.MethodProxy;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.Test;
+
+import com.github.arachnidium.benchmarks.Harness;
+import com.github.arachnidium.util.proxy.DefaultInterceptor;
+import com.github.arachnidium.util.proxy.EnhancedProxyFactory;
+
+/**
+ * The overhead of the component call. The delegate method is cheap, so
+ * only the interception is measured: the delegate method which is looked up
+ * and invoked by reflection on each call (as {@link ComponentInterceptor}
+ * did before) against the cached method handle.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComponentCallBenchmark {
+
+	public static interface Counter {
+		long add(long value);
+	}
+
+	public static class CounterDelegate implements Counter {
+		private long total;
+
+		@Override
+		public long add(long value) {
+			total += value;
+			return total;
+		}
+	}
+
+	/**
+	 * It delegates calls as components of the framework do
+	 */
+	public static abstract class CounterComponent extends WebdriverComponent
+			implements Counter {
+		public CounterComponent(WebDriver driver) {
+			super(driver);
+			delegate = new CounterDelegate();
+		}
+	}
+
+	/**
+	 * The interceptor as it was before delegate methods were cached
+	 */
+	private static class ReflectiveComponentInterceptor extends
+			DefaultInterceptor {
+		@Override
+		public Object intercept(Object obj, Method method, Object[] args,
+				MethodProxy proxy) throws Throwable {
+			Object realObject = ((WebdriverComponent) obj).delegate;
+			Method realMethod = realObject.getClass().getMethod(
+					method.getName(), method.getParameterTypes());
+			if (obj.getClass().equals(realObject.getClass())) {
+				return super.intercept(realObject, method, args, proxy);
+			} else {
+				return realMethod.invoke(realObject, args);
+			}
+		}
+	}
+
+	private Counter direct;
+	private Counter reflective;
+	private Counter cached;
+
+	@Setup
+	public void setUp() {
+		direct = new CounterDelegate();
+		reflective = EnhancedProxyFactory.getProxy(CounterComponent.class,
+				new Class<?>[] { WebDriver.class }, new Object[] { null },
+				new ReflectiveComponentInterceptor());
+		cached = ComponentFactory.getComponent(CounterComponent.class, null);
+	}
+
+	@Benchmark
+	public long directCall() {
+		return direct.add(1);
+	}
+
+	@Benchmark
+	public long reflectiveDelegate() {
+		return reflective.add(1);
+	}
+
+	@Benchmark
+	public long cachedDelegateHandle() {
+		return cached.add(1);
+	}
+
+	@Test
+	public void run() throws RunnerException {
+		Harness.run(getClass());
+	}
+}
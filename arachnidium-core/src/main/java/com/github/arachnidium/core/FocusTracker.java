@@ -0,0 +1,290 @@
+package com.github.arachnidium.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.ContextAware;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriver.Navigation;
+import org.openqa.selenium.WebDriver.TargetLocator;
+
+/**
+ * Keeps the focus of the one session: the current window handle, the current
+ * mobile context and the path of frames which the driver is switched to.
+ *
+ * It is kept up to date by the listener of {@link WebDriver} commands. So
+ * switching to the {@link Handle} or frames can be skipped when the driver is
+ * already focused there. If commands are not listened to (see the
+ * instrumentation profile) the focus is always unknown and nothing is
+ * skipped.
+ *
+ * The frame path is known only when it is declared by
+ * {@link #framesAreEntered(Handle, List)}. Commands which can change the page
+ * (clicks, scripts and so on) make it unknown until the next switching. The
+ * top level document is not changed by these commands, so the empty path
+ * remains known.
+ *
+ * Each navigation, refreshing and switching to another window or context
+ * starts a new generation of documents. Elements which are found inside the
+ * same generation and frame path can be reused (see
+ * {@link #getDocumentState()}).
+ *
+ * Each window has a version which is changed by commands which can change
+ * the page of the window (see {@link #getWindowVersion(String)}).
+ */
+public final class FocusTracker {
+
+	private static final List<Object> TOP_LEVEL = Collections.emptyList();
+
+	/**
+	 * The generation of documents and the frame path
+	 */
+	private static final class DocumentState {
+		private final long generation;
+		private final List<Object> framePath;
+
+		private DocumentState(long generation, List<Object> framePath) {
+			this.generation = generation;
+			this.framePath = framePath;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof DocumentState)) {
+				return false;
+			}
+			DocumentState state = (DocumentState) o;
+			return generation == state.generation
+					&& framePath.equals(state.framePath);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * Long.hashCode(generation) + framePath.hashCode();
+		}
+	}
+
+	private final boolean enabled;
+	private String window;
+	private String context;
+	// null means that the frame path is unknown
+	private List<Object> framePath;
+	private long generation;
+	// the last change of each window
+	private final Map<String, Long> windowVersions = new HashMap<>();
+	private long changeCount;
+	// versions which are less are out of date
+	private long minWindowVersion;
+
+	/**
+	 * @param enabled is false if the focus is not known. The disabled tracker
+	 *            ignores commands and all its checks are false
+	 */
+	public FocusTracker(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	private static boolean isReadOnly(String command) {
+		return command.startsWith("get") || command.startsWith("is")
+				|| command.startsWith("find") || command.equals("switchTo")
+				|| command.equals("manage") || command.equals("navigate")
+				|| command.equals("toString") || command.equals("hashCode")
+				|| command.equals("equals");
+	}
+
+	private String getCurrent(Handle handle) {
+		if (handle instanceof MobileScreen) {
+			return context;
+		}
+		return window;
+	}
+
+	/**
+	 * @param handle is a browser window or a mobile context
+	 * @param framePath is the path of frames inside the given {@link Handle}
+	 * @return true if the driver is focused on the given {@link Handle} and
+	 *         frame
+	 */
+	public synchronized boolean isOn(Handle handle, List<Object> framePath) {
+		if (!enabled) {
+			return false;
+		}
+		return handle.getHandle().equals(getCurrent(handle))
+				&& framePath.equals(this.framePath);
+	}
+
+	/**
+	 * @param handle is a browser window or a mobile context
+	 * @return The path of frames which the driver is switched to inside the
+	 *         given {@link Handle}. It is empty if the driver is on the top
+	 *         level document. <br/>
+	 *         <br/>
+	 *         <code>null</code> if the driver is not focused on the given
+	 *         {@link Handle} or the frame path is unknown
+	 */
+	public synchronized List<Object> getFramePath(Handle handle) {
+		if (!enabled || framePath == null
+				|| !handle.getHandle().equals(getCurrent(handle))) {
+			return null;
+		}
+		return new ArrayList<>(framePath);
+	}
+
+	/**
+	 * @return The state of the document which the driver is focused on. States
+	 *         are equal while the driver stays inside the same generation of
+	 *         documents and the same frame path. So an element which is found
+	 *         at some state can be reused while the current state is equal to
+	 *         it. <br/>
+	 *         <br/>
+	 *         <code>null</code> if the frame path is unknown
+	 */
+	public synchronized Object getDocumentState() {
+		if (!enabled || framePath == null) {
+			return null;
+		}
+		return new DocumentState(generation, new ArrayList<>(framePath));
+	}
+
+	/**
+	 * @param window is a window handle
+	 * @return The version of the window. It is changed when a command which
+	 *         can change the page of the window (navigation, clicks, scripts
+	 *         and so on) is performed. So information which is read from the
+	 *         window is up to date while the version is the same. <br/>
+	 *         <br/>
+	 *         <code>null</code> if commands are not listened to
+	 */
+	public synchronized Long getWindowVersion(String window) {
+		if (!enabled) {
+			return null;
+		}
+		return Math.max(windowVersions.getOrDefault(window, 0L),
+				minWindowVersion);
+	}
+
+	private void windowIsChanged(String window) {
+		changeCount++;
+		if (window == null) {
+			// the window is unknown, so all windows are considered as changed
+			minWindowVersion = changeCount;
+			return;
+		}
+		windowVersions.put(window, changeCount);
+	}
+
+	/**
+	 * @param window is a window handle
+	 * @return true if the driver is focused on the top level document of the
+	 *         given window
+	 */
+	public synchronized boolean isOnWindow(String window) {
+		return enabled && window.equals(this.window)
+				&& TOP_LEVEL.equals(framePath);
+	}
+
+	synchronized boolean isInContext(String context) {
+		return enabled && context.equals(this.context)
+				&& TOP_LEVEL.equals(framePath);
+	}
+
+	/**
+	 * Declares the frame path which the driver has been switched to
+	 *
+	 * @param handle is a browser window or a mobile context which contains
+	 *            frames
+	 * @param framePath is the path of frames from the top level document
+	 */
+	public synchronized void framesAreEntered(Handle handle,
+			List<Object> framePath) {
+		if (handle.getHandle().equals(getCurrent(handle))) {
+			this.framePath = new ArrayList<>(framePath);
+		}
+	}
+
+	/**
+	 * Is invoked when a command is performed successfully
+	 *
+	 * @param target is the object which performs the command
+	 * @param command is the name of the performed method
+	 * @param args are parameters of the performed method
+	 */
+	public synchronized void commandIsPerformed(Object target, String command,
+			Object[] args) {
+		if (target instanceof TargetLocator) {
+			switch (command) {
+			case "window":
+				String newWindow = String.valueOf(args[0]);
+				if (!newWindow.equals(window)) {
+					window = newWindow;
+					generation++;
+				}
+				framePath = TOP_LEVEL;
+				return;
+			case "defaultContent":
+				framePath = TOP_LEVEL;
+				return;
+			case "frame":
+			case "parentFrame":
+				framePath = null;
+				return;
+			default:
+				return;
+			}
+		}
+		if (target instanceof ContextAware && command.equals("context")) {
+			String newContext = String.valueOf(args[0]);
+			if (!newContext.equals(context)) {
+				context = newContext;
+				generation++;
+			}
+			framePath = TOP_LEVEL;
+			return;
+		}
+		if ((target instanceof WebDriver && command.equals("get"))
+				|| target instanceof Navigation) {
+			framePath = TOP_LEVEL;
+			generation++;
+			windowIsChanged(window);
+			return;
+		}
+		if (target instanceof WebDriver && command.equals("close")) {
+			if (window != null) {
+				windowVersions.remove(window);
+			}
+			window = null;
+			framePath = null;
+			generation++;
+			return;
+		}
+		if (isReadOnly(command)) {
+			return;
+		}
+		windowIsChanged(window);
+		if (!TOP_LEVEL.equals(framePath)) {
+			framePath = null;
+		}
+	}
+
+	/**
+	 * Is invoked when a command is failed
+	 *
+	 * @param t is the thrown exception
+	 */
+	public synchronized void commandIsFailed(Throwable t) {
+		// the failed command could change something
+		windowIsChanged(null);
+		if (t instanceof NoSuchWindowException) {
+			window = null;
+			framePath = null;
+			generation++;
+		}
+		if (!TOP_LEVEL.equals(framePath)) {
+			framePath = null;
+		}
+	}
+}
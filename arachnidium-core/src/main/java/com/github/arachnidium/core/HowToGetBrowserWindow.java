@@ -1,14 +1,25 @@
 package com.github.arachnidium.core;
 
 import java.util.List;
+import java.util.regex.Pattern;
 
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+import com.github.arachnidium.core.fluenthandle.FluentWindowWaiting;
 import com.github.arachnidium.core.fluenthandle.HowToGetHandle;
+import com.github.arachnidium.core.fluenthandle.IFluentHandleWaiting;
 import com.github.arachnidium.core.interfaces.ICloneable;
 
 /**
  * Strategy of a browser window receiving
+ *
+ * The title and URLs are compiled once when they are set. Compiled patterns
+ * are shared by clones.
  */
 public class HowToGetBrowserWindow extends HowToGetHandle implements ICloneable {
+
+	private Pattern titlePattern;
+	private List<Pattern> urlPatterns;
 	
 	/**
 	 * @param expected window index
@@ -29,6 +40,8 @@ public class HowToGetBrowserWindow extends HowToGetHandle implements ICloneable
 	@Override
 	public void setExpected(String titleRegExp) {
 		super.setExpected(titleRegExp);
+		titlePattern = titleRegExp == null ? null : Pattern
+				.compile(titleRegExp);
 	}
 
 	/**
@@ -40,6 +53,25 @@ public class HowToGetBrowserWindow extends HowToGetHandle implements ICloneable
 	@Override
 	public void setExpected(List<String> urlsRegExps) {
 		super.setExpected(urlsRegExps);
+		urlPatterns = urlsRegExps == null ? null : FluentWindowWaiting
+				.compile(urlsRegExps);
+	}
+
+	/**
+	 * Precompiled patterns are used if the given waiting is
+	 * {@link FluentWindowWaiting}
+	 *
+	 * @see com.github.arachnidium.core.fluenthandle.HowToGetHandle#getExpectedCondition(com.github.arachnidium.core.fluenthandle.IFluentHandleWaiting)
+	 */
+	@Override
+	public ExpectedCondition<String> getExpectedCondition(
+			IFluentHandleWaiting fluentHandleWaiting) {
+		if (!(fluentHandleWaiting instanceof FluentWindowWaiting)
+				|| (index == null && titlePattern == null && urlPatterns == null)) {
+			return super.getExpectedCondition(fluentHandleWaiting);
+		}
+		return ((FluentWindowWaiting) fluentHandleWaiting).getHandle(index,
+				titlePattern, urlPatterns);
 	}
 	
 	@Override
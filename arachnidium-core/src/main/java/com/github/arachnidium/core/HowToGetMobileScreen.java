@@ -1,14 +1,25 @@
 package com.github.arachnidium.core;
 
 import java.util.List;
+import java.util.regex.Pattern;
 
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+import com.github.arachnidium.core.fluenthandle.FluentScreenWaiting;
+import com.github.arachnidium.core.fluenthandle.FluentWindowWaiting;
 import com.github.arachnidium.core.fluenthandle.HowToGetHandle;
+import com.github.arachnidium.core.fluenthandle.IFluentHandleWaiting;
 import com.github.arachnidium.core.interfaces.ICloneable;
 
 /**
  * Strategy of a mobile context/screen receiving
+ * 
+ * Regular expressions are compiled when they are set. Clones share compiled
+ * patterns.
  */
 public class HowToGetMobileScreen extends HowToGetHandle implements ICloneable{
+	private Pattern contextPattern;
+	private List<Pattern> activityPatterns;
 	
 	/**
 	 * @param expected context index
@@ -29,6 +40,8 @@ public class HowToGetMobileScreen extends HowToGetHandle implements ICloneable{
 	@Override
 	public void setExpected(String contextRegExp) {
 		super.setExpected(contextRegExp);
+		contextPattern = contextRegExp == null ? null : Pattern
+				.compile(contextRegExp);
 	}
 
 	/**
@@ -42,6 +55,24 @@ public class HowToGetMobileScreen extends HowToGetHandle implements ICloneable{
 	@Override
 	public void setExpected(List<String> activitiesRegExps) {
 		super.setExpected(activitiesRegExps);
+		activityPatterns = activitiesRegExps == null ? null
+				: FluentWindowWaiting.compile(activitiesRegExps);
+	}
+
+	/**
+	 * Compiled patterns are passed to {@link FluentScreenWaiting}
+	 * 
+	 * @see com.github.arachnidium.core.fluenthandle.HowToGetHandle#getExpectedCondition(com.github.arachnidium.core.fluenthandle.IFluentHandleWaiting)
+	 */
+	@Override
+	public ExpectedCondition<String> getExpectedCondition(
+			IFluentHandleWaiting fluentHandleWaiting) {
+		if (!(fluentHandleWaiting instanceof FluentScreenWaiting)
+				|| (index == null && contextPattern == null && activityPatterns == null)) {
+			return super.getExpectedCondition(fluentHandleWaiting);
+		}
+		return ((FluentScreenWaiting) fluentHandleWaiting).getHandle(index,
+				contextPattern, activityPatterns);
 	}
 	
 	@Override
@@ -12,7 +12,6 @@ import com.github.arachnidium.util.logging.Photographer;
 import org.openqa.selenium.Alert;
 import org.openqa.selenium.NoAlertPresentException;
 import org.openqa.selenium.WebDriver;
-import org.springframework.context.annotation.Bean;
 
 import com.github.arachnidium.core.components.common.AlertHandler;
 import com.github.arachnidium.core.components.common.Awaiting;
@@ -268,12 +267,11 @@ public abstract class Manager<U extends IHowToGetHandle> implements IDestroyable
 	 * that there it is a new object
 	 * 
 	 * @param handle instantiated {@link Handle}
-	 * @param beanName Is a name of the {@link Bean}
 	 * @return listenable {@link Handle} instance
 	 */
 	@SuppressWarnings("unchecked")
-	<T extends Handle> T returnNewCreatedListenableHandle(Handle handle, String beanName){
-		T result = (T) driverEncapsulation.context.getBean(beanName, handle);
+	<T extends Handle> T returnNewCreatedListenableHandle(Handle handle){
+		T result = (T) driverEncapsulation.wiring.getListenable(handle);
 		result.whenIsCreated();
 		getHandleReceptionist().addKnown(result);
 		return result;
@@ -9,7 +9,6 @@ import org.openqa.selenium.NoSuchContextException;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 
-import com.github.arachnidium.core.bean.MainBeanConfiguration;
 import com.github.arachnidium.core.components.mobile.ContextTool;
 import com.github.arachnidium.core.fluenthandle.FluentScreenWaiting;
 
@@ -35,6 +34,9 @@ public final class ScreenManager extends Manager<HowToGetMobileScreen> {
 	 */
 	@Override
 	void changeActive(String context) throws NoSuchContextException {
+		if (getWebDriverEncapsulation().getFocusTracker().isInContext(context)) {
+			return; // the driver is already focused on the context
+		}
 		contextTool.context(context);
 	}
 
@@ -97,8 +99,7 @@ public final class ScreenManager extends Manager<HowToGetMobileScreen> {
 		if (initedContext != null)
 			return initedContext;
 		MobileScreen context = new MobileScreen(handle, this);
-		return returnNewCreatedListenableHandle(context,
-				MainBeanConfiguration.MOBILE_CONTEXT_BEAN);
+		return returnNewCreatedListenableHandle(context);
 	}
 
 	@Override
@@ -127,8 +128,7 @@ public final class ScreenManager extends Manager<HowToGetMobileScreen> {
 		if (initedContext != null)
 			return initedContext;
 		MobileScreen context = new MobileScreen(handle, this);
-		return returnNewCreatedListenableHandle(context,
-				MainBeanConfiguration.MOBILE_CONTEXT_BEAN);
+		return returnNewCreatedListenableHandle(context);
 	}
 
 	/**
@@ -17,7 +17,11 @@
 
 package com.github.arachnidium.core;
 
+import java.lang.reflect.InvocationTargetException;
 import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import com.github.arachnidium.util.configuration.Configuration;
 import com.github.arachnidium.util.configuration.interfaces.IConfigurable;
@@ -30,16 +34,18 @@ import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.internal.WrapsDriver;
 import org.openqa.selenium.remote.DesiredCapabilities;
 import org.openqa.selenium.remote.RemoteWebDriver;
-import org.springframework.context.annotation.AnnotationConfigApplicationContext;
-import org.springframework.context.support.AbstractApplicationContext;
 
-import com.github.arachnidium.core.bean.MainBeanConfiguration;
-import com.github.arachnidium.core.components.ComponentFactory;
+import com.github.arachnidium.core.bean.SessionWiring;
+import com.github.arachnidium.core.components.ComponentRegistry;
 import com.github.arachnidium.core.components.WebdriverComponent;
 import com.github.arachnidium.core.components.common.TimeOut;
+import com.github.arachnidium.core.highlighting.IWebElementHighlighter;
+import com.github.arachnidium.core.highlighting.WebElementHighLighter;
 import com.github.arachnidium.core.interfaces.IDestroyable;
 import com.github.arachnidium.core.settings.CapabilitySettings;
+import com.github.arachnidium.core.settings.Instrumentation;
 import com.github.arachnidium.core.settings.WebDriverSettings;
+import com.github.arachnidium.core.settings.supported.EInstrumentationProfiles;
 import com.github.arachnidium.core.settings.supported.ESupportedDrivers;
 
 /**
@@ -57,12 +63,17 @@ public class WebDriverEncapsulation implements IDestroyable, IConfigurable,
 	}
 
 	private RemoteWebDriver enclosedDriver;
+	private RemoteWebDriver rawDriver;
 
 	private Configuration configuration = Configuration.byDefault;
-	final AbstractApplicationContext context = new AnnotationConfigApplicationContext(
-			MainBeanConfiguration.class);
+	SessionWiring wiring;
 	private final DestroyableObjects destroyableObjects = new DestroyableObjects();
 	private TimeOut timeOut;
+	private ComponentRegistry components;
+	private EInstrumentationProfiles instrumentationProfile;
+	private FocusTracker focusTracker;
+	private final WebElementHighLighter highlighter = new WebElementHighLighter();
+	private final Map<Class<?>, Object> sessionObjects = new ConcurrentHashMap<>();
 	
 	/**
 	 * Creates and wraps an instance of {@link RemoteWebDriver} by the given
@@ -201,9 +212,8 @@ public class WebDriverEncapsulation implements IDestroyable, IConfigurable,
 	public WebDriverEncapsulation(RemoteWebDriver explicitlyInitiatedWebDriver,
 			Configuration configuration) {
 		this.configuration = configuration;
-		enclosedDriver = (RemoteWebDriver) context.getBean(
-				MainBeanConfiguration.WEBDRIVER_BEAN, context, this,
-				destroyableObjects, explicitlyInitiatedWebDriver);
+		enclosedDriver = wrap(explicitlyInitiatedWebDriver);
+		components = new ComponentRegistry(enclosedDriver);
 		Log.message("Getting started with already instantiated "
 				+ explicitlyInitiatedWebDriver.getClass());
 		timeOut = getComponent(TimeOut.class);
@@ -237,9 +247,8 @@ public class WebDriverEncapsulation implements IDestroyable, IConfigurable,
 	private void createWebDriver(Class<? extends WebDriver> driverClass,
 			Class<?>[] paramClasses, Object[] values) {
 		try {
-			enclosedDriver = (RemoteWebDriver) context.getBean(
-					MainBeanConfiguration.WEBDRIVER_BEAN, context, this,
-					destroyableObjects, driverClass, paramClasses, values);
+			enclosedDriver = wrap(instantiate(driverClass, paramClasses, values));
+			components = new ComponentRegistry(enclosedDriver);
 			Log.message("Getting started with " + driverClass.getSimpleName());
 			timeOut = getComponent(TimeOut.class);
 			resetAccordingTo(configuration);
@@ -252,6 +261,35 @@ public class WebDriverEncapsulation implements IDestroyable, IConfigurable,
 		}
 	}
 
+	// the raw driver is used when the instrumentation is off
+	private RemoteWebDriver wrap(RemoteWebDriver driver) {
+		rawDriver = driver;
+		instrumentationProfile = configuration.getSection(
+				Instrumentation.class).getProfile();
+		// the focus is known only if results of commands (e.g. TargetLocator)
+		// are listened to
+		focusTracker = new FocusTracker(
+				instrumentationProfile.areResultsListenable());
+		wiring = new SessionWiring(this, destroyableObjects, focusTracker,
+				highlighter);
+		if (!instrumentationProfile.isDriverListenable())
+			return driver;
+		return wiring.getWebdriver(driver);
+	}
+
+	private static RemoteWebDriver instantiate(
+			Class<? extends WebDriver> driverClass, Class<?>[] paramClasses,
+			Object[] values) {
+		try {
+			return (RemoteWebDriver) driverClass.getConstructor(paramClasses)
+					.newInstance(values);
+		} catch (NoSuchMethodException | SecurityException
+				| InstantiationException | IllegalAccessException
+				| IllegalArgumentException | InvocationTargetException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
 	/**
 	 * Attempts to shut down {@link RemoteWebDriver} and destroys all related
 	 * information
@@ -260,6 +298,10 @@ public class WebDriverEncapsulation implements IDestroyable, IConfigurable,
 	public void destroy() {
 		if (enclosedDriver == null)
 			return;
+		// related objects are destroyed by the listener
+		// when the driver is listenable
+		if (!instrumentationProfile.isDriverListenable())
+			destroyableObjects.destroy();
 		try {
 			enclosedDriver.quit();
 		} catch (WebDriverException e) { // it may be already dead
@@ -280,7 +322,8 @@ public class WebDriverEncapsulation implements IDestroyable, IConfigurable,
 	 * @return The instance of required {@link WebdriverComponent} subclass
 	 */
 	public <T extends WebdriverComponent> T getComponent(Class<T> required) {
-		return ComponentFactory.getComponent(required, enclosedDriver);
+		return components.getComponent(required, new Class<?>[] {},
+				new Object[] {});
 	}
 
 	/**
@@ -299,8 +342,7 @@ public class WebDriverEncapsulation implements IDestroyable, IConfigurable,
 	 */
 	public <T extends WebdriverComponent> T getComponent(Class<T> required,
 			Class<?>[] params, Object[] values) {
-		return ComponentFactory.getComponent(required, enclosedDriver, params,
-				values);
+		return components.getComponent(required, params, values);
 	}
 
 	/**
@@ -321,6 +363,7 @@ public class WebDriverEncapsulation implements IDestroyable, IConfigurable,
 	public synchronized void resetAccordingTo(Configuration config) {
 		configuration = config;
 		timeOut.resetAccordingTo(configuration);
+		highlighter.resetAccordingTo(configuration);
 	}
 
 	/**
@@ -336,4 +379,41 @@ public class WebDriverEncapsulation implements IDestroyable, IConfigurable,
 	public TimeOut getTimeOut(){
 		return timeOut;
 	}
+
+	// commands of the raw driver are not listened to.
+	// It is the same as the wrapped one when classes are woven
+	RemoteWebDriver getRawDriver() {
+		return rawDriver;
+	}
+
+	/**
+	 * @return {@link FocusTracker} of the session
+	 */
+	public FocusTracker getFocusTracker() {
+		return focusTracker;
+	}
+
+	/**
+	 * @return {@link IWebElementHighlighter} of the session. It is configured
+	 *         by the current {@link Configuration}
+	 */
+	public IWebElementHighlighter getHighlighter() {
+		return highlighter;
+	}
+
+	/**
+	 * Returns the object which is created once per session. Modules which
+	 * are built on the session (e.g. the model of the application) keep their
+	 * per-session objects here, so these objects live as long as the session.
+	 * 
+	 * @param type is the class of the object
+	 * @param factory creates the object when it is required for the first
+	 *            time
+	 * @return The object of the session
+	 */
+	public <T> T getSessionObject(Class<T> type,
+			Function<WebDriverEncapsulation, ? extends T> factory) {
+		return type.cast(sessionObjects.computeIfAbsent(type,
+				(key) -> factory.apply(this)));
+	}
 }
\ No newline at end of file
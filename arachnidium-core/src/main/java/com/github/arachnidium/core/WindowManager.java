@@ -10,7 +10,6 @@ import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.remote.UnreachableBrowserException;
 import org.openqa.selenium.support.ui.ExpectedCondition;
 
-import com.github.arachnidium.core.bean.MainBeanConfiguration;
 import com.github.arachnidium.core.fluenthandle.FluentWindowWaiting;
 import com.github.arachnidium.core.settings.WindowIsClosedTimeOut;
 
@@ -20,7 +19,9 @@ public final class WindowManager extends Manager<HowToGetBrowserWindow> {
 	
 	public WindowManager(WebDriverEncapsulation initialDriverEncapsulation) {
 		super(initialDriverEncapsulation);
-		handleWaiting = new FluentWindowWaiting();
+		handleWaiting = new FluentWindowWaiting(
+				initialDriverEncapsulation.getFocusTracker(),
+				initialDriverEncapsulation.getRawDriver());
 	}
 
 	/**
@@ -30,6 +31,9 @@ public final class WindowManager extends Manager<HowToGetBrowserWindow> {
 	@Override
 	void changeActive(String handle) throws NoSuchWindowException,
 			UnhandledAlertException {
+		if (getWebDriverEncapsulation().getFocusTracker().isOnWindow(handle)) {
+			return; // the driver is already focused on the window
+		}
 		Set<String> handles = getHandles();
 		if (!handles.contains(handle))
 			throw new NoSuchWindowException("There is no window with handle "
@@ -143,8 +147,7 @@ public final class WindowManager extends Manager<HowToGetBrowserWindow> {
 		}
 		BrowserWindow window = new BrowserWindow(getStringHandle(timeOut,
 				howToGet), this);
-		return returnNewCreatedListenableHandle(window,
-				MainBeanConfiguration.WINDOW_BEAN);
+		return returnNewCreatedListenableHandle(window);
 	}
 
 	/**
@@ -212,8 +215,7 @@ public final class WindowManager extends Manager<HowToGetBrowserWindow> {
 		if (initedWindow != null)
 			return initedWindow;
 		BrowserWindow window = new BrowserWindow(handle, this);
-		return returnNewCreatedListenableHandle(window,
-				MainBeanConfiguration.WINDOW_BEAN);
+		return returnNewCreatedListenableHandle(window);
 	}
 
 	/**
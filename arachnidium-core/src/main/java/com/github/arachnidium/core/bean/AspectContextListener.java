@@ -2,8 +2,6 @@ package com.github.arachnidium.core.bean;
 
 import io.appium.java_client.android.AndroidDriver;
 
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -32,6 +30,9 @@ import com.github.arachnidium.core.settings.ScreenShots;
 public class AspectContextListener extends DefaultHandleListener implements
 		IContextListener {
 
+	static final String POINTCUT_VALUE = "execution(* com.github.arachnidium.core.interfaces.IHasHandle.*(..)) || "
+			+ "execution(* com.github.arachnidium.core.interfaces.ISwitchesToItself.*(..)) || "
+			+ "execution(* org.openqa.selenium.Rotatable.*(..))";
 	private final List<IContextListener> contextEventListeners = new ArrayList<IContextListener>() {
 		private static final long serialVersionUID = 1L;
 		{ // SPI
@@ -41,26 +42,17 @@ public class AspectContextListener extends DefaultHandleListener implements
 				add((IContextListener) providers.next());
 		}
 	};
-	private final InvocationHandler contextListenerInvocationHandler = (proxy,
-			method, args) -> {
-		contextEventListeners.forEach((eventListener) -> {
-			try {
-				method.invoke(eventListener, args);
-			} catch (Exception e) {
-				throw new RuntimeException(e);
-			}
-			;
-		});
-		return null;
-	};
-
-	private final IContextListener contextListenerProxy = (IContextListener) Proxy
-			.newProxyInstance(IContextListener.class.getClassLoader(),
-					new Class[] { IContextListener.class },
-					contextListenerInvocationHandler);
+	private final IContextListener contextListenerProxy;
 
 	public AspectContextListener(IConfigurationWrapper configurationWrapper) {
+		this(configurationWrapper, null);
+	}
+
+	AspectContextListener(IConfigurationWrapper configurationWrapper,
+			ListenerEventBus eventBus) {
 		super(configurationWrapper);
+		contextListenerProxy = ListenerFanOut.create(IContextListener.class,
+				contextEventListeners, eventBus);
 	}
 
 	/**
@@ -121,9 +113,7 @@ public class AspectContextListener extends DefaultHandleListener implements
 	 *      doAround(org.aspectj.lang.ProceedingJoinPoint)
 	 */
 	@Override
-	@Around("execution(* com.github.arachnidium.core.interfaces.IHasHandle.*(..)) || "
-			+ "execution(* com.github.arachnidium.core.interfaces.ISwitchesToItself.*(..)) || "
-			+ "execution(* org.openqa.selenium.Rotatable.*(..))")
+	@Around(POINTCUT_VALUE)
 	public Object doAround(ProceedingJoinPoint point) throws Throwable {
 		launchMethod(point, this, WhenLaunch.BEFORE);
 		Object result = null;
@@ -7,14 +7,15 @@ import io.appium.java_client.android.AndroidElement;
 import io.appium.java_client.ios.IOSDriver;
 import io.appium.java_client.ios.IOSElement;
 
-import java.lang.reflect.Proxy;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ServiceLoader;
 
 import com.github.arachnidium.util.configuration.interfaces.IConfigurationWrapper;
 import com.github.arachnidium.util.logging.Log;
+import com.github.arachnidium.util.logging.eAvailableLevels;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
@@ -23,30 +24,33 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.ContextAware;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebDriver.Navigation;
 import org.openqa.selenium.WebDriver.Options;
 import org.openqa.selenium.WebDriver.TargetLocator;
 import org.openqa.selenium.WebElement;
-import org.springframework.context.support.AbstractApplicationContext;
+import org.openqa.selenium.internal.WrapsElement;
 
+import com.github.arachnidium.core.FocusTracker;
 import com.github.arachnidium.core.eventlisteners.IWebDriverEventListener;
 import com.github.arachnidium.core.highlighting.IWebElementHighlighter;
-import com.github.arachnidium.core.highlighting.WebElementHighLighter;
 import com.github.arachnidium.core.interfaces.IDestroyable;
+import com.github.arachnidium.core.settings.Instrumentation;
+import com.github.arachnidium.core.settings.supported.EInstrumentationProfiles;
 
 @Aspect
 class AspectWebDriverEventListener extends AbstractAspect implements
 		IWebDriverEventListener {
 
 	private static enum HowToHighLightElement {
-		INFO {
+		INFO(eAvailableLevels.INFO) {
 			@Override
 			void highLight(IWebElementHighlighter highlighter,
 					WebDriver driver, WebElement element, String message) {
 				highlighter.highlightAsInfo(driver, element, message);
 			}
 		},
-		DEBUG {
+		DEBUG(eAvailableLevels.FINE) {
 			@Override
 			void highLight(IWebElementHighlighter highlighter,
 					WebDriver driver, WebElement element, String message) {
@@ -54,12 +58,26 @@ class AspectWebDriverEventListener extends AbstractAspect implements
 			}
 		};
 
+		private final eAvailableLevels level;
+
+		private HowToHighLightElement(eAvailableLevels level) {
+			this.level = level;
+		}
+
 		void highLight(IWebElementHighlighter highlighter, WebDriver driver,
 				WebElement element, String message) {
 			// does nothing
 		}
 	}
 
+	/**
+	 * Returns tag name, id, name and text of the element by the single
+	 * command
+	 */
+	private static final String ELEMENT_DESCRIPTION_SCRIPT = "var e = arguments[0]; "
+			+ "return [e.tagName.toLowerCase(), e.getAttribute('id'), "
+			+ "e.getAttribute('name'), e.innerText || e.textContent || ''];";
+
 	private static final List<Class<?>> listenable = new ArrayList<Class<?>>() {
 		private static final long serialVersionUID = 1L;
 		{
@@ -75,9 +93,10 @@ class AspectWebDriverEventListener extends AbstractAspect implements
 
 	@SupportField
 	private final WebDriver driver;
-	private final WebElementHighLighter highLighter = new WebElementHighLighter();
-	private final AbstractApplicationContext context;
-	private final String POINTCUT_VALUE = "execution(* org.openqa.selenium.WebDriver.*(..)) || "
+	private final IWebElementHighlighter highLighter;
+	private final SessionWiring wiring;
+	private final FocusTracker focusTracker;
+	static final String POINTCUT_VALUE = "execution(* org.openqa.selenium.WebDriver.*(..)) || "
 			+ "execution(* org.openqa.selenium.WebElement.*(..)) ||"
 			+ "execution(* org.openqa.selenium.WebDriver.Navigation.*(..)) || "
 			+ "execution(* org.openqa.selenium.WebDriver.Options.*(..)) || "
@@ -93,6 +112,7 @@ class AspectWebDriverEventListener extends AbstractAspect implements
 			+ "execution(* io.appium.java_client.ios.IOSElement.*(..))"
 			;
 	private final IDestroyable destroyable;
+	private final EInstrumentationProfiles instrumentationProfile;
 
 	private final List<IWebDriverEventListener> additionalListeners = new ArrayList<IWebDriverEventListener>() {
 		private static final long serialVersionUID = 1L;
@@ -105,28 +125,24 @@ class AspectWebDriverEventListener extends AbstractAspect implements
 		}
 	};
 
-	private final IWebDriverEventListener proxyListener = (IWebDriverEventListener) Proxy
-			.newProxyInstance(IWebDriverEventListener.class.getClassLoader(),
-					new Class[] { IWebDriverEventListener.class }, (proxy,
-							method, args) -> {
-						additionalListeners.forEach((eventListener) -> {
-							try {
-								method.invoke(eventListener, args);
-							} catch (Exception e) {
-								throw new RuntimeException(e);
-							}
-
-						});
-						return null;
-					});
+	private final IWebDriverEventListener proxyListener;
 
 	public AspectWebDriverEventListener(final WebDriver driver,
 			IConfigurationWrapper configurationWrapper,
-			IDestroyable destroyable, AbstractApplicationContext context) {
+			IDestroyable destroyable, SessionWiring wiring,
+			ListenerEventBus eventBus, FocusTracker focusTracker,
+			IWebElementHighlighter highLighter) {
 		super(configurationWrapper);
 		this.driver = driver;
-		this.context = context;
+		this.highLighter = highLighter;
+		this.wiring = wiring;
+		this.focusTracker = focusTracker;
 		this.destroyable = destroyable;
+		this.proxyListener = ListenerFanOut.create(
+				IWebDriverEventListener.class, additionalListeners, eventBus);
+		this.instrumentationProfile = configurationWrapper
+				.getWrappedConfiguration().getSection(Instrumentation.class)
+				.getProfile();
 	}
 
 	private static Class<?> getClassForProxy(Class<?> classOfObject) {
@@ -513,18 +529,44 @@ class AspectWebDriverEventListener extends AbstractAspect implements
 		proxyListener.afterFindBy(byString, element, driver);
 	}
 
-	private String addToDescription(WebElement element, String attribute,
+	private static String addToDescription(String attribute, Object value,
 			String description) {
+		if (value == null)
+			return description;
+		if (value.equals(""))
+			return description;
+		return description + " " + attribute + ": " + String.valueOf(value);
+	}
+
+	private static String getAttribute(WebElement element, String attribute) {
 		try {
-			if (element.getAttribute(attribute) == null)
-				return description;
-			if (element.getAttribute(attribute).equals(""))
-				return description;
-			description += " " + attribute + ": "
-					+ String.valueOf(element.getAttribute(attribute));
+			return element.getAttribute(attribute);
 		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Tag name, id, name and text of the element. They are got by the single
+	 * script if it is possible. Otherwise (e.g. native mobile contexts) each
+	 * property is got once by the usual command
+	 */
+	private List<?> getElementProperties(WebElement element) {
+		try {
+			JavascriptExecutor executor = (JavascriptExecutor) driver;
+			try {
+				return (List<?>) executor.executeScript(
+						ELEMENT_DESCRIPTION_SCRIPT, element);
+			} catch (ClassCastException e) {
+				return (List<?>) executor.executeScript(
+						ELEMENT_DESCRIPTION_SCRIPT,
+						((WrapsElement) element).getWrappedElement());
+			}
+		} catch (ClassCastException | WebDriverException e) {
+			return Arrays.asList(element.getTagName(),
+					getAttribute(element, "id"),
+					getAttribute(element, "name"), element.getText());
 		}
-		return description;
 	}
 
 	private String elementDescription(WebElement element) {
@@ -532,12 +574,15 @@ class AspectWebDriverEventListener extends AbstractAspect implements
 		if (element == null)
 			return description;
 
-		if (!String.valueOf(element.getTagName()).equals(""))
-			description += "tag:" + String.valueOf(element.getTagName());
-		description = addToDescription(element, "id", description);
-		description = addToDescription(element, "name", description);
-		if (!"".equals(element.getText()))
-			description += " ('" + String.valueOf(element.getText()) + "')";
+		List<?> properties = getElementProperties(element);
+		String tagName = String.valueOf(properties.get(0));
+		if (!tagName.equals(""))
+			description += "tag:" + tagName;
+		description = addToDescription("id", properties.get(1), description);
+		description = addToDescription("name", properties.get(2), description);
+		Object text = properties.get(3);
+		if (!"".equals(text))
+			description += " ('" + String.valueOf(text) + "')";
 		if (!description.equals(""))
 			description = " Element is: " + description;
 
@@ -546,9 +591,17 @@ class AspectWebDriverEventListener extends AbstractAspect implements
 
 	private void highlightElementAndLogAction(WebElement element,
 			String logMessage, HowToHighLightElement howToHighLightElement) {
-		String elementDescription = elementDescription(element);
-		highLighter.resetAccordingTo(configurationWrapper
-				.getWrappedConfiguration());
+		// the description costs remote commands. It is useless when
+		// the message is filtered out
+		String elementDescription = "";
+		if (Log.isLoggable(howToHighLightElement.level)) {
+			elementDescription = elementDescription(element);
+		}
+		if (!instrumentationProfile.areElementsHighlighted()) {
+			Log.log(howToHighLightElement.level, logMessage
+					+ elementDescription);
+			return;
+		}
 		howToHighLightElement.highLight(highLighter, driver, element,
 				logMessage + elementDescription);
 	}
@@ -559,27 +612,14 @@ class AspectWebDriverEventListener extends AbstractAspect implements
 		}
 		Object o = getListenable(result);
 		if (o != null) { // ...so listenable object will be returned! ha-ha-ha
-			result = context.getBean(MainBeanConfiguration.COMPONENT_BEAN, o);
+			result = wiring.getListenable(o);
 		}
 		return result;
 	}
 
-	// List of WebElement
+	// List of WebElement. Items are made listenable when they are accessed
 	private List<Object> returnProxyList(List<Object> originalList) {
-		try {
-			List<Object> proxyList = new ArrayList<>();
-			for (Object o : originalList) {
-				if (getClassForProxy(o.getClass()) == null) {
-					proxyList.add(o);
-				}
-				proxyList.add(context.getBean(
-						MainBeanConfiguration.COMPONENT_BEAN, o));
-			}
-			return proxyList;
-		} catch (Exception e) {
-			throw new RuntimeException(e);
-		}
-
+		return new ListenableList(originalList, this::transformToListenable);
 	}
 
 	/**
@@ -595,6 +635,7 @@ class AspectWebDriverEventListener extends AbstractAspect implements
 		try {
 			result = point.proceed();
 		} catch (Exception e) {
+			focusTracker.commandIsFailed(getRootCause(e));
 			onException(e, driver);
 			t = e;
 			;
@@ -602,11 +643,16 @@ class AspectWebDriverEventListener extends AbstractAspect implements
 		if (t != null) {
 			throw getRootCause(t);
 		}
+		focusTracker.commandIsPerformed(point.getTarget(), point
+				.getSignature().getName(), point.getArgs());
 		launchMethod(point, this, WhenLaunch.AFTER);
 
 		if (result == null) { // maybe it was "void"
 			return result;
 		}
+		if (!instrumentationProfile.areResultsListenable()) {
+			return result;
+		}
 		if (List.class.isAssignableFrom(result.getClass())) {
 			return returnProxyList((List<Object>) result);
 		}
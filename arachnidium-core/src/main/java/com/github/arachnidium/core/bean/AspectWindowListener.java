@@ -1,7 +1,5 @@
 package com.github.arachnidium.core.bean;
 
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -31,6 +29,10 @@ import com.github.arachnidium.core.settings.ScreenShots;
 class AspectWindowListener extends DefaultHandleListener implements
 		IWindowListener {
 	
+	static final String POINTCUT_VALUE = "execution(* com.github.arachnidium.core.interfaces.IExtendedWindow.*(..)) || "
+			+ "execution(* com.github.arachnidium.core.interfaces.IHasHandle.*(..)) || "
+			+ "execution(* com.github.arachnidium.core.interfaces.ISwitchesToItself.*(..)) || "
+			+ "execution(* org.openqa.selenium.WebDriver.Window.*(..))";
 	private final List<IWindowListener> windowEventListeners = new ArrayList<IWindowListener>(){
 		private static final long serialVersionUID = 1L;
 		{   //SPI
@@ -40,25 +42,13 @@ class AspectWindowListener extends DefaultHandleListener implements
 				add((IWindowListener) providers.next());	
 		}		
 	};
-	private final InvocationHandler windowListenerInvocationHandler = (proxy,
-			method, args) -> {
-		windowEventListeners.forEach((eventListener) -> {
-			try {
-				method.invoke(eventListener, args);
-			} catch (Exception e) {
-				throw new RuntimeException(e);
-			};
-		});
-		return null;
-	};
-
-	private final IWindowListener windowListenerProxy = (IWindowListener) Proxy
-			.newProxyInstance(IWindowListener.class.getClassLoader(),
-					new Class[] { IWindowListener.class },
-					windowListenerInvocationHandler);	
+	private final IWindowListener windowListenerProxy;
 	
-	public AspectWindowListener(IConfigurationWrapper configurationWrapper) {
+	public AspectWindowListener(IConfigurationWrapper configurationWrapper,
+			ListenerEventBus eventBus) {
 		super(configurationWrapper);
+		windowListenerProxy = ListenerFanOut.create(IWindowListener.class,
+				windowEventListeners, eventBus);
 	}
 
 	/**
@@ -246,10 +236,7 @@ class AspectWindowListener extends DefaultHandleListener implements
 	 * @see com.github.arachnidium.core.bean.AbstractAspect#doAround(org.aspectj.lang.ProceedingJoinPoint)
 	 */
 	@Override
-	@Around("execution(* com.github.arachnidium.core.interfaces.IExtendedWindow.*(..)) || "
-			+ "execution(* com.github.arachnidium.core.interfaces.IHasHandle.*(..)) || "
-			+ "execution(* com.github.arachnidium.core.interfaces.ISwitchesToItself.*(..)) || " +
-			"execution(* org.openqa.selenium.WebDriver.Window.*(..))")
+	@Around(POINTCUT_VALUE)
 	public Object doAround(ProceedingJoinPoint point) throws Throwable {
 		launchMethod(point, this, WhenLaunch.BEFORE);
 		Object result = null;
@@ -0,0 +1,96 @@
+package com.github.arachnidium.core.bean;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+
+import com.github.arachnidium.core.eventlisteners.SynchronousListener;
+import com.github.arachnidium.core.interfaces.IHasHandle;
+
+/**
+ * The detached value of the live object ({@link WebDriver}, element,
+ * {@link Alert}, window or context) which is an argument of the event that is
+ * delivered asynchronously. Live objects are not thread-safe and they can be
+ * changed or become stale before the event is delivered. So the snapshot keeps
+ * only the description (<code>toString()</code>) and the handle of the given
+ * object which are taken when the event is published. Other methods throw
+ * {@link UnsupportedOperationException}.
+ *
+ * Plain values (URLs, locators, scripts, exceptions and so on) are delivered
+ * as they are.
+ */
+final class EventSnapshot implements InvocationHandler {
+
+	private static final Class<?>[] LIVE_TYPES = new Class<?>[] {
+			SearchContext.class, Alert.class, IHasHandle.class,
+			WebDriver.Window.class };
+
+	private static boolean isLive(Object value) {
+		for (Class<?> type : LIVE_TYPES) {
+			if (type.isInstance(value)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param parameterTypes are declared parameter types of the listener
+	 *            method
+	 * @param values are event arguments
+	 * @return The new array of values where live objects are replaced by
+	 *         snapshots
+	 */
+	static Object[] of(Class<?>[] parameterTypes, Object[] values) {
+		Object[] result = values.clone();
+		for (int i = 0; i < result.length; i++) {
+			Object value = result[i];
+			if (value == null || !parameterTypes[i].isInterface()
+					|| !isLive(value)) {
+				continue;
+			}
+			result[i] = Proxy.newProxyInstance(
+					parameterTypes[i].getClassLoader(),
+					new Class<?>[] { parameterTypes[i] }, new EventSnapshot(
+							value));
+		}
+		return result;
+	}
+
+	private final String description;
+	private final String handle;
+
+	private EventSnapshot(Object value) {
+		description = String.valueOf(value);
+		handle = (value instanceof IHasHandle) ? ((IHasHandle) value)
+				.getHandle() : null;
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args)
+			throws Throwable {
+		switch (method.getName()) {
+		case "toString":
+			return description;
+		case "hashCode":
+			return System.identityHashCode(proxy);
+		case "equals":
+			return proxy == args[0];
+		case "getHandle":
+			if (handle != null && method.getParameterCount() == 0) {
+				return handle;
+			}
+			// falls through
+		default:
+			throw new UnsupportedOperationException(
+					"The event is delivered asynchronously, so " + description
+							+ " is not available. A listener which uses it "
+							+ "should be marked by @"
+							+ SynchronousListener.class.getSimpleName());
+		}
+	}
+}
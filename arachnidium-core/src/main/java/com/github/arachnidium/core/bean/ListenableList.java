@@ -0,0 +1,69 @@
+package com.github.arachnidium.core.bean;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * This is the view of the list which is returned by the listened object
+ * (e.g. list of found elements). Each item is made listenable only when it is
+ * accessed. After that the listenable item is cached.
+ *
+ * Items which are added or set by the user are kept as they are.
+ */
+final class ListenableList extends AbstractList<Object> implements
+		RandomAccess {
+
+	private final List<Object> originals;
+	private final List<Object> listenables;
+	private final Function<Object, Object> toListenable;
+
+	ListenableList(List<?> originals, Function<Object, Object> toListenable) {
+		this.originals = new ArrayList<>(originals);
+		this.listenables = new ArrayList<>(Collections.nCopies(
+				originals.size(), null));
+		this.toListenable = toListenable;
+	}
+
+	@Override
+	public Object get(int index) {
+		Object listenable = listenables.get(index);
+		if (listenable == null) {
+			listenable = toListenable.apply(originals.get(index));
+			listenables.set(index, listenable);
+		}
+		return listenable;
+	}
+
+	@Override
+	public int size() {
+		return originals.size();
+	}
+
+	@Override
+	public Object set(int index, Object element) {
+		Object previous = get(index);
+		originals.set(index, element);
+		listenables.set(index, element);
+		return previous;
+	}
+
+	@Override
+	public void add(int index, Object element) {
+		originals.add(index, element);
+		listenables.add(index, element);
+		modCount++;
+	}
+
+	@Override
+	public Object remove(int index) {
+		Object previous = get(index);
+		originals.remove(index);
+		listenables.remove(index);
+		modCount++;
+		return previous;
+	}
+}
@@ -0,0 +1,263 @@
+package com.github.arachnidium.core.bean;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.JoinPoint;
+
+import com.github.arachnidium.core.bean.AbstractAspect.AfterTarget;
+import com.github.arachnidium.core.bean.AbstractAspect.BeforeTarget;
+import com.github.arachnidium.core.bean.AbstractAspect.SupportField;
+import com.github.arachnidium.core.bean.AbstractAspect.SupportParam;
+import com.github.arachnidium.core.bean.AbstractAspect.TargetParam;
+import com.github.arachnidium.core.bean.AbstractAspect.UseParameter;
+import com.github.arachnidium.core.bean.AbstractAspect.WhenLaunch;
+
+/**
+ * This is the table of listener methods which are declared by some
+ * {@link AbstractAspect} subclass.
+ *
+ * Annotations {@link BeforeTarget}, {@link AfterTarget}, {@link TargetParam},
+ * {@link SupportParam}, {@link UseParameter} and fields marked by
+ * {@link SupportField} are read only once per aspect class. A listener
+ * method which is suitable for the given target class, target method and
+ * {@link WhenLaunch} is resolved at the first call and then it is taken from
+ * the cache.
+ */
+final class ListenerDispatchTable {
+
+	/**
+	 * Inserts a value into the listener method signature
+	 */
+	@FunctionalInterface
+	private static interface ArgumentBinder {
+		Object bind(JoinPoint joinPoint, Object aspectObject);
+	}
+
+	/**
+	 * The listener method handle with pre-resolved argument binders. The
+	 * handle takes an aspect object and an array of listener argument values.
+	 */
+	private static final class ListenerInvoker {
+		private final MethodHandle handle;
+		private final ArgumentBinder[] binders;
+
+		private ListenerInvoker(MethodHandle handle, ArgumentBinder[] binders) {
+			this.handle = handle;
+			this.binders = binders;
+		}
+
+		private void invoke(JoinPoint joinPoint, Object aspectObject) {
+			Object[] listenerArgValues = new Object[binders.length];
+			for (int i = 0; i < binders.length; i++) {
+				listenerArgValues[i] = binders[i].bind(joinPoint, aspectObject);
+			}
+			try {
+				Object ignored = (Object) handle.invokeExact(aspectObject,
+						listenerArgValues);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable t) {
+				throw new RuntimeException(t);
+			}
+		}
+	}
+
+	/**
+	 * The listener method and one of target classes which are declared by
+	 * {@link BeforeTarget} or {@link AfterTarget}
+	 */
+	private static final class DeclaredListener {
+		private final Method method;
+		private final Class<?> targetClass;
+
+		private DeclaredListener(Method method, Class<?> targetClass) {
+			this.method = method;
+			this.targetClass = targetClass;
+		}
+	}
+
+	private static final ArgumentBinder NULL_BINDER = (joinPoint,
+			aspectObject) -> null;
+	private static final ArgumentBinder TARGET_BINDER = (joinPoint,
+			aspectObject) -> joinPoint.getTarget();
+	/**
+	 * It means that there is no listener method for the given target
+	 */
+	private static final ListenerInvoker NO_LISTENER = new ListenerInvoker(
+			null, new ArgumentBinder[] {});
+
+	private static final ClassValue<ListenerDispatchTable> TABLES = new ClassValue<ListenerDispatchTable>() {
+		@Override
+		protected ListenerDispatchTable computeValue(Class<?> aspectClass) {
+			return new ListenerDispatchTable(aspectClass);
+		}
+	};
+
+	/**
+	 * @param aspectClass is a subclass of {@link AbstractAspect}
+	 * @return the table which is built once for the given class
+	 */
+	static ListenerDispatchTable get(Class<?> aspectClass) {
+		return TABLES.get(aspectClass);
+	}
+
+	private final Map<WhenLaunch, Map<String, List<DeclaredListener>>> declared = new EnumMap<>(
+			WhenLaunch.class);
+	private final Map<WhenLaunch, ClassValue<Map<String, ListenerInvoker>>> resolved = new EnumMap<>(
+			WhenLaunch.class);
+	private final Field[] supportFields;
+
+	private ListenerDispatchTable(Class<?> aspectClass) {
+		List<Field> fields = new ArrayList<>();
+		for (Field f : aspectClass.getDeclaredFields()) {
+			if (!f.isAnnotationPresent(SupportField.class)) {
+				continue;
+			}
+			f.setAccessible(true);
+			fields.add(f);
+		}
+		supportFields = fields.toArray(new Field[] {});
+
+		Method[] methods = aspectClass.getDeclaredMethods();
+		for (WhenLaunch when : WhenLaunch.values()) {
+			Map<String, List<DeclaredListener>> byTargetMethod = new HashMap<>();
+			for (Method m : methods) {
+				for (Annotation a : when.getAnnotations(m)) {
+					byTargetMethod.computeIfAbsent(getTargetMethod(a),
+							(name) -> new ArrayList<>()).add(
+							new DeclaredListener(m, getTargetClass(a)));
+				}
+			}
+			declared.put(when, Collections.unmodifiableMap(byTargetMethod));
+			resolved.put(when, new ClassValue<Map<String, ListenerInvoker>>() {
+				@Override
+				protected Map<String, ListenerInvoker> computeValue(
+						Class<?> targetClass) {
+					return new ConcurrentHashMap<>();
+				}
+			});
+		}
+	}
+
+	private static Class<?> getTargetClass(Annotation a) {
+		if (a instanceof BeforeTarget) {
+			return ((BeforeTarget) a).targetClass();
+		}
+		return ((AfterTarget) a).targetClass();
+	}
+
+	private static String getTargetMethod(Annotation a) {
+		if (a instanceof BeforeTarget) {
+			return ((BeforeTarget) a).targetMethod();
+		}
+		return ((AfterTarget) a).targetMethod();
+	}
+
+	private Field getSupportField(Class<?> requiredClass) {
+		for (Field f : supportFields) {
+			if (requiredClass.isAssignableFrom(f.getType())) {
+				return f;
+			}
+		}
+		return null;
+	}
+
+	private ArgumentBinder getBinder(Parameter parameter, Class<?> targetClass) {
+		if (parameter.isAnnotationPresent(TargetParam.class)) {
+			if (parameter.getType().isAssignableFrom(targetClass)) {
+				return TARGET_BINDER;
+			}
+			return NULL_BINDER;
+		}
+
+		if (parameter.isAnnotationPresent(SupportParam.class)) {
+			Field f = getSupportField(parameter.getType());
+			if (f == null) {
+				return NULL_BINDER;
+			}
+			return (joinPoint, aspectObject) -> {
+				try {
+					return f.get(aspectObject);
+				} catch (IllegalArgumentException | IllegalAccessException e) {
+					throw new RuntimeException(e);
+				}
+			};
+		}
+
+		if (parameter.isAnnotationPresent(UseParameter.class)) {
+			int index = parameter.getAnnotation(UseParameter.class).number();
+			return (joinPoint, aspectObject) -> joinPoint.getArgs()[index];
+		}
+		return NULL_BINDER;
+	}
+
+	/**
+	 * @return the handle of the given listener method which takes an aspect
+	 *         object and an array of listener argument values
+	 */
+	static MethodHandle getHandle(Method m) {
+		int parameterCount = m.getParameterCount();
+		try {
+			m.setAccessible(true);
+			return MethodHandles.lookup().unreflect(m)
+					.asType(MethodType.genericMethodType(parameterCount + 1))
+					.asSpreader(Object[].class, parameterCount);
+		} catch (IllegalAccessException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private ListenerInvoker resolve(Class<?> targetClass, String methodName,
+			WhenLaunch when) {
+		List<DeclaredListener> candidates = declared.get(when).get(methodName);
+		if (candidates == null) {
+			return NO_LISTENER;
+		}
+		for (DeclaredListener candidate : candidates) {
+			if (!candidate.targetClass.isAssignableFrom(targetClass)) {
+				continue;
+			}
+			Parameter[] parameters = candidate.method.getParameters();
+			ArgumentBinder[] binders = new ArgumentBinder[parameters.length];
+			for (int i = 0; i < parameters.length; i++) {
+				binders[i] = getBinder(parameters[i], targetClass);
+			}
+			return new ListenerInvoker(getHandle(candidate.method), binders);
+		}
+		return NO_LISTENER;
+	}
+
+	/**
+	 * Runs the listener method which is suitable for the given
+	 * {@link JoinPoint} and {@link WhenLaunch}. If there is no suitable
+	 * listener method it does nothing.
+	 */
+	void launch(JoinPoint joinPoint, Object aspectObject, WhenLaunch when) {
+		Class<?> targetClass = joinPoint.getTarget().getClass();
+		String methodName = joinPoint.getSignature().getName();
+		Map<String, ListenerInvoker> invokers = resolved.get(when).get(
+				targetClass);
+		ListenerInvoker invoker = invokers.get(methodName);
+		if (invoker == null) {
+			invoker = resolve(targetClass, methodName, when);
+			invokers.putIfAbsent(methodName, invoker);
+		}
+		if (invoker == NO_LISTENER) {
+			return;
+		}
+		invoker.invoke(joinPoint, aspectObject);
+	}
+}
@@ -0,0 +1,179 @@
+package com.github.arachnidium.core.bean;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.arachnidium.util.configuration.Configuration;
+import com.github.arachnidium.util.logging.Log;
+
+import com.github.arachnidium.core.interfaces.IDestroyable;
+import com.github.arachnidium.core.settings.ListenerEvents;
+import com.github.arachnidium.core.settings.supported.EBackpressurePolicies;
+
+/**
+ * Delivers listener events of the one session on a background thread.
+ * Events are delivered in the order of publishing. When the queue is full
+ * the given {@link EBackpressurePolicies} is applied.
+ *
+ * The delivering thread is started when an event is published and it stops
+ * after some idle time. When the bus is destroyed queued events are
+ * delivered and the next ones are delivered synchronously.
+ */
+final class ListenerEventBus implements IDestroyable {
+
+	private static final long IDLE_TIME_OUT = 30; // seconds
+	private static final Runnable STOP = () -> {
+	};
+
+	/**
+	 * @param configuration
+	 *            is the session {@link Configuration}
+	 * @return the new event bus or null if events should be delivered
+	 *         synchronously
+	 *
+	 * @see ListenerEvents
+	 */
+	static ListenerEventBus create(Configuration configuration) {
+		ListenerEvents settings = configuration
+				.getSection(ListenerEvents.class);
+		if (!settings.getAsync()) {
+			return null;
+		}
+		return new ListenerEventBus(settings.getQueueCapacity(),
+				settings.getBackpressure(), settings.getSampleRate());
+	}
+
+	private final BlockingQueue<Runnable> queue;
+	private final EBackpressurePolicies backpressure;
+	private final int sampleRate;
+	private final AtomicInteger overflowCount = new AtomicInteger();
+	private Thread worker;
+	private boolean isDestroyed;
+
+	private ListenerEventBus(int queueCapacity,
+			EBackpressurePolicies backpressure, int sampleRate) {
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.backpressure = backpressure;
+		this.sampleRate = sampleRate;
+	}
+
+	private synchronized boolean ensureIsRunning() {
+		if (isDestroyed) {
+			return false;
+		}
+		if (worker == null) {
+			worker = new Thread(this::deliver, "Listener events "
+					+ Integer.toHexString(hashCode()));
+			worker.setDaemon(true);
+			worker.start();
+		}
+		return true;
+	}
+
+	private synchronized boolean stopIfIdle() {
+		if (!queue.isEmpty()) {
+			return false;
+		}
+		worker = null;
+		return true;
+	}
+
+	private void deliver() {
+		while (true) {
+			Runnable event;
+			try {
+				event = queue.poll(IDLE_TIME_OUT, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				synchronized (this) {
+					worker = null;
+				}
+				return;
+			}
+			if (event == null) {
+				if (stopIfIdle()) {
+					return;
+				}
+				continue;
+			}
+			if (event == STOP) {
+				return;
+			}
+			try {
+				event.run();
+			} catch (Throwable t) {
+				Log.warning("Listener has failed to handle an event", t);
+			}
+		}
+	}
+
+	private void put(Runnable event) {
+		try {
+			queue.put(event);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Puts the event into the queue
+	 *
+	 * @param event
+	 *            is a delivery of the event data which has been already
+	 *            snapshotted
+	 */
+	void publish(Runnable event) {
+		if (!ensureIsRunning()) {
+			event.run();
+			return;
+		}
+		switch (backpressure) {
+		case BLOCK:
+			put(event);
+			break;
+		case SAMPLE:
+			if (queue.offer(event)) {
+				break;
+			}
+			if (overflowCount.incrementAndGet() % sampleRate != 0) {
+				break; // the event is dropped
+			}
+			// this event replaces the oldest one
+		case DROP_OLDEST:
+			while (!queue.offer(event)) {
+				queue.poll();
+			}
+			break;
+		}
+		// the worker could stop before the event was queued
+		ensureIsRunning();
+	}
+
+	/**
+	 * Delivers queued events and stops the delivering thread
+	 *
+	 * @see com.github.arachnidium.core.interfaces.IDestroyable#destroy()
+	 */
+	@Override
+	public void destroy() {
+		Thread toBeStopped;
+		synchronized (this) {
+			if (isDestroyed) {
+				return;
+			}
+			isDestroyed = true;
+			toBeStopped = worker;
+		}
+		// a listener can quit the driver
+		if (toBeStopped == null || toBeStopped == Thread.currentThread()) {
+			return;
+		}
+		put(STOP);
+		try {
+			toBeStopped.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,185 @@
+package com.github.arachnidium.core.bean;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.arachnidium.util.logging.Log;
+
+import com.github.arachnidium.core.eventlisteners.SynchronousListener;
+
+/**
+ * Implements the listener interface and sends each event to all the given
+ * listeners (they are usually loaded by SPI).
+ *
+ * Method handles are bound to each listener once when the fan-out is
+ * created, so an event is not dispatched by {@link Method#invoke(Object, Object...)}.
+ * Handles of synchronous listeners are folded into the one handle per
+ * method which invokes them in order.
+ *
+ * If there is a {@link ListenerEventBus} then listeners which are not marked
+ * by {@link SynchronousListener} receive events asynchronously. They
+ * don't receive live objects (the driver, elements, windows etc.), these
+ * ones are replaced by an {@link EventSnapshot} before the event is
+ * published.
+ */
+final class ListenerFanOut implements InvocationHandler {
+
+	private static final Object[] EMPTY_ARGS = new Object[] {};
+
+	/**
+	 * Handles of listeners of the one interface method. They take an array
+	 * of argument values
+	 */
+	private static final class MethodListeners {
+		// it is null if there are no synchronous listeners
+		private final MethodHandle synchronous;
+		private final MethodHandle[] asynchronous;
+
+		private MethodListeners(MethodHandle synchronous,
+				MethodHandle[] asynchronous) {
+			this.synchronous = synchronous;
+			this.asynchronous = asynchronous;
+		}
+	}
+
+	private final Map<Method, MethodListeners> methodListeners = new HashMap<>();
+	private final ListenerEventBus eventBus;
+
+	private static MethodType getType(int parameterCount) {
+		return MethodType.genericMethodType(parameterCount).changeReturnType(
+				void.class);
+	}
+
+	private static MethodHandle[] bind(MethodHandle handle,
+			int parameterCount, List<?> listeners) {
+		MethodHandle[] bound = new MethodHandle[listeners.size()];
+		for (int i = 0; i < bound.length; i++) {
+			bound[i] = handle.bindTo(listeners.get(i))
+					.asType(getType(parameterCount))
+					.asSpreader(Object[].class, parameterCount);
+		}
+		return bound;
+	}
+
+	// one handle is invoked faster than several ones
+	private static MethodHandle fold(MethodHandle handle, int parameterCount,
+			List<?> listeners) {
+		MethodHandle folded = null;
+		for (Object listener : listeners) {
+			MethodHandle bound = handle.bindTo(listener).asType(
+					getType(parameterCount));
+			// previous listeners are invoked first
+			folded = (folded == null) ? bound : MethodHandles.foldArguments(
+					bound, folded);
+		}
+		if (folded == null) {
+			return null;
+		}
+		return folded.asSpreader(Object[].class, parameterCount);
+	}
+
+	private ListenerFanOut(Class<?> listenerInterface, List<?> listeners,
+			ListenerEventBus eventBus) {
+		this.eventBus = eventBus;
+		List<Object> synchronous = new ArrayList<>();
+		List<Object> asynchronous = new ArrayList<>();
+		for (Object listener : listeners) {
+			if (eventBus == null
+					|| listener.getClass().isAnnotationPresent(
+							SynchronousListener.class)) {
+				synchronous.add(listener);
+			} else {
+				asynchronous.add(listener);
+			}
+		}
+
+		MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+		for (Method m : listenerInterface.getMethods()) {
+			int parameterCount = m.getParameterCount();
+			try {
+				MethodHandle handle = lookup.unreflect(m);
+				methodListeners.put(m, new MethodListeners(fold(handle,
+						parameterCount, synchronous), bind(handle,
+						parameterCount, asynchronous)));
+			} catch (IllegalAccessException e) {
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+	/**
+	 * @param listenerInterface is an interface of listeners
+	 * @param listeners which should receive events
+	 * @return an instance of the given interface which sends each event to
+	 *         all the given listeners synchronously
+	 */
+	static <T> T create(Class<T> listenerInterface, List<T> listeners) {
+		return create(listenerInterface, listeners, null);
+	}
+
+	/**
+	 * @param listenerInterface is an interface of listeners
+	 * @param listeners which should receive events
+	 * @param eventBus delivers events asynchronously. If it is null then
+	 * all the listeners receive events synchronously
+	 * @return an instance of the given interface which sends each event to
+	 *         all the given listeners
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> T create(Class<T> listenerInterface, List<T> listeners,
+			ListenerEventBus eventBus) {
+		return (T) Proxy.newProxyInstance(listenerInterface.getClassLoader(),
+				new Class<?>[] { listenerInterface }, new ListenerFanOut(
+						listenerInterface, listeners, eventBus));
+	}
+
+	private static void invokeInOrder(MethodHandle handle, Object[] values) {
+		try {
+			handle.invokeExact(values);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new RuntimeException(t);
+		}
+	}
+
+	// a failure of one asynchronous listener doesn't affect others
+	private static void deliverToEach(MethodHandle[] handles, Object[] values) {
+		for (MethodHandle handle : handles) {
+			try {
+				handle.invokeExact(values);
+			} catch (Throwable t) {
+				Log.warning("Listener has failed to handle an event", t);
+			}
+		}
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args)
+			throws Throwable {
+		MethodListeners listeners = methodListeners.get(method);
+		if (listeners == null) {
+			// methods of Object
+			return method.invoke(this, args);
+		}
+		Object[] values = (args == null) ? EMPTY_ARGS : args;
+		if (listeners.synchronous != null) {
+			invokeInOrder(listeners.synchronous, values);
+		}
+		MethodHandle[] asynchronous = listeners.asynchronous;
+		if (asynchronous.length > 0) {
+			Object[] snapshot = EventSnapshot.of(method.getParameterTypes(),
+					values);
+			eventBus.publish(() -> deliverToEach(asynchronous, snapshot));
+		}
+		return null;
+	}
+}
@@ -1,68 +1,61 @@
 package com.github.arachnidium.core.bean;
 
-import io.appium.java_client.AppiumDriver;
-import io.appium.java_client.MobileElement;
-
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 
-import com.github.arachnidium.util.configuration.interfaces.IConfigurationWrapper;
-import org.openqa.selenium.Alert;
-import org.openqa.selenium.ContextAware;
-import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebDriver.Navigation;
-import org.openqa.selenium.WebDriver.Options;
-import org.openqa.selenium.WebDriver.TargetLocator;
-import org.openqa.selenium.WebElement;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.context.annotation.Scope;
 import org.springframework.context.support.AbstractApplicationContext;
 
+import com.github.arachnidium.core.FocusTracker;
+import com.github.arachnidium.core.highlighting.WebElementHighLighter;
 import com.github.arachnidium.core.interfaces.IContext;
 import com.github.arachnidium.core.interfaces.IDestroyable;
 import com.github.arachnidium.core.interfaces.IExtendedWindow;
-
+import com.github.arachnidium.util.configuration.interfaces.IConfigurationWrapper;
 
 /**
  * This is {@link AnnotationConfigApplicationContext}
- * 
+ *
+ * @deprecated Sessions are wired by {@link SessionWiring} without an
+ *             application context. This class delegates to
+ *             {@link SessionWiring} which is created by
+ *             {@link #getWebdriver(AbstractApplicationContext, IConfigurationWrapper, IDestroyable, WebDriver)}.
+ *             Windows, contexts and components which are passed before the
+ *             {@link WebDriver} are returned as they are. The focus of the
+ *             driver is not tracked.
  */
+@Deprecated
 @Configuration
-@EnableAspectJAutoProxy(proxyTargetClass = true)
 public class MainBeanConfiguration {
-	private IConfigurationWrapper wrapper;
-	private WebDriver driver;
-	private AbstractApplicationContext context;
-	private IDestroyable destroyable;
-	
+	private SessionWiring wiring;
+
 	public final static String COMPONENT_BEAN = "component";
 	public final static String WEBDRIVER_BEAN = "webdriver";
 	public final static String WINDOW_BEAN    = "window";
 	public final static String MOBILE_CONTEXT_BEAN    = "mobile_context";
-	
+
 	/**
 	 * Creates {@link WebDriver} instance and makes it listenable.
-	 * 
-	 * @param context instantiated {@link AbstractApplicationContext} 
-	 * which is used by {@link AspectWebDriverEventListener}
+	 *
+	 * @param context is not used any more
 	 * @param configurationWrapper something that wraps {@link Configuration}
 	 * {@link AspectWebDriverEventListener} needs it
 	 * @param destroyable Something that implements {@link IDestroyable}
 	 * @param required Class of {@link WebDriver} implementor
 	 * @param paramClasses  Are constructor parameters
 	 * @param paramValues Are constructor parameter values
-	 * 
+	 *
 	 * @return A listenable {@link WebDriver} instance
 	 */
 	@SuppressWarnings("unchecked")
 	@Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 	@Bean(name = WEBDRIVER_BEAN)
-	public <T extends WebDriver> T getWebdriver(AbstractApplicationContext context, 
+	public <T extends WebDriver> T getWebdriver(AbstractApplicationContext context,
 			IConfigurationWrapper configurationWrapper,
 			IDestroyable destroyable,
 			Class<T> required,
@@ -70,118 +63,90 @@ public class MainBeanConfiguration {
 		try {
 			Constructor<?> c = required.getConstructor(paramClasses);
 			T result = (T) c.newInstance(paramValues);
-			return (T) populate(context, configurationWrapper, destroyable, result);
+			return (T) getWebdriver(context, configurationWrapper, destroyable,
+					result);
 		} catch (NoSuchMethodException | SecurityException
 				| InstantiationException | IllegalAccessException
 				| IllegalArgumentException | InvocationTargetException e) {
 			throw new RuntimeException(e);
 		}
 	}
-	
-	private WebDriver populate(AbstractApplicationContext context, 
-			IConfigurationWrapper configurationWrapper,
-			IDestroyable destroyable,
-			WebDriver driver){
-		this.driver = driver;
-		wrapper = configurationWrapper;
-		this.destroyable = destroyable;
-		this.context = context;
-		return driver;
-	}
-	
+
 	/**
 	 * It makes instantiated {@link WebDriver} listenable
-	 * 
-	 * @param context nstantiated {@link AbstractApplicationContext} 
-	 * which is used by {@link AspectWebDriverEventListener}
-	 * 
+	 *
+	 * @param context is not used any more
+	 *
 	 * @param configurationWrapper something that wraps {@link Configuration}
 	 * {@link AspectWebDriverEventListener} needs it
 	 * @param destroyable Something that implements {@link IDestroyable}
 	 * @param driver An instance of {@link WebDriver}
-	 * 
+	 *
 	 * @return A listenable {@link WebDriver} instance
-	 * 
+	 *
 	 * @see Bean
 	 */
 	@Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 	@Bean(name = WEBDRIVER_BEAN)
-	public WebDriver getWebdriver(AbstractApplicationContext context, 
+	public synchronized WebDriver getWebdriver(AbstractApplicationContext context,
 			IConfigurationWrapper configurationWrapper,
 			IDestroyable destroyable,
 			WebDriver driver) {
-		return populate(context, configurationWrapper, destroyable, driver);
+		WebElementHighLighter highlighter = new WebElementHighLighter();
+		highlighter.resetAccordingTo(configurationWrapper
+				.getWrappedConfiguration());
+		wiring = new SessionWiring(configurationWrapper, destroyable,
+				new FocusTracker(false), highlighter);
+		return wiring.getWebdriver(driver);
 	}
-	
+
+	private synchronized <T> T getListenable(T original) {
+		if (wiring == null) {
+			return original;
+		}
+		return wiring.getListenable(original);
+	}
+
 	/**
 	 * Makes an instance of {@link IExtendedWindow} listenable
 	 * @param window An original instance of {@link IExtendedWindow}
 	 * @return The listenable instance of {@link IExtendedWindow}
-	 * 
+	 *
 	 * @see Bean
 	 */
 	@SuppressWarnings("unchecked")
 	@Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 	@Bean(name = WINDOW_BEAN)
 	public <T extends IExtendedWindow> T getWindow(IExtendedWindow window) {
-		return (T) window;
-	}	
-	
+		return (T) getListenable(window);
+	}
+
 	/**
 	 * Makes an instance of {@link IContext} listenable
-	 * @param window An original instance of {@link IContext}
+	 * @param context An original instance of {@link IContext}
 	 * @return The listenable instance of {@link IContext}
-	 * 
+	 *
 	 * @see Bean
-	 */	
+	 */
 	@SuppressWarnings("unchecked")
 	@Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 	@Bean(name = MOBILE_CONTEXT_BEAN)
 	public <T extends IContext> T getContext(IContext context) {
-		return (T) context;
-	}		
-	
+		return (T) getListenable(context);
+	}
+
 	/**
 	 * It return listenable {@link WebDriver} components
-	 * 
-	 * @see WebDriver
-	 * @see WebElement
-	 * @see Navigation
-	 * @see Options
-	 * @see TargetLocator
-	 * @see JavascriptExecutor
-	 * @see ContextAware
-	 * @see Alert
-	 * @see MobileElement
-	 * @see AppiumDriver
-	 *  
-	 * @param component It is an object of types above
-	 * @return The listenable object of types above
-	 * 
+	 *
+	 * @param component It is an object of types which are listened to by
+	 * {@link AspectWebDriverEventListener}
+	 * @return The listenable object
+	 *
 	 * @see Bean
 	 */
 	@Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 	@Bean(name = COMPONENT_BEAN)
 	Object  getComponent(Object component) {
-		return component;
-	}	
-	
-	@Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
-	@Bean(name = "webdriverAspect")
-	AspectWebDriverEventListener getWebdriverAspect(){
-		return new AspectWebDriverEventListener(driver, wrapper, destroyable, context);
+		return getListenable(component);
 	}
-	
-	@Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
-	@Bean(name = "windowAspect")
-	AspectWindowListener getWindowAspect(){
-		return new AspectWindowListener(wrapper);
-	}	
-	
-	@Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
-	@Bean(name = "contextAspect")
-	AspectContextListener getContextAspect(){
-		return new AspectContextListener(wrapper);
-	}		
-
 }
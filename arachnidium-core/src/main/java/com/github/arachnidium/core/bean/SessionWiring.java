@@ -0,0 +1,236 @@
+package com.github.arachnidium.core.bean;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.aspectj.lang.annotation.Around;
+import org.openqa.selenium.WebDriver;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.aspectj.AspectJAroundAdvice;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.aspectj.AspectJPointcutAdvisor;
+import org.springframework.aop.aspectj.SingletonAspectInstanceFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.interceptor.ExposeInvocationInterceptor;
+import org.springframework.aop.support.AopUtils;
+
+import com.github.arachnidium.core.FocusTracker;
+import com.github.arachnidium.core.highlighting.IWebElementHighlighter;
+import com.github.arachnidium.core.interfaces.IContext;
+import com.github.arachnidium.core.interfaces.IDestroyable;
+import com.github.arachnidium.core.interfaces.IExtendedWindow;
+import com.github.arachnidium.util.configuration.Configuration;
+import com.github.arachnidium.util.configuration.interfaces.IConfigurationWrapper;
+import com.github.arachnidium.util.logging.Log;
+import com.github.arachnidium.core.settings.Instrumentation;
+import com.github.arachnidium.core.settings.supported.EWeavingModes;
+
+/**
+ * Makes objects of the one session listenable: {@link WebDriver} and its
+ * components, {@link IExtendedWindow} and {@link IContext} instances.
+ *
+ * Aspects ({@link AspectWebDriverEventListener}, {@link AspectWindowListener},
+ * {@link AspectContextListener}) are instantiated once per session. Their
+ * pointcuts are parsed once and shared by all the sessions. So a new session
+ * doesn't repeat the annotation processing and the aspect discovery.
+ *
+ * If listeners are woven by AspectJ ({@link EWeavingModes#WOVEN}) objects are
+ * not proxied. They are registered and {@link WovenListeners} delegates to
+ * aspects of the session which the target object belongs to.
+ */
+public class SessionWiring {
+
+	/**
+	 * The around advice method of the aspect class and its parsed pointcut
+	 */
+	private static final class AspectTemplate {
+		private final String aspectName;
+		private final Method aroundMethod;
+		private final AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+		private final ClassValue<Boolean> appliesTo = new ClassValue<Boolean>() {
+			@Override
+			protected Boolean computeValue(Class<?> type) {
+				return AopUtils.canApply(pointcut, type);
+			}
+		};
+
+		private AspectTemplate(String aspectName,
+				Class<? extends AbstractAspect> aspectClass) {
+			this.aspectName = aspectName;
+			Method around = null;
+			for (Method m : aspectClass.getDeclaredMethods()) {
+				if (m.isAnnotationPresent(Around.class)) {
+					around = m;
+					break;
+				}
+			}
+			aroundMethod = around;
+			pointcut.setPointcutDeclarationScope(aspectClass);
+			pointcut.setExpression(around.getAnnotation(Around.class).value());
+		}
+
+		private boolean appliesTo(Class<?> type) {
+			return appliesTo.get(type);
+		}
+
+		private Advisor getAdvisor(AbstractAspect aspect) {
+			AspectJAroundAdvice advice = new AspectJAroundAdvice(aroundMethod,
+					pointcut, new SingletonAspectInstanceFactory(aspect));
+			advice.setAspectName(aspectName);
+			advice.setDeclarationOrder(0);
+			advice.calculateArgumentBindings();
+			return new AspectJPointcutAdvisor(advice);
+		}
+	}
+
+	private static final AspectTemplate WEBDRIVER_ASPECT = new AspectTemplate(
+			"webdriverAspect", AspectWebDriverEventListener.class);
+	private static final AspectTemplate WINDOW_ASPECT = new AspectTemplate(
+			"windowAspect", AspectWindowListener.class);
+	private static final AspectTemplate CONTEXT_ASPECT = new AspectTemplate(
+			"contextAspect", AspectContextListener.class);
+
+	/**
+	 * Objects which are listened to by {@link WovenListeners} and their sessions
+	 */
+	private static final WovenTargets WOVEN_TARGETS = new WovenTargets();
+
+	/**
+	 * @param target is the object which method is being executed
+	 * @return the session which the object is registered in or null if the
+	 *         object should not be listened to
+	 */
+	static SessionWiring getWovenSession(Object target) {
+		if (target == null) {
+			return null;
+		}
+		return WOVEN_TARGETS.get(target);
+	}
+
+	// AspectJ adds aspectOf() to the woven aspect class
+	private static boolean isWoven() {
+		try {
+			WovenListeners.class.getMethod("aspectOf");
+			return true;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	private final IConfigurationWrapper configurationWrapper;
+	private final IDestroyable destroyable;
+	private final ListenerEventBus eventBus;
+	private final FocusTracker focusTracker;
+	private final IWebElementHighlighter highlighter;
+	private final boolean woven;
+	final AspectWindowListener windowAspect;
+	final AspectContextListener contextAspect;
+	volatile AspectWebDriverEventListener webdriverAspect;
+	private final Advisor windowAdvisor;
+	private final Advisor contextAdvisor;
+	private volatile Advisor webdriverAdvisor;
+
+	/**
+	 * @param configurationWrapper something that wraps {@link Configuration}
+	 * @param destroyable Something that implements {@link IDestroyable}.
+	 * It is destroyed before {@link WebDriver} quits
+	 * @param focusTracker is {@link FocusTracker} of the session which is
+	 * notified about performed commands
+	 * @param highlighter is {@link IWebElementHighlighter} of the session
+	 */
+	public SessionWiring(IConfigurationWrapper configurationWrapper,
+			IDestroyable destroyable, FocusTracker focusTracker,
+			IWebElementHighlighter highlighter) {
+		this.configurationWrapper = configurationWrapper;
+		this.focusTracker = focusTracker;
+		this.highlighter = highlighter;
+		Configuration configuration = configurationWrapper
+				.getWrappedConfiguration();
+		eventBus = ListenerEventBus.create(configuration);
+		woven = isWovenMode(configuration);
+		this.destroyable = () -> {
+			destroyable.destroy();
+			if (eventBus != null) {
+				// queued events are delivered when the session is being finished
+				eventBus.destroy();
+			}
+			if (woven) {
+				WOVEN_TARGETS.removeAll(this);
+			}
+		};
+		windowAspect = new AspectWindowListener(configurationWrapper, eventBus);
+		contextAspect = new AspectContextListener(configurationWrapper,
+				eventBus);
+		windowAdvisor = woven ? null : WINDOW_ASPECT.getAdvisor(windowAspect);
+		contextAdvisor = woven ? null : CONTEXT_ASPECT
+				.getAdvisor(contextAspect);
+	}
+
+	private static boolean isWovenMode(Configuration configuration) {
+		if (configuration.getSection(Instrumentation.class).getWeaving() != EWeavingModes.WOVEN) {
+			return false;
+		}
+		if (!isWoven()) {
+			Log.warning("Listeners are not woven by AspectJ. "
+					+ "Runtime proxies are used instead");
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Makes instantiated {@link WebDriver} listenable
+	 *
+	 * @param driver An instance of {@link WebDriver}
+	 * @return A listenable {@link WebDriver} instance
+	 */
+	public synchronized <T extends WebDriver> T getWebdriver(T driver) {
+		webdriverAspect = new AspectWebDriverEventListener(driver,
+				configurationWrapper, destroyable, this, eventBus,
+				focusTracker, highlighter);
+		if (!woven) {
+			webdriverAdvisor = WEBDRIVER_ASPECT.getAdvisor(webdriverAspect);
+		}
+		return getListenable(driver);
+	}
+
+	/**
+	 * It returns listenable {@link WebDriver} components, {@link IExtendedWindow}
+	 * and {@link IContext} instances
+	 *
+	 * @param original is an object which should be listenable
+	 * @return The listenable object. If there is no aspect which listens to
+	 * the given object then it is returned as is
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T getListenable(T original) {
+		if (woven) {
+			WOVEN_TARGETS.put(original, this);
+			return original;
+		}
+		Class<?> type = original.getClass();
+		List<Advisor> advisors = new ArrayList<>();
+		if (webdriverAdvisor != null && WEBDRIVER_ASPECT.appliesTo(type)) {
+			advisors.add(webdriverAdvisor);
+		}
+		if (WINDOW_ASPECT.appliesTo(type)) {
+			advisors.add(windowAdvisor);
+		}
+		if (CONTEXT_ASPECT.appliesTo(type)) {
+			advisors.add(contextAdvisor);
+		}
+		if (advisors.isEmpty()) {
+			return original;
+		}
+
+		ProxyFactory proxyFactory = new ProxyFactory();
+		proxyFactory.setTarget(original);
+		proxyFactory.setProxyTargetClass(true);
+		proxyFactory.addAdvisor(ExposeInvocationInterceptor.ADVISOR);
+		for (Advisor advisor : advisors) {
+			proxyFactory.addAdvisor(advisor);
+		}
+		return (T) proxyFactory.getProxy();
+	}
+}
@@ -0,0 +1,72 @@
+package com.github.arachnidium.core.bean;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+
+import com.github.arachnidium.core.settings.supported.EWeavingModes;
+
+/**
+ * This aspect is used when listeners are woven by AspectJ (see
+ * {@link EWeavingModes#WOVEN}). It is not applied by runtime proxies. The
+ * aspectj-weaving build profile weaves it at compile time and
+ * META-INF/arachnidium-aop.xml declares it for the load-time weaving. This
+ * file is not found by the weaver by default, it should be given by the
+ * org.aspectj.weaver.loadtime.configuration property.
+ *
+ * Each advice finds the session which the target object is registered in and
+ * delegates to the aspect of this session. Objects which are not registered
+ * by {@link SessionWiring} are not listened to. Calls which are made while an
+ * advice is running (by the listened object itself or by listeners) are not
+ * listened to. So listeners are notified just like they are notified by
+ * proxies.
+ */
+@Aspect
+public class WovenListeners {
+
+	@Pointcut(AspectWebDriverEventListener.POINTCUT_VALUE)
+	void webdriverCall() {
+	}
+
+	@Pointcut(AspectWindowListener.POINTCUT_VALUE)
+	void windowCall() {
+	}
+
+	@Pointcut(AspectContextListener.POINTCUT_VALUE)
+	void contextCall() {
+	}
+
+	@Pointcut("!cflow(adviceexecution() && within(com.github.arachnidium.core.bean.WovenListeners))")
+	void notNested() {
+	}
+
+	private static Object proceedOrDelegate(AbstractAspect aspect,
+			ProceedingJoinPoint point) throws Throwable {
+		if (aspect == null) {
+			return point.proceed();
+		}
+		return aspect.doAround(point);
+	}
+
+	@Around("webdriverCall() && notNested()")
+	public Object aroundWebDriver(ProceedingJoinPoint point) throws Throwable {
+		SessionWiring wiring = SessionWiring.getWovenSession(point.getTarget());
+		return proceedOrDelegate(wiring == null ? null
+				: wiring.webdriverAspect, point);
+	}
+
+	@Around("windowCall() && notNested()")
+	public Object aroundWindow(ProceedingJoinPoint point) throws Throwable {
+		SessionWiring wiring = SessionWiring.getWovenSession(point.getTarget());
+		return proceedOrDelegate(wiring == null ? null : wiring.windowAspect,
+				point);
+	}
+
+	@Around("contextCall() && notNested()")
+	public Object aroundContext(ProceedingJoinPoint point) throws Throwable {
+		SessionWiring wiring = SessionWiring.getWovenSession(point.getTarget());
+		return proceedOrDelegate(wiring == null ? null : wiring.contextAspect,
+				point);
+	}
+}
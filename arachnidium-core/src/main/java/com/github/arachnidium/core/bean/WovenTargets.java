@@ -0,0 +1,70 @@
+package com.github.arachnidium.core.bean;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Objects which are listened to by {@link WovenListeners} and their
+ * sessions. Objects are weakly referenced and they are compared by identity,
+ * so <code>equals()</code> and <code>hashCode()</code> of listened objects are
+ * never invoked. It is read without locking on each woven call.
+ */
+final class WovenTargets {
+
+	/**
+	 * The weak identity key
+	 */
+	private static final class Key extends WeakReference<Object> {
+		private final int hash;
+
+		private Key(Object target, ReferenceQueue<Object> queue) {
+			super(target, queue);
+			hash = System.identityHashCode(target);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Object target = get();
+			return target != null && target == ((Key) o).get();
+		}
+	}
+
+	private final ConcurrentMap<Key, SessionWiring> targets = new ConcurrentHashMap<>();
+	private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+
+	// removes keys of collected objects
+	private void expunge() {
+		Reference<?> key;
+		while ((key = collected.poll()) != null) {
+			targets.remove(key);
+		}
+	}
+
+	void put(Object target, SessionWiring wiring) {
+		expunge();
+		targets.put(new Key(target, collected), wiring);
+	}
+
+	SessionWiring get(Object target) {
+		return targets.get(new Key(target, null));
+	}
+
+	void removeAll(SessionWiring wiring) {
+		expunge();
+		targets.values().removeIf((w) -> w == wiring);
+	}
+}
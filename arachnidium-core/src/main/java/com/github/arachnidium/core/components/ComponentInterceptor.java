@@ -1,23 +1,61 @@
 package com.github.arachnidium.core.components;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import net.sf.cglib.proxy.MethodProxy;
 
 import com.github.arachnidium.util.proxy.DefaultInterceptor;
 
 class ComponentInterceptor extends DefaultInterceptor {
+
+	private static final Object[] EMPTY_ARGS = new Object[] {};
+
+	/**
+	 * Handles of delegate methods. They are resolved once per delegate class
+	 * and component method. Each handle takes the delegate and an array of
+	 * arguments
+	 */
+	private static final ClassValue<Map<Method, MethodHandle>> DELEGATE_HANDLES = new ClassValue<Map<Method, MethodHandle>>() {
+		@Override
+		protected Map<Method, MethodHandle> computeValue(Class<?> delegateClass) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	private static MethodHandle getDelegateHandle(Class<?> delegateClass,
+			Method method) {
+		try {
+			Method realMethod = delegateClass.getMethod(method.getName(),
+					method.getParameterTypes());
+			// the delegate class can be not public (e.g. inner classes of
+			// RemoteWebDriver)
+			realMethod.setAccessible(true);
+			int parameterCount = realMethod.getParameterCount();
+			return MethodHandles.lookup().unreflect(realMethod)
+					.asType(MethodType.genericMethodType(parameterCount + 1))
+					.asSpreader(Object[].class, parameterCount);
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
 	@Override
 	public Object intercept(Object obj, Method method, Object[] args,
 			MethodProxy proxy) throws Throwable {
 		Object realObject = ((WebdriverComponent) obj).delegate;
-		Method realMethod = realObject.getClass().getMethod(method.getName(),
-				method.getParameterTypes());
 		if (obj.getClass().equals(realObject.getClass())) {
 			return super.intercept(realObject, method, args, proxy);
-		} else {
-			return realMethod.invoke(realObject, args);
 		}
+		MethodHandle handle = DELEGATE_HANDLES.get(realObject.getClass())
+				.computeIfAbsent(method,
+						(m) -> getDelegateHandle(realObject.getClass(), m));
+		Object[] values = (args == null) ? EMPTY_ARGS : args;
+		return (Object) handle.invokeExact(realObject, values);
 	}
 
 }
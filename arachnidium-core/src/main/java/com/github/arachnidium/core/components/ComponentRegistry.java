@@ -0,0 +1,51 @@
+package com.github.arachnidium.core.components;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Stores {@link WebdriverComponent} instances of the one session. Components
+ * are stateless wrappers of the {@link WebDriver} so an instance is created
+ * once per class and constructor parameters and then it is reused.
+ * 
+ * Components which are marked by {@link StatefulComponent} are not stored.
+ * They are created by {@link ComponentFactory} each time.
+ */
+public class ComponentRegistry {
+	private final WebDriver driver;
+	private final Map<List<Object>, WebdriverComponent> components = new ConcurrentHashMap<>();
+
+	/**
+	 * @param driver {@link WebDriver} instance which is wrapped by components
+	 */
+	public ComponentRegistry(WebDriver driver) {
+		this.driver = driver;
+	}
+
+	/**
+	 * Returns the instance of the class which extends
+	 * {@link WebdriverComponent}.
+	 * 
+	 * @param required Class which extends {@link WebdriverComponent}
+	 * @param types is a Class[] without {@link WebDriver.class}
+	 * @param args is a Object[] without {@link WebDriver} instance
+	 * @return instance required class which extends {@link WebdriverComponent}
+	 * 
+	 * @see ComponentFactory#getComponent(Class, WebDriver, Class[], Object[])
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends WebdriverComponent> T getComponent(Class<T> required,
+			Class<?>[] types, Object[] args) {
+		if (required.isAnnotationPresent(StatefulComponent.class)) {
+			return ComponentFactory.getComponent(required, driver, types, args);
+		}
+		List<Object> key = Arrays.asList(required,
+				Arrays.asList(types.clone()), Arrays.asList(args.clone()));
+		return (T) components.computeIfAbsent(key, (k) -> ComponentFactory
+				.getComponent(required, driver, types, args));
+	}
+}
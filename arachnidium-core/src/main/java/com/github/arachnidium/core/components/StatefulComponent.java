@@ -0,0 +1,19 @@
+package com.github.arachnidium.core.components;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * {@link WebdriverComponent} subclasses which are marked by this annotation
+ * have their own state. A new instance is created each time when it is
+ * required. Other components are created once per session (see
+ * {@link ComponentRegistry}).
+ */
+@Target(value = ElementType.TYPE)
+@Retention(value = RetentionPolicy.RUNTIME)
+@Inherited
+public @interface StatefulComponent {
+}
@@ -6,12 +6,15 @@ import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 
+import com.github.arachnidium.core.components.StatefulComponent;
 import com.github.arachnidium.core.components.WebdriverComponent;
 
 /**
- * {@link Alert} implementor
+ * {@link Alert} implementor. It represents the alert which is present 
+ * at the moment of creation.
  *
  */
+@StatefulComponent
 public abstract class AlertHandler extends WebdriverComponent implements Alert {
 
 	/**
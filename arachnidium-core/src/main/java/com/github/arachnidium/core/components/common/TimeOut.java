@@ -9,6 +9,7 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriver.Timeouts;
 import org.openqa.selenium.WebDriverException;
 
+import com.github.arachnidium.core.components.StatefulComponent;
 import com.github.arachnidium.core.components.WebdriverComponent;
 import com.github.arachnidium.core.settings.WebDriverTimeOuts;
 
@@ -16,6 +17,7 @@ import com.github.arachnidium.core.settings.WebDriverTimeOuts;
  * {@link Timeouts} implementor
  * New possibilities: It can pass out given time outs values.
  */
+@StatefulComponent
 public abstract class TimeOut extends WebdriverComponent implements Timeouts,
 		IConfigurable {
 
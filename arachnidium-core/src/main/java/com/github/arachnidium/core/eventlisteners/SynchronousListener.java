@@ -0,0 +1,27 @@
+package com.github.arachnidium.core.eventlisteners;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.openqa.selenium.WebDriver;
+
+import com.github.arachnidium.core.settings.ListenerEvents;
+
+/**
+ * Listeners ({@link IWebDriverEventListener}, {@link IWindowListener},
+ * {@link IContextListener}) which are marked by this annotation are always
+ * invoked synchronously, within the listened action. 
+ * 
+ * It is useful when asynchronous delivery of events is turned on 
+ * (see {@link ListenerEvents}) and the listener has to interact with 
+ * the live {@link WebDriver}, element, window etc. Other listeners 
+ * receive detached snapshots of these objects. Snapshots only 
+ * describe objects (<code>toString()</code>) and return handles 
+ * of windows and contexts.
+ */
+@Target(value = ElementType.TYPE)
+@Retention(value = RetentionPolicy.RUNTIME)
+public @interface SynchronousListener {
+}
@@ -12,12 +12,20 @@ import org.openqa.selenium.ContextAware;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.ExpectedCondition;
 
+/**
+ * Fluent waiting for mobile context handle
+ *
+ * Regular expressions are compiled once per condition, not on each poll.
+ * {@link #getHandle(Integer, Pattern, List)} takes patterns which are
+ * compiled by the caller.
+ *
+ * @see IFluentHandleWaiting
+ */
 public class FluentScreenWaiting implements IFluentHandleWaiting {
 	
 	private static String getContextWhichMatchesToContextExpression(
-			String contextRegExp, String currentContext) {
-		Pattern p = Pattern.compile(contextRegExp);
-		Matcher m = p.matcher(currentContext);
+			Pattern contextPattern, String currentContext) {
+		Matcher m = contextPattern.matcher(currentContext);
 		if (m.find()) {
 			return currentContext;
 		} else
@@ -25,10 +33,9 @@ public class FluentScreenWaiting implements IFluentHandleWaiting {
 	}
 
 	private static String getContextWhichMatchesToActivities(String context,
-			List<String> activitiesRegExps, String currentActivity) {
-		for (String activity : activitiesRegExps) {
-			Pattern p = Pattern.compile(activity);
-			Matcher m = p.matcher(currentActivity);
+			List<Pattern> activityPatterns, String currentActivity) {
+		for (Pattern activity : activityPatterns) {
+			Matcher m = activity.matcher(currentActivity);
 	
 			if (m.find()) {
 				return context;
@@ -47,23 +54,23 @@ public class FluentScreenWaiting implements IFluentHandleWaiting {
 	}	
 	
 	private String getContextByIndexAndContextExpression(final WebDriver from,
-			int contextIndex, String contextRegExp) {
+			int contextIndex, Pattern contextPattern) {
 		String resultHandle = getContextByIndex(from, contextIndex);
 		if (resultHandle == null) {
 			return null;
 		}
-		resultHandle =getContextWhichMatchesToContextExpression(contextRegExp,
+		resultHandle =getContextWhichMatchesToContextExpression(contextPattern,
 				resultHandle);
 		return resultHandle;
 	}		
 	
 	private String getContextByExpression(final WebDriver from,
-			String contextRegExp) {
+			Pattern contextPattern) {
 		String resultHandle = null;
 		ContextAware contextAware = ((ContextAware) from);
 		Set<String> handles = contextAware.getContextHandles();
 		for (String handle : handles) {
-			resultHandle = getContextWhichMatchesToContextExpression(contextRegExp, 
+			resultHandle = getContextWhichMatchesToContextExpression(contextPattern, 
 					handle);
 			if (resultHandle == null) {
 				continue;
@@ -74,14 +81,14 @@ public class FluentScreenWaiting implements IFluentHandleWaiting {
 	}
 	
 	private String getContextByAcivities(final WebDriver from,
-			List<String> activitiesRegExps) {
+			List<Pattern> activityPatterns) {
 		String resultHandle = null;
 		ContextAware contextAware = ((ContextAware) from);
 		Set<String> handles = contextAware.getContextHandles();
 		for (String handle : handles) {
 			String currentActivity = ((AndroidDriver) contextAware.context(handle)).currentActivity();
 
-			resultHandle = getContextWhichMatchesToActivities(handle, activitiesRegExps,
+			resultHandle = getContextWhichMatchesToActivities(handle, activityPatterns,
 					currentActivity);
 			if (resultHandle == null) {
 				continue;
@@ -92,7 +99,7 @@ public class FluentScreenWaiting implements IFluentHandleWaiting {
 	}	
 	
 	private String getContextByIndexAndActivities(final WebDriver from,
-			int contextIndex, List<String> activitiesRegExps) {
+			int contextIndex, List<Pattern> activityPatterns) {
 		String resultHandle = getContextByIndex(from, contextIndex);
 		if (resultHandle == null) {
 			return null;
@@ -100,13 +107,13 @@ public class FluentScreenWaiting implements IFluentHandleWaiting {
 		ContextAware contextAware = ((ContextAware) from);
 		String currentActivity = ((AndroidDriver) contextAware.context(resultHandle)).currentActivity();
 		
-		return getContextWhichMatchesToActivities(resultHandle, activitiesRegExps, currentActivity);
+		return getContextWhichMatchesToActivities(resultHandle, activityPatterns, currentActivity);
 	}	
 
 	private String getContextByContextExpressionAndActivities(final WebDriver from,
-			List<String> activitiesRegExps, String contextRegExp) {
+			List<Pattern> activityPatterns, Pattern contextPattern) {
 
-		String resultHandle = getContextByExpression(from, contextRegExp);
+		String resultHandle = getContextByExpression(from, contextPattern);
 		if (resultHandle == null) {
 			return null;
 		}
@@ -114,12 +121,12 @@ public class FluentScreenWaiting implements IFluentHandleWaiting {
 		ContextAware contextAware = ((ContextAware) from);
 		String currentActivity = ((AndroidDriver) contextAware.context(resultHandle)).currentActivity();
 
-		return getContextWhichMatchesToActivities(resultHandle, activitiesRegExps,
+		return getContextWhichMatchesToActivities(resultHandle, activityPatterns,
 				currentActivity);
 	}	
 	
 	private String getContextByAllConditions(final WebDriver from,
-			int contextIndex, List<String> activitiesRegExps, String contextRegExp) {
+			int contextIndex, List<Pattern> activityPatterns, Pattern contextPattern) {
 		String resultHandle = getContextByIndex(from, contextIndex);
 		if (resultHandle == null) {
 			return null;
@@ -128,14 +135,57 @@ public class FluentScreenWaiting implements IFluentHandleWaiting {
 		ContextAware contextAware = ((ContextAware) from);
 		String currentActivity = ((AndroidDriver) contextAware.context(resultHandle)).currentActivity();
 
-		resultHandle = getContextWhichMatchesToContextExpression(contextRegExp,
+		resultHandle = getContextWhichMatchesToContextExpression(contextPattern,
 				resultHandle);
 		if (resultHandle == null) {
 			return null;
 		}
-		return getContextWhichMatchesToActivities(resultHandle, activitiesRegExps,
+		return getContextWhichMatchesToActivities(resultHandle, activityPatterns,
 				currentActivity);
 	}	
+
+	/**
+	 * returns context that we have been waiting for
+	 * specified time. Patterns are compiled once by the caller.
+	 *
+	 * @param index is the context index. It is not checked if it is
+	 *            <code>null</code>
+	 * @param contextPattern is the pattern of the context name. It is not
+	 *            checked if it is <code>null</code>
+	 * @param activityPatterns are patterns of Android activities. The
+	 *            context should show one of them. They are not checked if
+	 *            it is <code>null</code>
+	 */
+	public ExpectedCondition<String> getHandle(Integer index,
+			Pattern contextPattern, List<Pattern> activityPatterns) {
+		if (index != null && contextPattern == null && activityPatterns == null) {
+			return from -> getContextByIndex(from, index);
+		}
+		if (index == null && contextPattern != null && activityPatterns == null) {
+			return from -> getContextByExpression(from, contextPattern);
+		}
+		if (index == null && contextPattern == null && activityPatterns != null) {
+			return from -> getContextByAcivities(from, activityPatterns);
+		}
+		if (index != null && contextPattern != null && activityPatterns == null) {
+			return from -> getContextByIndexAndContextExpression(from, index,
+					contextPattern);
+		}
+		if (index != null && contextPattern == null && activityPatterns != null) {
+			return from -> getContextByIndexAndActivities(from, index,
+					activityPatterns);
+		}
+		if (index == null && contextPattern != null && activityPatterns != null) {
+			return from -> getContextByContextExpressionAndActivities(from,
+					activityPatterns, contextPattern);
+		}
+		if (index == null) {
+			throw new IllegalArgumentException(
+					"There is no defined condition to get a new handle");
+		}
+		return from -> getContextByAllConditions(from, index,
+				activityPatterns, contextPattern);
+	}
 	
 	/**
 	 * returns context that we have been waiting for
@@ -146,7 +196,7 @@ public class FluentScreenWaiting implements IFluentHandleWaiting {
 	 */
 	@Override
 	public ExpectedCondition<String> getHandle(int index) {
-		return from -> getContextByIndex(from, index);
+		return getHandle(index, (Pattern) null, null);
 	}
 
 	
@@ -161,7 +211,7 @@ public class FluentScreenWaiting implements IFluentHandleWaiting {
 	 */	
 	@Override
 	public ExpectedCondition<String> getHandle(String contextRegExp) {
-		return from -> getContextByExpression(from, contextRegExp);
+		return getHandle(null, Pattern.compile(contextRegExp), null);
 	}
 
 	/**
@@ -176,7 +226,7 @@ public class FluentScreenWaiting implements IFluentHandleWaiting {
 	 */
 	@Override
 	public ExpectedCondition<String> getHandle(int index, String contextRegExp) {
-		return from -> getContextByIndexAndContextExpression(from, index, contextRegExp);
+		return getHandle(index, Pattern.compile(contextRegExp), null);
 	}
 
 	/**
@@ -190,7 +240,8 @@ public class FluentScreenWaiting implements IFluentHandleWaiting {
 	 */	
 	@Override
 	public ExpectedCondition<String> getHandle(List<String> activitiesRegExps) {
-		return from -> getContextByAcivities(from, activitiesRegExps);
+		return getHandle(null, null,
+				FluentWindowWaiting.compile(activitiesRegExps));
 	}
 
 	/**
@@ -206,7 +257,8 @@ public class FluentScreenWaiting implements IFluentHandleWaiting {
 	@Override
 	public ExpectedCondition<String> getHandle(int index,
 			List<String> activitiesRegExps) {
-		return from -> getContextByIndexAndActivities(from, index, activitiesRegExps);
+		return getHandle(index, (Pattern) null,
+				FluentWindowWaiting.compile(activitiesRegExps));
 	}
 
 	/**
@@ -225,7 +277,8 @@ public class FluentScreenWaiting implements IFluentHandleWaiting {
 	@Override
 	public ExpectedCondition<String> getHandle(String contextRegExp,
 			List<String> activitiesRegExps) {
-		return from -> getContextByContextExpressionAndActivities(from, activitiesRegExps, contextRegExp);
+		return getHandle(null, Pattern.compile(contextRegExp),
+				FluentWindowWaiting.compile(activitiesRegExps));
 	}
 
 	/**
@@ -244,7 +297,8 @@ public class FluentScreenWaiting implements IFluentHandleWaiting {
 	@Override
 	public ExpectedCondition<String> getHandle(int index, String contextRegExp,
 			List<String> activitiesRegExps) {
-		return from -> getContextByAllConditions(from, index, activitiesRegExps, contextRegExp);
+		return getHandle(index, Pattern.compile(contextRegExp),
+				FluentWindowWaiting.compile(activitiesRegExps));
 	}
 
 }
@@ -1,228 +1,274 @@
 package com.github.arachnidium.core.fluenthandle;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.regex.Matcher;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.support.ui.ExpectedCondition;
 
+import com.github.arachnidium.core.FocusTracker;
+
 /**
  * Fluent waiting for browser window handle
- * 
+ *
+ * Titles and URLs of windows are remembered for a short time (see
+ * {@link #METADATA_TIME_TO_LIVE}) whether the window matches or not. The
+ * driver is not switched to such window again while its version is the same
+ * (see {@link FocusTracker#getWindowVersion(String)}). So a poll switches
+ * only to windows which were changed or have been read too long ago. Blank
+ * or not completely loaded pages are checked again on each poll because they
+ * are still changed by the browser. The page itself can change the title or
+ * the URL without any command. Such change is seen when the remembered
+ * metadata expires.
+ *
  * @see IFluentHandleWaiting
  */
 public class FluentWindowWaiting implements IFluentHandleWaiting {
 
-	private String getWindowHandleByIndex(final WebDriver from, int windowIndex) {
-		Set<String> handles = from.getWindowHandles();
-		if (handles.size() - 1 >= windowIndex) {
-			from.switchTo().window(handles.toArray()[windowIndex].toString());
-			return new ArrayList<String>(handles).get(windowIndex);
-		} else
-			return null;
+	private static final String METADATA_SCRIPT = "return [document.title, document.URL, document.readyState];";
+	private static final String BLANK_PAGE = "about:blank";
+
+	/**
+	 * How long (milliseconds) the title and the URL of a window are reused
+	 */
+	public static final long METADATA_TIME_TO_LIVE = 1000;
+
+	/**
+	 * The title and the URL of the window
+	 */
+	private static final class WindowMetadata {
+		private final String title;
+		private final String url;
+		// it is null when the metadata can't be reused
+		private final Long version;
+		private final long readAt = System.currentTimeMillis();
+
+		private WindowMetadata(String title, String url, Long version) {
+			this.title = title;
+			this.url = url;
+			this.version = version;
+		}
+
+		private boolean isReusable() {
+			return version != null && !url.startsWith(BLANK_PAGE);
+		}
+
+		private boolean isActual(Long currentVersion) {
+			return version.equals(currentVersion)
+					&& System.currentTimeMillis() - readAt < METADATA_TIME_TO_LIVE;
+		}
 	}
 
-	private static String getHandleWhichMatchesToTitles(String handle,
-			String titleRegExp, String winTitle) {
-		Pattern p = Pattern.compile(titleRegExp);
-		Matcher m = p.matcher(winTitle);
-		if (m.find()) {
-			return handle;
-		} else
-			return null;
+	/**
+	 * @param regExps are regular expressions
+	 * @return The list of compiled patterns
+	 */
+	public static List<Pattern> compile(List<String> regExps) {
+		List<Pattern> result = new ArrayList<>(regExps.size());
+		for (String regExp : regExps) {
+			result.add(Pattern.compile(regExp));
+		}
+		return Collections.unmodifiableList(result);
 	}
 
-	private static String getHandleWhichMatchesToURLs(String handle,
-			List<String> urlsRegExps, String currentUrl) {
-		for (String url : urlsRegExps) {
-			Pattern p = Pattern.compile(url);
-			Matcher m = p.matcher(currentUrl);
+	private final FocusTracker focusTracker;
+	private final WebDriver metadataReader;
+	private final Map<String, WindowMetadata> metadataCache = new ConcurrentHashMap<>();
 
-			if (m.find()) {
-				return handle;
-			}
-		}
-		return null;
+	public FluentWindowWaiting() {
+		this(null, null);
 	}
 
-	private String getWindowHandleByTitle(final WebDriver from,
-			String titleRegExp) {
-		String resultHandle = null;
-		Set<String> handles = from.getWindowHandles();
-		for (String handle : handles) {
-			String winTitle = null;
-			try {
-				from.switchTo().window(handle);
-				winTitle = from.getTitle();
-			} catch (TimeoutException e) {
-				return null;
-			}
-			resultHandle = getHandleWhichMatchesToTitles(handle, titleRegExp,
-					winTitle);
-			if (resultHandle == null) {
-				continue;
-			}
-			return resultHandle;
+	/**
+	 * @param focusTracker is the {@link FocusTracker} of the session. Titles
+	 *            and URLs of windows are not remembered if it is
+	 *            <code>null</code>
+	 * @param metadataReader is the driver which is not listened to. Titles and
+	 *            URLs are read by it, so these reads are not reported to
+	 *            listeners and the log. The waiting driver is used if it is
+	 *            <code>null</code>
+	 */
+	public FluentWindowWaiting(FocusTracker focusTracker,
+			WebDriver metadataReader) {
+		this.focusTracker = focusTracker;
+		this.metadataReader = metadataReader;
+	}
+
+	private void switchTo(WebDriver from, String handle) {
+		if (focusTracker == null || !focusTracker.isOnWindow(handle)) {
+			from.switchTo().window(handle);
 		}
-		return resultHandle;
 	}
 
-	private String getWindowHandleByURLs(final WebDriver from,
-			List<String> urlsRegExps) {
-		String resultHandle = null;
-		Set<String> handles = from.getWindowHandles();
-		for (String handle : handles) {
-			String currentUrl = null;
+	private WindowMetadata readMetadata(WebDriver from, String handle) {
+		WebDriver reader = (metadataReader != null) ? metadataReader : from;
+		if (reader instanceof JavascriptExecutor) {
+			Object result = null;
 			try {
-				from.switchTo().window(handle);
-				currentUrl = from.getCurrentUrl();
+				result = ((JavascriptExecutor) reader)
+						.executeScript(METADATA_SCRIPT);
 			} catch (TimeoutException e) {
-				return null;
+				throw e;
+			} catch (WebDriverException e) {
+				// scripts can be not supported. So title and URL are got
+				// by common commands
 			}
-
-			resultHandle = getHandleWhichMatchesToURLs(handle, urlsRegExps,
-					currentUrl);
-			if (resultHandle == null) {
-				continue;
+			if (result instanceof List && ((List<?>) result).size() == 3) {
+				List<?> values = (List<?>) result;
+				Long version = null;
+				// the version is got after the script because
+				// the listened script itself changes it
+				if (focusTracker != null && "complete".equals(values.get(2))) {
+					version = focusTracker.getWindowVersion(handle);
+				}
+				return new WindowMetadata(String.valueOf(values.get(0)),
+						String.valueOf(values.get(1)), version);
 			}
-			return resultHandle;
 		}
-		return resultHandle;
+		return new WindowMetadata(reader.getTitle(), reader.getCurrentUrl(),
+				null);
 	}
 
-	private String getWindowHandleByTitleAndURLs(final WebDriver from,
-			List<String> urlsRegExps, String titleRegExp) {
-
-		String resultHandle = getWindowHandleByTitle(from, titleRegExp);
-		if (resultHandle == null) {
-			return null;
+	private WindowMetadata getMetadata(WebDriver from, String handle) {
+		WindowMetadata cached = metadataCache.get(handle);
+		if (cached != null
+				&& cached.isActual(focusTracker.getWindowVersion(handle))) {
+			return cached;
 		}
+		switchTo(from, handle);
+		WindowMetadata metadata = readMetadata(from, handle);
+		remember(handle, metadata);
+		return metadata;
+	}
 
-		String currentUrl = null;
-		try {
-			from.switchTo().window(resultHandle);
-			currentUrl = from.getCurrentUrl();
-		} catch (TimeoutException e) {
-			return null;
+	// metadata of matched and not matched windows is reused by next polls
+	private void remember(String handle, WindowMetadata metadata) {
+		if (focusTracker != null && metadata.isReusable()) {
+			metadataCache.put(handle, metadata);
+		} else {
+			metadataCache.remove(handle);
 		}
-
-		return getHandleWhichMatchesToURLs(resultHandle, urlsRegExps,
-				currentUrl);
 	}
 
-	private String getWindowHandleByIndexAndTitle(final WebDriver from,
-			int windowIndex, String titleRegExp) {
-		String resultHandle = getWindowHandleByIndex(from, windowIndex);
-		if (resultHandle == null) {
-			return null;
+	private static boolean matches(WindowMetadata metadata,
+			Pattern titlePattern, List<Pattern> urlPatterns) {
+		if (titlePattern != null
+				&& !titlePattern.matcher(metadata.title).find()) {
+			return false;
 		}
-
-		String winTitle = null;
-		try {
-			from.switchTo().window(resultHandle);
-			winTitle = from.getTitle();
-		} catch (TimeoutException e) {
-			return null;
+		if (urlPatterns == null) {
+			return true;
 		}
-
-		return getHandleWhichMatchesToTitles(resultHandle, titleRegExp,
-				winTitle);
+		for (Pattern urlPattern : urlPatterns) {
+			if (urlPattern.matcher(metadata.url).find()) {
+				return true;
+			}
+		}
+		return false;
 	}
 
-	private String getWindowHandleByAllConditions(final WebDriver from,
-			int windowIndex, List<String> urlsRegExps, String titleRegExp) {
-		String resultHandle = getWindowHandleByIndex(from, windowIndex);
-		if (resultHandle == null) {
-			return null;
-		}
+	private String getWindowHandle(final WebDriver from, Integer windowIndex,
+			Pattern titlePattern, List<Pattern> urlPatterns) {
+		Set<String> handles = from.getWindowHandles();
+		// closed windows are forgotten
+		metadataCache.keySet().retainAll(handles);
 
-		String winTitle = null;
-		String currentUrl = null;
-		try {
-			from.switchTo().window(resultHandle);
-			winTitle = from.getTitle();
-			currentUrl = from.getCurrentUrl();
-		} catch (TimeoutException e) {
-			return null;
+		List<String> candidates = new ArrayList<String>(handles);
+		if (windowIndex != null) {
+			if (handles.size() - 1 < windowIndex) {
+				return null;
+			}
+			candidates = candidates.subList(windowIndex, windowIndex + 1);
 		}
 
-		resultHandle = getHandleWhichMatchesToTitles(resultHandle, titleRegExp,
-				winTitle);
-		if (resultHandle == null) {
-			return null;
+		for (String handle : candidates) {
+			if (titlePattern == null && urlPatterns == null) {
+				switchTo(from, handle);
+				return handle;
+			}
+			WindowMetadata metadata = null;
+			try {
+				metadata = getMetadata(from, handle);
+			} catch (TimeoutException e) {
+				return null;
+			}
+			if (matches(metadata, titlePattern, urlPatterns)) {
+				return handle;
+			}
 		}
-		return getHandleWhichMatchesToURLs(resultHandle, urlsRegExps,
-				currentUrl);
+		return null;
 	}
 
-	private String getWindowHandleByIndexAndURLs(final WebDriver from,
-			int windowIndex, List<String> urlsRegExps) {
-		String resultHandle = getWindowHandleByIndex(from, windowIndex);
-		if (resultHandle == null) {
-			return null;
-		}
-
-		String currentUrl = null;
-		try {
-			from.switchTo().window(resultHandle);
-			currentUrl = from.getCurrentUrl();
-		} catch (TimeoutException e) {
-			return null;
-		}
-		return getHandleWhichMatchesToURLs(resultHandle, urlsRegExps,
-				currentUrl);
+	/**
+	 * returns handle of a browser window that we have been waiting for
+	 * specified time. Patterns are compiled once by the caller.
+	 *
+	 * @param index is the window index. It is not checked if it is
+	 *            <code>null</code>
+	 * @param titlePattern is the pattern of the title. It is not checked if
+	 *            it is <code>null</code>
+	 * @param urlPatterns are patterns of URLs. The page should be loaded at
+	 *            one of them. It is not checked if it is <code>null</code>
+	 */
+	public ExpectedCondition<String> getHandle(Integer index,
+			Pattern titlePattern, List<Pattern> urlPatterns) {
+		return from -> getWindowHandle(from, index, titlePattern, urlPatterns);
 	}
 
 	/**
 	 * returns handle of a browser window that we have been waiting for
 	 * specified time. The window is defined by index
-	 * 
+	 *
 	 * @see com.github.arachnidium.core.fluenthandle.IFluentHandleWaiting#getHandle(int)
 	 */
 	@Override
 	public ExpectedCondition<String> getHandle(int index) {
-		return from -> getWindowHandleByIndex(from, index);
+		return getHandle(index, (Pattern) null, null);
 	}
 
 	/**
 	 * returns handle of a browser window that we have been waiting for
-	 * specified time. 
-	 * 
+	 * specified time.
+	 *
 	 * The browser window should have defined title. We can
 	 * specify part of a title as a regular expression
-	 * 
+	 *
 	 * @see com.github.arachnidium.core.fluenthandle.IFluentHandleWaiting#getHandle(java.lang.String)
 	 */
 	@Override
 	public ExpectedCondition<String> getHandle(String titleRegExp) {
-		return from -> getWindowHandleByTitle(from, titleRegExp);
+		return getHandle(null, Pattern.compile(titleRegExp), null);
 	}
 
 	/**
 	 * returns handle of a browser window that we have been waiting for
-	 * specified time. 
-	 * 
+	 * specified time.
+	 *
 	 * Browser window should have page that is loaded at
 	 * specified URLs. Each URL can be defined partially as regular expression
-	 * 
+	 *
 	 * @see com.github.arachnidium.core.fluenthandle.IFluentHandleWaiting#getHandle(java.util.List)
 	 */
 	@Override
 	public ExpectedCondition<String> getHandle(List<String> urlsRegExps) {
-		return from -> getWindowHandleByURLs(from, urlsRegExps);
+		return getHandle(null, null, compile(urlsRegExps));
 	}
 
 	/**
 	 * returns handle of a browser window that we have been waiting for
-	 * specified time. 
-	 * 
+	 * specified time.
+	 *
 	 * The browser window should have defined title. We can
 	 * specify part of a title as a regular expression.
-	 * 
+	 *
 	 * Browser window should have page that is loaded at
 	 * specified URLs. Each URL can be defined partially as regular expression.
 	 *
@@ -232,59 +278,59 @@ public class FluentWindowWaiting implements IFluentHandleWaiting {
 	@Override
 	public ExpectedCondition<String> getHandle(String titleRegExp,
 			List<String> urlsRegExps) {
-		return from -> getWindowHandleByTitleAndURLs(from, urlsRegExps,
-				titleRegExp);
+		return getHandle(null, Pattern.compile(titleRegExp),
+				compile(urlsRegExps));
 	}
 
 	/**
 	 * returns handle of a browser window that we have been waiting for
 	 * specified time. The window is defined by index.
-	 * 
+	 *
 	 * The browser window should have defined title. We can
 	 * specify part of a title as a regular expression.
-	 * 
+	 *
 	 * Browser window should have page that is loaded at
 	 * specified URLs. Each URL can be defined partially as regular expression
-	 * 
+	 *
 	 * @see com.github.arachnidium.core.fluenthandle.IFluentHandleWaiting#getHandle(int,
 	 *      java.lang.String, java.util.List)
 	 */
 	@Override
 	public ExpectedCondition<String> getHandle(int index, String titleRegExp,
 			List<String> urlsRegExps) {
-		return from -> getWindowHandleByAllConditions(from, index, urlsRegExps,
-				titleRegExp);
+		return getHandle(index, Pattern.compile(titleRegExp),
+				compile(urlsRegExps));
 	}
 
 	/**
 	 * returns handle of a browser window that we have been waiting for
 	 * specified time. The window is defined by index.
-	 * 
+	 *
 	 * The browser window should have defined title. We can specify part of a
 	 * title as a regular expression.
-	 * 
+	 *
 	 * @see com.github.arachnidium.core.fluenthandle.IFluentHandleWaiting#getHandle(int,
 	 *      java.lang.String)
 	 */
 	@Override
 	public ExpectedCondition<String> getHandle(int index, String titleRegExp) {
-		return from -> getWindowHandleByIndexAndTitle(from, index, titleRegExp);
+		return getHandle(index, Pattern.compile(titleRegExp), null);
 	}
 
 	/**
 	 * returns handle of a browser window that we have been waiting for
 	 * specified time. The window is defined by index.
-	 * 
+	 *
 	 * Browser window should have page that is loaded at
 	 * specified URLs. Each URL can be defined partially as regular expression.
-	 * 
+	 *
 	 * @see com.github.arachnidium.core.fluenthandle.IFluentHandleWaiting#getHandle(int,
 	 *      java.util.List)
 	 */
 	@Override
 	public ExpectedCondition<String> getHandle(int index,
 			List<String> urlsRegExps) {
-		return from -> getWindowHandleByIndexAndURLs(from, index, urlsRegExps);
+		return getHandle(index, (Pattern) null, compile(urlsRegExps));
 	}
 
 }
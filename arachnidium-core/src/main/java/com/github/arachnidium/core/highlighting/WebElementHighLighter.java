@@ -9,7 +9,6 @@ import com.github.arachnidium.util.logging.Photographer;
 import com.github.arachnidium.util.logging.eAvailableLevels;
 import com.github.arachnidium.util.logging.eLogColors;
 import org.openqa.selenium.JavascriptExecutor;
-import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
@@ -19,27 +18,74 @@ import com.github.arachnidium.core.settings.ScreenShots;
 
 /**
  * The default implementor of {@link IWebElementHighlighter}
+ * 
+ * The element is highlighted by the single script which also restores
+ * its border when there is no screenshot. When the screenshot is taken
+ * the border is restored by the second script. Only the border is changed
+ * and restored, so other style changes which are made by the page are kept.
+ * The original border is kept by the element until the last highlighting is
+ * over, so highlightings of the same element can overlap. One instance is
+ * supposed to be used by the session (see 
+ * {@link com.github.arachnidium.core.WebDriverEncapsulation#getHighlighter()})
  */
 public class WebElementHighLighter implements IConfigurable,
 		IWebElementHighlighter {
 
+	/**
+	 * Remembers the original border unless the element is already highlighted.
+	 * <code>arachnidiumHolds</code> is the count of highlightings which are
+	 * waiting for screenshots, <code>arachnidiumTimer</code> is the pending
+	 * restoring of the flash
+	 */
+	private static final String SAVE_BORDER = "var e = arguments[0]; "
+			+ "if (!('arachnidiumBorder' in e)) { "
+			+ "e.arachnidiumBorder = e.style.border; e.arachnidiumHolds = 0; } ";
+	/**
+	 * Restores the original border when nothing highlights the element
+	 */
+	private static final String RESTORE_BORDER = "if (e.arachnidiumHolds <= 0 "
+			+ "&& e.arachnidiumTimer === undefined) { "
+			+ "e.style.border = e.arachnidiumBorder; "
+			+ "delete e.arachnidiumBorder; delete e.arachnidiumHolds; }";
+	/**
+	 * Highlights the element and restores its border later. It is used when
+	 * there is no screenshot, so the highlighting is not waited for. The
+	 * pending restoring of the previous flash is replaced
+	 */
+	private static final String FLASH_SCRIPT = SAVE_BORDER
+			+ "clearTimeout(e.arachnidiumTimer); "
+			+ "e.style.border = arguments[1]; "
+			+ "e.arachnidiumTimer = setTimeout(function() { "
+			+ "delete e.arachnidiumTimer; " + RESTORE_BORDER + " }, arguments[2]);";
+	private static final String HIGHLIGHT_SCRIPT = SAVE_BORDER
+			+ "e.arachnidiumHolds++; e.style.border = arguments[1];";
+	private static final String RESTORE_SCRIPT = "var e = arguments[0]; "
+			+ "if (!('arachnidiumBorder' in e)) return; "
+			+ "e.arachnidiumHolds--; " + RESTORE_BORDER;
+	// milliseconds
+	private static final long FLASH_DURATION = 100;
+
 	// is this doing screenshots
-	private boolean toDoScreenShots;
+	private volatile boolean toDoScreenShots;
 	private final boolean isDoingScreenShotsByDefault = true;
 
-	private void execDecorativeScript(JavascriptExecutor scriptExecutor,
-			WebElement element, String script) throws InterruptedException {
+	private static Object execDecorativeScript(JavascriptExecutor scriptExecutor,
+			WebElement element, String script, Object... args) {
+		Object[] scriptArgs = new Object[args.length + 1];
+		System.arraycopy(args, 0, scriptArgs, 1, args.length);
+		scriptArgs[0] = element;
 		try {
-			scriptExecutor.executeScript(script, element);
+			return scriptExecutor.executeScript(script, scriptArgs);
 		} catch (ClassCastException e) {
-			scriptExecutor.executeScript(script,
-					((WrapsElement) element).getWrappedElement());
+			scriptArgs[0] = ((WrapsElement) element).getWrappedElement();
+			return scriptExecutor.executeScript(script, scriptArgs);
 		}
-		Thread.sleep(100);
 	}
 
-	private String getOriginalStyle(WebElement elementToBeHiglighted) {
-		return elementToBeHiglighted.getAttribute("style");
+	private static String getBorder(Color color) {
+		return "4px solid rgb(" + Integer.toString(color.getRed()) + ","
+				+ Integer.toString(color.getGreen()) + ","
+				+ Integer.toString(color.getBlue()) + ")";
 	}
 
 	/**
@@ -49,7 +95,7 @@ public class WebElementHighLighter implements IConfigurable,
 	 *      org.openqa.selenium.WebElement, java.awt.Color, java.lang.String)   
 	 */
 	@Override
-	public synchronized void highlightAsFine(WebDriver driver,
+	public void highlightAsFine(WebDriver driver,
 			WebElement webElement, Color highlight, String comment) {
 		highlightelement(driver, webElement, highlight, eAvailableLevels.FINE,
 				comment);
@@ -64,7 +110,7 @@ public class WebElementHighLighter implements IConfigurable,
 	 *   
 	 */
 	@Override
-	public synchronized void highlightAsFine(WebDriver driver,
+	public void highlightAsFine(WebDriver driver,
 			WebElement webElement, String comment) {
 		highlightelement(driver, webElement,
 				eLogColors.DEBUGCOLOR.getStateColor(), eAvailableLevels.FINE,
@@ -77,7 +123,7 @@ public class WebElementHighLighter implements IConfigurable,
 	 *      org.openqa.selenium.WebElement, java.awt.Color, java.lang.String)
 	 */
 	@Override
-	public synchronized void highlightAsInfo(WebDriver driver,
+	public void highlightAsInfo(WebDriver driver,
 			WebElement webElement, Color highlight, String comment) {
 		highlightelement(driver, webElement, highlight, eAvailableLevels.INFO,
 				comment);
@@ -91,7 +137,7 @@ public class WebElementHighLighter implements IConfigurable,
 	 *      org.openqa.selenium.WebElement, java.lang.String) 
 	 */
 	@Override
-	public synchronized void highlightAsInfo(WebDriver driver,
+	public void highlightAsInfo(WebDriver driver,
 			WebElement webElement, String comment) {
 		highlightelement(driver, webElement,
 				eLogColors.CORRECTSTATECOLOR.getStateColor(),
@@ -105,7 +151,7 @@ public class WebElementHighLighter implements IConfigurable,
 	 *      org.openqa.selenium.WebElement, java.awt.Color, java.lang.String)
 	 */
 	@Override
-	public synchronized void highlightAsSevere(WebDriver driver,
+	public void highlightAsSevere(WebDriver driver,
 			WebElement webElement, Color highlight, String comment) {
 		highlightelement(driver, webElement, highlight,
 				eAvailableLevels.SEVERE, comment);
@@ -119,7 +165,7 @@ public class WebElementHighLighter implements IConfigurable,
 	 *      org.openqa.selenium.WebElement, java.lang.String)   
 	 */
 	@Override
-	public synchronized void highlightAsSevere(WebDriver driver,
+	public void highlightAsSevere(WebDriver driver,
 			WebElement webElement, String comment) {
 		highlightelement(driver, webElement,
 				eLogColors.SEVERESTATECOLOR.getStateColor(),
@@ -133,7 +179,7 @@ public class WebElementHighLighter implements IConfigurable,
 	 *      org.openqa.selenium.WebElement, java.awt.Color, java.lang.String)
 	 */
 	@Override
-	public synchronized void highlightAsWarning(WebDriver driver,
+	public void highlightAsWarning(WebDriver driver,
 			WebElement webElement, Color highlight, String comment) {
 		highlightelement(driver, webElement, highlight, eAvailableLevels.WARN,
 				comment);
@@ -147,33 +193,41 @@ public class WebElementHighLighter implements IConfigurable,
 	 *      org.openqa.selenium.WebElement, java.lang.String)  
 	 */
 	@Override
-	public synchronized void highlightAsWarning(WebDriver driver,
+	public void highlightAsWarning(WebDriver driver,
 			WebElement webElement, String comment) {
 		highlightelement(driver, webElement,
 				eLogColors.WARNSTATECOLOR.getStateColor(),
 				eAvailableLevels.WARN, comment);
 	}
 
+	// a screenshot is taken only if the message is not filtered out
 	private void highlightelement(WebDriver driver, WebElement webElement,
 			Color color, eAvailableLevels LogLevel, String comment) {
+		boolean toTakeAPicture = toDoScreenShots && Log.isLoggable(LogLevel);
+		JavascriptExecutor scriptExecutor = (JavascriptExecutor) driver;
+		if (!toTakeAPicture) {
+			try {
+				execDecorativeScript(scriptExecutor, webElement, FLASH_SCRIPT,
+						getBorder(color), FLASH_DURATION);
+			} // There is a problem with mobile applications. Not all locators
+				// are supported
+			catch (WebDriverException e) {
+			}
+			Log.log(LogLevel, comment);
+			return;
+		}
+
 		try {
-			String originalStyle = getOriginalStyle(webElement);
-			setNewColor((JavascriptExecutor) driver, webElement,
-					"4px solid rgb(" + Integer.toString(color.getRed()) + ","
-							+ Integer.toString(color.getGreen()) + ","
-							+ Integer.toString(color.getBlue()) + ")");
-			if (toDoScreenShots)
-				Photographer.takeAPictureForLog(driver, LogLevel, comment);
-			else
-				Log.log(LogLevel, comment);
-			setStyle((JavascriptExecutor) driver, webElement, originalStyle);
-		} // There is a problem with mobile applications. Not all locators are
-			// supported
-		catch (WebDriverException e) {
-			if (toDoScreenShots)
-				Photographer.takeAPictureForLog(driver, LogLevel, comment);
-			else
-				Log.log(LogLevel, comment);
+			execDecorativeScript(scriptExecutor, webElement,
+					HIGHLIGHT_SCRIPT, getBorder(color));
+		} catch (WebDriverException e) {
+			Photographer.takeAPictureForLog(driver, LogLevel, comment);
+			return;
+		}
+		Photographer.takeAPictureForLog(driver, LogLevel, comment);
+		try {
+			execDecorativeScript(scriptExecutor, webElement, RESTORE_SCRIPT);
+		} catch (WebDriverException e) {
 		}
 	}
 
@@ -187,22 +241,4 @@ public class WebElementHighLighter implements IConfigurable,
 			this.toDoScreenShots = toDoScreenShots;
 	}
 
-	private void setNewColor(JavascriptExecutor scriptExecutor,
-			WebElement elementToBeHiglighted, String colorExpression) {
-		try {
-			execDecorativeScript(scriptExecutor, elementToBeHiglighted,
-					"arguments[0].style.border = '" + colorExpression + "'");
-		} catch (InterruptedException | StaleElementReferenceException e) {
-		}
-	}
-
-	private void setStyle(JavascriptExecutor scriptExecutor,
-			WebElement elementToBeHiglighted, String style) {
-		try {
-			execDecorativeScript(scriptExecutor, elementToBeHiglighted,
-					"arguments[0].setAttribute('style', '" + style + "');");
-		} catch (InterruptedException | StaleElementReferenceException e) {
-		}
-	}
-
 }
@@ -0,0 +1,88 @@
+package com.github.arachnidium.core.settings;
+
+import com.github.arachnidium.util.configuration.AbstractConfigurationAccessHelper;
+import com.github.arachnidium.util.configuration.Configuration;
+import org.openqa.selenium.WebDriver;
+
+import com.github.arachnidium.core.settings.supported.EInstrumentationProfiles;
+import com.github.arachnidium.core.settings.supported.EWeavingModes;
+
+/**
+ * Stores the profile of {@link WebDriver} instrumentation. 
+ * 
+ * Specification:
+ * 
+ * <p><br/>
+ *...<br/>
+ *"instrumentation":<br/>
+ *{<br/>
+ *&nbsp;&nbsp;"profile":{<br/>
+ *&nbsp;&nbsp;&nbsp;&nbsp;"type":"STRING",<br/>
+ *&nbsp;&nbsp;&nbsp;&nbsp;"value":"off/minimal/standard/full"<br/>     
+ *&nbsp;&nbsp;},<br/>
+ *&nbsp;&nbsp;"weaving":{<br/>
+ *&nbsp;&nbsp;&nbsp;&nbsp;"type":"STRING",<br/>
+ *&nbsp;&nbsp;&nbsp;&nbsp;"value":"proxy/woven"<br/>     
+ *&nbsp;&nbsp;}<br/>
+ *}<br/>
+ *...<br/>
+ *</p>
+ *
+ *@see Configuration
+ *@see EInstrumentationProfiles
+ *@see EWeavingModes
+ */
+public class Instrumentation extends AbstractConfigurationAccessHelper {
+	private final String instrumentationGroup = "instrumentation";
+	private final String profileSetting = "profile";
+	private final String weavingSetting = "weaving";
+	
+	/**
+	 * {@link EInstrumentationProfiles#FULL} is used as default value
+	 */
+	private final EInstrumentationProfiles DEFAULT_PROFILE = EInstrumentationProfiles.FULL;
+	
+	/**
+	 * {@link EWeavingModes#PROXY} is used as default value
+	 */
+	private final EWeavingModes DEFAULT_WEAVING = EWeavingModes.PROXY;
+
+	public Instrumentation(Configuration configuration) {
+		super(configuration);
+	}
+
+	/**
+	 * @see com.github.arachnidium.util.configuration.AbstractConfigurationAccessHelper#getSetting(java.lang.String)
+	 */
+	@Override
+	public <T extends Object> T getSetting(String name) {
+		return getSettingValue(instrumentationGroup, name);
+	}
+
+	/**
+	 * @return The profile of {@link WebDriver} instrumentation
+	 * 
+	 * @see EInstrumentationProfiles
+	 */
+	public EInstrumentationProfiles getProfile() {
+		String name = getSetting(profileSetting);
+		if (name != null)
+			return EInstrumentationProfiles.parse(name);
+		else
+			return DEFAULT_PROFILE;
+	}
+	
+	/**
+	 * @return The way how listeners are applied
+	 * 
+	 * @see EWeavingModes
+	 */
+	public EWeavingModes getWeaving() {
+		String name = getSetting(weavingSetting);
+		if (name != null)
+			return EWeavingModes.parse(name);
+		else
+			return DEFAULT_WEAVING;
+	}
+
+}
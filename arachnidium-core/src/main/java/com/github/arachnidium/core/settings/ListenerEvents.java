@@ -0,0 +1,111 @@
+package com.github.arachnidium.core.settings;
+
+import com.github.arachnidium.util.configuration.AbstractConfigurationAccessHelper;
+import com.github.arachnidium.util.configuration.Configuration;
+
+import com.github.arachnidium.core.eventlisteners.SynchronousListener;
+import com.github.arachnidium.core.settings.supported.EBackpressurePolicies;
+
+/**
+ * Stores parameters of the event delivery to listeners which are 
+ * loaded by SPI. Events are delivered synchronously by default. 
+ * Listeners marked by {@link SynchronousListener} are always invoked
+ * synchronously.
+ * 
+ * Specification:
+ * 
+ * <p><br/>
+ *...<br/>
+ *"listenerEvents":<br/>
+ *{<br/>
+ *&nbsp;&nbsp;"async":{<br/>
+ *&nbsp;&nbsp;&nbsp;&nbsp;"type":"BOOL",<br/>
+ *&nbsp;&nbsp;&nbsp;&nbsp;"value":"flag value"<br/>     
+ *&nbsp;&nbsp;},<br/>
+ *&nbsp;&nbsp;"queueCapacity":{<br/>
+ *&nbsp;&nbsp;&nbsp;&nbsp;"type":"INT",<br/>
+ *&nbsp;&nbsp;&nbsp;&nbsp;"value":"some int value"<br/>     
+ *&nbsp;&nbsp;},<br/>
+ *&nbsp;&nbsp;"backpressure":{<br/>
+ *&nbsp;&nbsp;&nbsp;&nbsp;"type":"STRING",<br/>
+ *&nbsp;&nbsp;&nbsp;&nbsp;"value":"block/drop_oldest/sample"<br/>     
+ *&nbsp;&nbsp;},<br/>
+ *&nbsp;&nbsp;"sampleRate":{<br/>
+ *&nbsp;&nbsp;&nbsp;&nbsp;"type":"INT",<br/>
+ *&nbsp;&nbsp;&nbsp;&nbsp;"value":"some int value"<br/>     
+ *&nbsp;&nbsp;}<br/>
+ *}<br/>
+ *...<br/>
+ *</p>
+ *
+ *@see Configuration
+ *@see EBackpressurePolicies
+ */
+public class ListenerEvents extends AbstractConfigurationAccessHelper {
+	private final String listenerEventsGroup = "listenerEvents";
+	private final String asyncSetting = "async";
+	private final String queueCapacitySetting = "queueCapacity";
+	private final String backpressureSetting = "backpressure";
+	private final String sampleRateSetting = "sampleRate";
+
+	private final Boolean DEFAULT_ASYNC = false;
+	private final Integer DEFAULT_QUEUE_CAPACITY = 1024;
+	private final EBackpressurePolicies DEFAULT_BACKPRESSURE = EBackpressurePolicies.BLOCK;
+	private final Integer DEFAULT_SAMPLE_RATE = 10;
+
+	public ListenerEvents(Configuration configuration) {
+		super(configuration);
+	}
+
+	/**
+	 * @see com.github.arachnidium.util.configuration.AbstractConfigurationAccessHelper#getSetting(java.lang.String)
+	 */
+	@Override
+	public <T extends Object> T getSetting(String name) {
+		return getSettingValue(listenerEventsGroup, name);
+	}
+
+	/**
+	 * @return {@link Boolean} value of the flag "async"
+	 */
+	public Boolean getAsync() {
+		Boolean async = getSetting(asyncSetting);
+		if (async == null)
+			return DEFAULT_ASYNC;
+		return async;
+	}
+
+	/**
+	 * @return Max count of events which are waiting for delivery
+	 */
+	public Integer getQueueCapacity() {
+		Integer capacity = getSetting(queueCapacitySetting);
+		if (capacity == null)
+			return DEFAULT_QUEUE_CAPACITY;
+		return capacity;
+	}
+
+	/**
+	 * @return The policy which is applied when the queue is full
+	 * 
+	 * @see EBackpressurePolicies
+	 */
+	public EBackpressurePolicies getBackpressure() {
+		String name = getSetting(backpressureSetting);
+		if (name != null)
+			return EBackpressurePolicies.parse(name);
+		else
+			return DEFAULT_BACKPRESSURE;
+	}
+
+	/**
+	 * @return Each n-th event is kept when the queue is full and 
+	 * {@link EBackpressurePolicies#SAMPLE} is used
+	 */
+	public Integer getSampleRate() {
+		Integer rate = getSetting(sampleRateSetting);
+		if (rate == null)
+			return DEFAULT_SAMPLE_RATE;
+		return rate;
+	}
+}
@@ -0,0 +1,58 @@
+package com.github.arachnidium.core.settings;
+
+import com.github.arachnidium.util.configuration.AbstractConfigurationAccessHelper;
+import com.github.arachnidium.util.configuration.Configuration;
+
+/**
+ * Stores parameters of the lifetime of page objects (parts) which are 
+ * created by the application. Parts are weakly referenced by the application,
+ * so they are collected when they are not used anymore. The count of parts 
+ * which are still used and are destroyed together with the application 
+ * can be limited. The eldest parts are evicted when the limit is exceeded. 
+ * The count is not limited by default.
+ * 
+ * Specification:
+ * 
+ * <p><br/>
+ *...<br/>
+ *"partLifetime":<br/>
+ *{<br/>
+ *&nbsp;&nbsp;"maxChildren":{<br/>
+ *&nbsp;&nbsp;&nbsp;&nbsp;"type":"INT",<br/>
+ *&nbsp;&nbsp;&nbsp;&nbsp;"value":"some int value"<br/>     
+ *&nbsp;&nbsp;}<br/>
+ *}<br/>
+ *...<br/>
+ *</p>
+ *
+ *@see Configuration
+ */
+public class PartLifetime extends AbstractConfigurationAccessHelper {
+	private final String partLifetimeGroup = "partLifetime";
+	private final String maxChildrenSetting = "maxChildren";
+
+	private final Integer DEFAULT_MAX_CHILDREN = 0;
+
+	public PartLifetime(Configuration configuration) {
+		super(configuration);
+	}
+
+	/**
+	 * @see com.github.arachnidium.util.configuration.AbstractConfigurationAccessHelper#getSetting(java.lang.String)
+	 */
+	@Override
+	public <T extends Object> T getSetting(String name) {
+		return getSettingValue(partLifetimeGroup, name);
+	}
+
+	/**
+	 * @return Max count of parts which are kept by the application. 
+	 * The count is not limited if it is 0 or less
+	 */
+	public Integer getMaxChildren() {
+		Integer maxChildren = getSetting(maxChildrenSetting);
+		if (maxChildren == null)
+			return DEFAULT_MAX_CHILDREN;
+		return maxChildren;
+	}
+}
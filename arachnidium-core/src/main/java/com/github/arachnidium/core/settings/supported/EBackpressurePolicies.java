@@ -0,0 +1,38 @@
+package com.github.arachnidium.core.settings.supported;
+
+/**
+ * There are supported policies which are applied when the queue of 
+ * asynchronously delivered listener events is full
+ */
+public enum EBackpressurePolicies {
+	/**
+	 * The listened action waits until there is space in the queue
+	 */
+	BLOCK,
+	/**
+	 * The oldest queued event is dropped
+	 */
+	DROP_OLDEST,
+	/**
+	 * Only each n-th event replaces the oldest queued one. Other events 
+	 * are dropped
+	 */
+	SAMPLE;
+
+	/**
+	 * Parses the given string and returns the suitable policy
+	 * 
+	 * @param original is a policy name (block, drop_oldest, sample)
+	 * @return one of {@link EBackpressurePolicies}
+	 */
+	public static EBackpressurePolicies parse(String original) {
+		String parcingStr = original.toUpperCase().trim();
+
+		EBackpressurePolicies[] values = EBackpressurePolicies.values();
+		for (EBackpressurePolicies enumElem : values)
+			if (parcingStr.equals(enumElem.toString()))
+				return enumElem;
+		throw new IllegalArgumentException("Backpressure policy "
+				+ original + " is not supported");
+	}
+}
@@ -0,0 +1,82 @@
+package com.github.arachnidium.core.settings.supported;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * There are supported profiles of {@link WebDriver} instrumentation. They
+ * define what is intercepted and wrapped.
+ */
+public enum EInstrumentationProfiles {
+	/**
+	 * The raw {@link WebDriver} is used. There is no per-command logging and
+	 * listeners are not notified
+	 */
+	OFF(false, false, false),
+	/**
+	 * Only commands of the {@link WebDriver} itself are listened to. Returned
+	 * objects (elements, navigation, alerts etc.) are not wrapped
+	 */
+	MINIMAL(true, false, false),
+	/**
+	 * {@link WebDriver} and returned objects are listened to. Actions are
+	 * logged but {@link WebElement}s are not highlighted
+	 */
+	STANDARD(true, true, false),
+	/**
+	 * Everything is listened to and {@link WebElement}s are highlighted. This
+	 * is the default profile
+	 */
+	FULL(true, true, true);
+
+	/**
+	 * Parses the given string and returns the suitable profile
+	 * 
+	 * @param original is a profile name (off, minimal, standard, full)
+	 * @return one of {@link EInstrumentationProfiles}
+	 */
+	public static EInstrumentationProfiles parse(String original) {
+		String parcingStr = original.toUpperCase().trim();
+
+		EInstrumentationProfiles[] values = EInstrumentationProfiles.values();
+		for (EInstrumentationProfiles enumElem : values)
+			if (parcingStr.equals(enumElem.toString()))
+				return enumElem;
+		throw new IllegalArgumentException("Instrumentation profile "
+				+ original + " is not supported");
+	}
+
+	private final boolean driverIsListenable;
+	private final boolean resultsAreListenable;
+	private final boolean elementsAreHighlighted;
+
+	private EInstrumentationProfiles(boolean driverIsListenable,
+			boolean resultsAreListenable, boolean elementsAreHighlighted) {
+		this.driverIsListenable = driverIsListenable;
+		this.resultsAreListenable = resultsAreListenable;
+		this.elementsAreHighlighted = elementsAreHighlighted;
+	}
+
+	/**
+	 * @return true if {@link WebDriver} commands should be intercepted
+	 */
+	public boolean isDriverListenable() {
+		return driverIsListenable;
+	}
+
+	/**
+	 * @return true if objects returned by {@link WebDriver} commands should be
+	 *         wrapped and listened to
+	 */
+	public boolean areResultsListenable() {
+		return resultsAreListenable;
+	}
+
+	/**
+	 * @return true if {@link WebElement}s should be highlighted when actions
+	 *         are logged
+	 */
+	public boolean areElementsHighlighted() {
+		return elementsAreHighlighted;
+	}
+}
@@ -0,0 +1,38 @@
+package com.github.arachnidium.core.settings.supported;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * There are supported ways to apply listeners to {@link WebDriver} and its
+ * components.
+ */
+public enum EWeavingModes {
+	/**
+	 * Listenable objects are runtime proxies. This is the default mode
+	 */
+	PROXY,
+	/**
+	 * Listeners are woven into classes by AspectJ at compile time (the
+	 * aspectj-weaving build profile) or at load time (-javaagent:aspectjweaver.jar
+	 * -Dorg.aspectj.weaver.loadtime.configuration=META-INF/arachnidium-aop.xml).
+	 * Listenable objects are not proxied, they are registered in the session
+	 */
+	WOVEN;
+
+	/**
+	 * Parses the given string and returns the suitable mode
+	 * 
+	 * @param original is a mode name (proxy, woven)
+	 * @return one of {@link EWeavingModes}
+	 */
+	public static EWeavingModes parse(String original) {
+		String parcingStr = original.toUpperCase().trim();
+
+		EWeavingModes[] values = EWeavingModes.values();
+		for (EWeavingModes enumElem : values)
+			if (parcingStr.equals(enumElem.toString()))
+				return enumElem;
+		throw new IllegalArgumentException("Weaving mode " + original
+				+ " is not supported");
+	}
+}
@@ -0,0 +1,277 @@
+package com.github.arachnidium.core;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.Assert;
+
+import org.openqa.selenium.ContextAware;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriver.Navigation;
+import org.openqa.selenium.WebDriver.TargetLocator;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Commands are reported to {@link FocusTracker} as the listener does it.
+ * Targets of commands are mocks, there is no browser.
+ */
+public class FocusTrackerTest {
+
+	private static final List<Object> TOP_LEVEL = Collections.emptyList();
+	private static final List<Object> FRAMES = Arrays.<Object> asList(0,
+			"frame");
+
+	/**
+	 * The driver which performs nothing. It is used to create handles
+	 */
+	private static class StubDriver extends RemoteWebDriver {
+		@Override
+		protected Response execute(String driverCommand,
+				Map<String, ?> parameters) {
+			return new Response();
+		}
+	}
+
+	private static Object mock(Class<?>... interfaces) {
+		return Proxy.newProxyInstance(FocusTrackerTest.class.getClassLoader(),
+				interfaces, (proxy, method, args) -> null);
+	}
+
+	private final TargetLocator targetLocator = (TargetLocator) mock(TargetLocator.class);
+	private final Navigation navigation = (Navigation) mock(Navigation.class);
+	private final WebDriver driver = (WebDriver) mock(WebDriver.class,
+			ContextAware.class);
+	private final WebElement element = (WebElement) mock(WebElement.class);
+
+	private WebDriverEncapsulation driverEncapsulation;
+	private BrowserWindow window1;
+	private BrowserWindow window2;
+	private MobileScreen nativeApp;
+
+	@BeforeClass
+	public void createHandles() {
+		driverEncapsulation = new WebDriverEncapsulation(new StubDriver());
+		WindowManager windowManager = new WindowManager(driverEncapsulation);
+		window1 = new BrowserWindow("window1", windowManager);
+		window2 = new BrowserWindow("window2", windowManager);
+		nativeApp = new MobileScreen("NATIVE_APP", new ScreenManager(
+				driverEncapsulation));
+	}
+
+	@AfterClass
+	public void destroy() {
+		driverEncapsulation.destroy();
+	}
+
+	private FocusTracker onWindow(String window) {
+		FocusTracker tracker = new FocusTracker(true);
+		tracker.commandIsPerformed(targetLocator, "window",
+				new Object[] { window });
+		return tracker;
+	}
+
+	@Test
+	public void disabledTrackerKnowsNothing() {
+		FocusTracker tracker = new FocusTracker(false);
+		tracker.commandIsPerformed(targetLocator, "window",
+				new Object[] { "window1" });
+		Assert.assertFalse(tracker.isOn(window1, TOP_LEVEL));
+		Assert.assertFalse(tracker.isOnWindow("window1"));
+		Assert.assertNull(tracker.getFramePath(window1));
+		Assert.assertNull(tracker.getDocumentState());
+		Assert.assertNull(tracker.getWindowVersion("window1"));
+	}
+
+	@Test
+	public void focusIsUnknownAtTheBeginning() {
+		FocusTracker tracker = new FocusTracker(true);
+		Assert.assertFalse(tracker.isOn(window1, TOP_LEVEL));
+		Assert.assertFalse(tracker.isOnWindow("window1"));
+		Assert.assertNull(tracker.getDocumentState());
+	}
+
+	@Test
+	public void switchingToWindow() {
+		FocusTracker tracker = onWindow("window1");
+		Assert.assertTrue(tracker.isOn(window1, TOP_LEVEL));
+		Assert.assertTrue(tracker.isOnWindow("window1"));
+		Assert.assertEquals(TOP_LEVEL, tracker.getFramePath(window1));
+		Assert.assertFalse(tracker.isOn(window1, FRAMES));
+		Assert.assertFalse(tracker.isOn(window2, TOP_LEVEL));
+		Assert.assertNull(tracker.getFramePath(window2));
+
+		tracker.commandIsPerformed(targetLocator, "window",
+				new Object[] { "window2" });
+		Assert.assertFalse(tracker.isOn(window1, TOP_LEVEL));
+		Assert.assertTrue(tracker.isOn(window2, TOP_LEVEL));
+	}
+
+	@Test
+	public void switchingToTheSameWindowKeepsDocuments() {
+		FocusTracker tracker = onWindow("window1");
+		Object state = tracker.getDocumentState();
+		tracker.commandIsPerformed(targetLocator, "window",
+				new Object[] { "window1" });
+		Assert.assertEquals(state, tracker.getDocumentState());
+
+		tracker.commandIsPerformed(targetLocator, "window",
+				new Object[] { "window2" });
+		tracker.commandIsPerformed(targetLocator, "window",
+				new Object[] { "window1" });
+		Assert.assertFalse(state.equals(tracker.getDocumentState()));
+	}
+
+	@Test
+	public void framesAreKnownOnlyWhenTheyAreDeclared() {
+		FocusTracker tracker = onWindow("window1");
+		tracker.commandIsPerformed(targetLocator, "frame", new Object[] { 0 });
+		Assert.assertFalse(tracker.isOn(window1, TOP_LEVEL));
+		Assert.assertFalse(tracker.isOnWindow("window1"));
+		Assert.assertNull(tracker.getFramePath(window1));
+		Assert.assertNull(tracker.getDocumentState());
+
+		tracker.framesAreEntered(window1, FRAMES);
+		Assert.assertTrue(tracker.isOn(window1, FRAMES));
+		Assert.assertEquals(FRAMES, tracker.getFramePath(window1));
+		Assert.assertNotNull(tracker.getDocumentState());
+
+		tracker.commandIsPerformed(targetLocator, "parentFrame",
+				new Object[] {});
+		Assert.assertNull(tracker.getFramePath(window1));
+
+		tracker.commandIsPerformed(targetLocator, "defaultContent",
+				new Object[] {});
+		Assert.assertTrue(tracker.isOn(window1, TOP_LEVEL));
+	}
+
+	@Test
+	public void framesOfAnotherWindowAreIgnored() {
+		FocusTracker tracker = onWindow("window1");
+		tracker.framesAreEntered(window2, FRAMES);
+		Assert.assertTrue(tracker.isOn(window1, TOP_LEVEL));
+		Assert.assertFalse(tracker.isOn(window2, FRAMES));
+	}
+
+	@Test
+	public void readOnlyCommandsChangeNothing() {
+		FocusTracker tracker = onWindow("window1");
+		tracker.framesAreEntered(window1, FRAMES);
+		Long version = tracker.getWindowVersion("window1");
+		Object state = tracker.getDocumentState();
+
+		tracker.commandIsPerformed(driver, "getTitle", new Object[] {});
+		tracker.commandIsPerformed(element, "isDisplayed", new Object[] {});
+		tracker.commandIsPerformed(driver, "findElement", new Object[] {});
+		Assert.assertEquals(version, tracker.getWindowVersion("window1"));
+		Assert.assertEquals(state, tracker.getDocumentState());
+		Assert.assertTrue(tracker.isOn(window1, FRAMES));
+	}
+
+	@Test
+	public void pageChangingCommandChangesTheCurrentWindow() {
+		FocusTracker tracker = onWindow("window1");
+		Long version1 = tracker.getWindowVersion("window1");
+		Long version2 = tracker.getWindowVersion("window2");
+
+		tracker.commandIsPerformed(element, "click", new Object[] {});
+		Assert.assertFalse(version1.equals(tracker
+				.getWindowVersion("window1")));
+		Assert.assertEquals(version2, tracker.getWindowVersion("window2"));
+		// the top level document is the same
+		Assert.assertTrue(tracker.isOn(window1, TOP_LEVEL));
+	}
+
+	@Test
+	public void pageChangingCommandMakesFramesUnknown() {
+		FocusTracker tracker = onWindow("window1");
+		tracker.framesAreEntered(window1, FRAMES);
+		tracker.commandIsPerformed(element, "click", new Object[] {});
+		Assert.assertFalse(tracker.isOn(window1, FRAMES));
+		Assert.assertNull(tracker.getFramePath(window1));
+		Assert.assertNull(tracker.getDocumentState());
+	}
+
+	@Test
+	public void navigationStartsNewDocuments() {
+		FocusTracker tracker = onWindow("window1");
+		tracker.framesAreEntered(window1, FRAMES);
+		Long version = tracker.getWindowVersion("window1");
+
+		tracker.commandIsPerformed(driver, "get",
+				new Object[] { "http://localhost" });
+		Assert.assertTrue(tracker.isOn(window1, TOP_LEVEL));
+		Assert.assertFalse(version.equals(tracker.getWindowVersion("window1")));
+		Object state = tracker.getDocumentState();
+
+		tracker.commandIsPerformed(navigation, "refresh", new Object[] {});
+		Assert.assertTrue(tracker.isOn(window1, TOP_LEVEL));
+		Assert.assertFalse(state.equals(tracker.getDocumentState()));
+	}
+
+	@Test
+	public void closingMakesWindowUnknown() {
+		FocusTracker tracker = onWindow("window1");
+		tracker.commandIsPerformed(driver, "close", new Object[] {});
+		Assert.assertFalse(tracker.isOn(window1, TOP_LEVEL));
+		Assert.assertFalse(tracker.isOnWindow("window1"));
+		Assert.assertNull(tracker.getDocumentState());
+	}
+
+	@Test
+	public void failedCommandChangesAllWindows() {
+		FocusTracker tracker = onWindow("window1");
+		Long version1 = tracker.getWindowVersion("window1");
+		Long version2 = tracker.getWindowVersion("window2");
+
+		tracker.commandIsFailed(new WebDriverException());
+		Assert.assertFalse(version1.equals(tracker
+				.getWindowVersion("window1")));
+		Assert.assertFalse(version2.equals(tracker
+				.getWindowVersion("window2")));
+		// the top level document is the same
+		Assert.assertTrue(tracker.isOn(window1, TOP_LEVEL));
+	}
+
+	@Test
+	public void failedCommandMakesFramesUnknown() {
+		FocusTracker tracker = onWindow("window1");
+		tracker.framesAreEntered(window1, FRAMES);
+		tracker.commandIsFailed(new WebDriverException());
+		Assert.assertNull(tracker.getFramePath(window1));
+		Assert.assertNull(tracker.getDocumentState());
+	}
+
+	@Test
+	public void missingWindowMakesWindowUnknown() {
+		FocusTracker tracker = onWindow("window1");
+		tracker.commandIsFailed(new NoSuchWindowException("window1"));
+		Assert.assertFalse(tracker.isOn(window1, TOP_LEVEL));
+		Assert.assertFalse(tracker.isOnWindow("window1"));
+	}
+
+	@Test
+	public void switchingToContext() {
+		FocusTracker tracker = new FocusTracker(true);
+		tracker.commandIsPerformed(driver, "context",
+				new Object[] { "NATIVE_APP" });
+		Assert.assertTrue(tracker.isOn(nativeApp, TOP_LEVEL));
+		Assert.assertTrue(tracker.isInContext("NATIVE_APP"));
+		Assert.assertFalse(tracker.isInContext("WEBVIEW_1"));
+		Object state = tracker.getDocumentState();
+
+		tracker.commandIsPerformed(driver, "context",
+				new Object[] { "WEBVIEW_1" });
+		Assert.assertFalse(tracker.isOn(nativeApp, TOP_LEVEL));
+		Assert.assertFalse(state.equals(tracker.getDocumentState()));
+	}
+}
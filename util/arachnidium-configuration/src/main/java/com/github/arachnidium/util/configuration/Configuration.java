@@ -28,12 +28,11 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
 import java.util.Set;
 
-import net.sf.cglib.proxy.Callback;
-import net.sf.cglib.proxy.Enhancer;
-
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
 
+import com.github.arachnidium.util.proxy.EnhancedProxyFactory;
+
 /**
  * Stores settings read from JSON file.
  * A JSON file has specific format
@@ -56,14 +55,9 @@ import org.json.simple.parser.JSONParser;
  */
 public class Configuration {
 	public static Configuration get(String filePath) {
-		Callback interceptor = new ConfigurationInterceptor();
-
-		Enhancer enhancer = new Enhancer();
-		enhancer.setCallback(interceptor);
-		enhancer.setSuperclass(Configuration.class);
-
-		return (Configuration) enhancer.create(new Class[] { String.class },
-				new Object[] { filePath });
+		return EnhancedProxyFactory.getProxy(Configuration.class,
+				new Class[] { String.class }, new Object[] { filePath },
+				new ConfigurationInterceptor());
 	}
 
 	private static String getPathToDefault(String startPath) {
@@ -77,15 +77,18 @@ public class Log {
 		converters.add(converter);
 	}
 
+	// the record is null if its level is filtered out
 	private static void applyLogRec(LogRecWithAttach rec) {
-		if (commonLevel.intValue() <= rec.getLevel().intValue()) {
+		if (rec != null) {
 			log.log(rec);
 			converting.convert(rec);
 		}
 	}
 
 	private static void applyLogRec(LogRecWithAttach rec, File attached) {
-		rec.setAttachment(attached);
+		if (rec != null) {
+			rec.setAttachment(attached);
+		}
 		applyLogRec(rec);
 	}
 
@@ -187,9 +190,29 @@ public class Log {
 		return commonLevel;
 	}
 
-	// new log record is formed here
+	/**
+	 * Checks whether messages of the given level are not filtered out by
+	 * the current {@link Level}. It is useful when a message is expensive to
+	 * build
+	 * 
+	 * @param level is one of {@link eAvailableLevels}
+	 * @return true if a message with the given level will be logged
+	 */
+	public static boolean isLoggable(eAvailableLevels level) {
+		return isLoggable(level.getLevel());
+	}
+
+	private static boolean isLoggable(Level level) {
+		return commonLevel.intValue() <= level.intValue();
+	}
+
+	// new log record is formed here. If the level is filtered out then
+	// neither the record nor the stack trace is built and null is returned
 	private static LogRecWithAttach getRecordForLog(eAvailableLevels level,
 			String msg) {
+		if (!isLoggable(level.getLevel())) {
+			return null;
+		}
 		StackTraceElement stack[] = new Throwable().getStackTrace();
 		StackTraceElement element = stack[levelUp];
 		LogRecWithAttach rec = new LogRecWithAttach(level.getLevel(), msg);
@@ -318,7 +341,9 @@ public class Log {
 	}
 
 	private static LogRecWithAttach setThrown(LogRecWithAttach rec, Throwable t) {
-		rec.setThrown(t);
+		if (rec != null) {
+			rec.setThrown(t);
+		}
 		return rec;
 	}
 
@@ -0,0 +1,118 @@
+package com.github.arachnidium.util.proxy;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.sf.cglib.core.CodeGenerationException;
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.MethodInterceptor;
+
+/**
+ * Creates proxy objects by CGLIB {@link Enhancer}. This is the default
+ * backend.
+ * 
+ * Proxy classes are generated once per superclass and callback types (all
+ * callbacks are {@link MethodInterceptor}s so the number of them is enough). 
+ * Instances are created by cached constructors of generated classes.
+ */
+public class CglibProxyBackend implements IProxyBackend {
+	
+	/**
+	 * The name of this backend
+	 */
+	public static final String NAME = "cglib";
+	
+	/**
+	 * The generated proxy class and its constructors
+	 */
+	private static final class ProxyClass {
+		private final Class<?> type;
+		private final Map<List<Class<?>>, Constructor<?>> constructors = new ConcurrentHashMap<>();
+
+		private ProxyClass(Class<?> superclass, int callbackCount) {
+			Class<?>[] callbackTypes = new Class<?>[callbackCount];
+			Arrays.fill(callbackTypes, MethodInterceptor.class);
+			Enhancer enhancer = new Enhancer();
+			enhancer.setCallbackTypes(callbackTypes);
+			enhancer.setSuperclass(superclass);
+			type = enhancer.createClass();
+		}
+
+		private Constructor<?> getConstructor(Class<?>[] paramClasses) {
+			return constructors.computeIfAbsent(
+					Arrays.asList(paramClasses.clone()), (key) -> {
+						try {
+							Constructor<?> c = type
+									.getDeclaredConstructor(paramClasses);
+							c.setAccessible(true);
+							return c;
+						} catch (NoSuchMethodException e) {
+							throw new CodeGenerationException(e);
+						}
+					});
+		}
+
+		// the same as Enhancer#create(Class[], Object[]) does
+		private Object newInstance(Class<?>[] paramClasses,
+				Object[] paramValues, Callback[] callbacks) {
+			Constructor<?> constructor = getConstructor(paramClasses);
+			Enhancer.registerCallbacks(type, callbacks);
+			try {
+				return constructor.newInstance(paramValues);
+			} catch (InvocationTargetException e) {
+				throw new CodeGenerationException(e.getTargetException());
+			} catch (InstantiationException | IllegalAccessException e) {
+				throw new CodeGenerationException(e);
+			} finally {
+				Enhancer.registerCallbacks(type, null);
+			}
+		}
+	}
+
+	private static final ClassValue<Map<Integer, ProxyClass>> PROXY_CLASSES = new ClassValue<Map<Integer, ProxyClass>>() {
+		@Override
+		protected Map<Integer, ProxyClass> computeValue(Class<?> superclass) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	/**
+	 * @see com.github.arachnidium.util.proxy.IProxyBackend#getName()
+	 */
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	/**
+	 * @see com.github.arachnidium.util.proxy.IProxyBackend#getProxy(java.lang.Class,
+	 *      java.lang.Class[], java.lang.Object[],
+	 *      net.sf.cglib.proxy.MethodInterceptor[])
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T getProxy(Class<T> clazz, Class<?>[] paramClasses,
+			Object[] paramValues, MethodInterceptor[] interceptors) {
+		return (T) getProxyClass(clazz, interceptors.length).newInstance(
+				paramClasses, paramValues, interceptors);
+	}
+
+	/**
+	 * @see com.github.arachnidium.util.proxy.IProxyBackend#prepareProxyClass(java.lang.Class,
+	 *      int)
+	 */
+	@Override
+	public void prepareProxyClass(Class<?> clazz, int interceptorCount) {
+		getProxyClass(clazz, interceptorCount);
+	}
+
+	private static ProxyClass getProxyClass(Class<?> clazz, int interceptorCount) {
+		return PROXY_CLASSES.get(clazz).computeIfAbsent(interceptorCount,
+				(count) -> new ProxyClass(clazz, count));
+	}
+}
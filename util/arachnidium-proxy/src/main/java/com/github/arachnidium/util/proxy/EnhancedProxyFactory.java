@@ -18,9 +18,12 @@
 package com.github.arachnidium.util.proxy;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.ServiceLoader;
 
 import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.Factory;
 import net.sf.cglib.proxy.MethodInterceptor;
 
 /**
@@ -28,10 +31,39 @@ import net.sf.cglib.proxy.MethodInterceptor;
  * 
  * Creates proxy objects by the list of {@link MethodInterceptor} implementations
  * and {@link Enhancer}
+ * 
+ * Proxy objects are created by the {@link IProxyBackend} which is chosen by the
+ * system property {@link #BACKEND_PROPERTY}. Available backends are
+ * {@link CglibProxyBackend} (the default one), {@link GeneratedProxyBackend}
+ * and implementors which are declared by SPI.
  *
  */
 public abstract class EnhancedProxyFactory {
 	
+	/**
+	 * The system property which contains the name of the proxy backend
+	 * (e.g. -Darachnidium.proxy.backend=generated)
+	 * 
+	 * @see IProxyBackend#getName()
+	 */
+	public static final String BACKEND_PROPERTY = "arachnidium.proxy.backend";
+	
+	private static final IProxyBackend BACKEND = getBackend(System
+			.getProperty(BACKEND_PROPERTY, CglibProxyBackend.NAME));
+
+	private static IProxyBackend getBackend(String name) {
+		Iterator<IProxyBackend> providers = ServiceLoader.load(
+				IProxyBackend.class).iterator();
+		while (providers.hasNext()) {
+			IProxyBackend backend = providers.next();
+			if (backend.getName().equalsIgnoreCase(name.trim())) {
+				return backend;
+			}
+		}
+		throw new IllegalArgumentException("Proxy backend " + name
+				+ " is not supported");
+	}
+	
 	/**
 	 * @param clazz Instance of defined class has to be got from
 	 * @param paramClasses An array of classes which matches to required constructor 
@@ -41,14 +73,11 @@ public abstract class EnhancedProxyFactory {
 	 * @param interceptors A list of {@link MethodInterceptor} instances
 	 * @return A proxy instance of the defined class
 	 */
-	@SuppressWarnings("unchecked")
 	public static <T extends Object> T getProxy(Class<T> clazz,
 			Class<?>[] paramClasses, Object[] paramValues,
 			List<MethodInterceptor> interceptors) {
-		Enhancer enhancer = new Enhancer();
-		enhancer.setCallbacks(interceptors.toArray(new MethodInterceptor[] {}));
-		enhancer.setSuperclass(clazz);
-		T proxy = (T) enhancer.create(paramClasses, paramValues);
+		T proxy = BACKEND.getProxy(clazz, paramClasses, paramValues,
+				interceptors.toArray(new MethodInterceptor[] {}));
 		return proxy;
 	}
 	
@@ -74,6 +103,40 @@ public abstract class EnhancedProxyFactory {
 				});
 	}
 
+	/**
+	 * Creates the proxy class of the given class in advance. It is used by
+	 * proxies which are created by
+	 * {@link #getProxy(Class, Class[], Object[], MethodInterceptor)}
+	 * 
+	 * @param clazz is the class which is going to be proxied
+	 */
+	public static void prepareProxyClass(Class<?> clazz) {
+		BACKEND.prepareProxyClass(clazz, 1);
+	}
+
+	private static final ClassValue<Class<?>> PROXIED_CLASSES = new ClassValue<Class<?>>() {
+		@Override
+		protected Class<?> computeValue(Class<?> clazz) {
+			// CGLIB proxies implement Factory, names of generated and
+			// precompiled proxies contain the suffix
+			if (Factory.class.isAssignableFrom(clazz)
+					|| clazz.getName().contains(PrecompiledProxies.NAME_SUFFIX)) {
+				return clazz.getSuperclass();
+			}
+			return clazz;
+		}
+	};
+
+	/**
+	 * @param clazz is a class of some object
+	 * @return The class which is proxied if the given class is a proxy class
+	 *         of {@link CglibProxyBackend} or {@link GeneratedProxyBackend}.
+	 *         Otherwise the given class is returned.
+	 */
+	public static Class<?> getProxiedClass(Class<?> clazz) {
+		return PROXIED_CLASSES.get(clazz);
+	}
+
 	private EnhancedProxyFactory() {
 		super();
 	}
@@ -0,0 +1,171 @@
+package com.github.arachnidium.util.proxy;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.sf.cglib.core.CodeGenerationException;
+import net.sf.cglib.proxy.MethodInterceptor;
+
+/**
+ * Creates proxy objects of subclasses which are generated once per proxied
+ * class. Each generated method invokes the {@link MethodInterceptor} of the
+ * instance directly, there is no callback binding at runtime. So the call
+ * site of the interceptor is monomorphic for the proxied class and it can be
+ * inlined. The original implementation is still invoked by
+ * {@link net.sf.cglib.proxy.MethodProxy#invokeSuper(Object, Object[])}, i.e.
+ * by the FastClass of CGLIB, because interceptors of the framework take a
+ * {@link net.sf.cglib.proxy.MethodProxy}.
+ *
+ * Only one {@link MethodInterceptor} per proxy is supported.
+ * 
+ * Proxy classes which are generated at compile time are used if they are
+ * available (see {@link PrecompiledProxies}). Classes which can't be generated
+ * are proxied by {@link CglibProxyBackend}.
+ */
+public class GeneratedProxyBackend implements IProxyBackend {
+
+	/**
+	 * The name of this backend
+	 */
+	public static final String NAME = "generated";
+
+	/**
+	 * The interceptor of the instance which is being created by the current
+	 * thread
+	 */
+	private static final ThreadLocal<MethodInterceptor> CREATED_INSTANCE_INTERCEPTOR = new ThreadLocal<>();
+
+	private static final IProxyBackend FALLBACK = new CglibProxyBackend();
+
+	/**
+	 * The generated proxy class and its constructors
+	 */
+	private static final class ProxyClass {
+		// it is null when the class can't be generated
+		private final Class<?> type;
+		private final Map<List<Class<?>>, Constructor<?>> constructors = new ConcurrentHashMap<>();
+
+		private ProxyClass(Class<?> superclass) {
+			Class<?> precompiled = findPrecompiled(superclass);
+			if (precompiled != null) {
+				type = precompiled;
+			} else {
+				type = generate(superclass);
+			}
+		}
+
+		private static Class<?> generate(Class<?> superclass) {
+			try {
+				return ProxyClassGenerator.generate(superclass,
+						CREATED_INSTANCE_INTERCEPTOR);
+			} catch (CodeGenerationException | LinkageError e) {
+				return null;
+			}
+		}
+
+		private static Class<?> findPrecompiled(Class<?> superclass) {
+			try {
+				Class<?> result = Class.forName(superclass.getName()
+						+ PrecompiledProxies.NAME_SUFFIX, true,
+						superclass.getClassLoader());
+				if (result.getSuperclass() == superclass) {
+					return result;
+				}
+				return null;
+			} catch (ClassNotFoundException e) {
+				return null;
+			}
+		}
+
+		private Constructor<?> getConstructor(Class<?>[] paramClasses) {
+			return constructors.computeIfAbsent(
+					Arrays.asList(paramClasses.clone()), (key) -> {
+						try {
+							Constructor<?> c = type
+									.getDeclaredConstructor(paramClasses);
+							c.setAccessible(true);
+							return c;
+						} catch (NoSuchMethodException e) {
+							throw new CodeGenerationException(e);
+						}
+					});
+		}
+
+		private Object newInstance(Class<?>[] paramClasses,
+				Object[] paramValues, MethodInterceptor interceptor) {
+			Constructor<?> constructor = getConstructor(paramClasses);
+			// a proxy can be created by the constructor of another one
+			MethodInterceptor previous = CREATED_INSTANCE_INTERCEPTOR.get();
+			CREATED_INSTANCE_INTERCEPTOR.set(interceptor);
+			try {
+				return constructor.newInstance(paramValues);
+			} catch (InvocationTargetException e) {
+				throw new CodeGenerationException(e.getTargetException());
+			} catch (InstantiationException | IllegalAccessException e) {
+				throw new CodeGenerationException(e);
+			} finally {
+				if (previous == null) {
+					CREATED_INSTANCE_INTERCEPTOR.remove();
+				} else {
+					CREATED_INSTANCE_INTERCEPTOR.set(previous);
+				}
+			}
+		}
+	}
+
+	static MethodInterceptor getCreatedInstanceInterceptor() {
+		return CREATED_INSTANCE_INTERCEPTOR.get();
+	}
+
+	private static final ClassValue<ProxyClass> PROXY_CLASSES = new ClassValue<ProxyClass>() {
+		@Override
+		protected ProxyClass computeValue(Class<?> superclass) {
+			return new ProxyClass(superclass);
+		}
+	};
+
+	/**
+	 * @see com.github.arachnidium.util.proxy.IProxyBackend#getName()
+	 */
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	/**
+	 * @see com.github.arachnidium.util.proxy.IProxyBackend#getProxy(java.lang.Class,
+	 *      java.lang.Class[], java.lang.Object[],
+	 *      net.sf.cglib.proxy.MethodInterceptor[])
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T getProxy(Class<T> clazz, Class<?>[] paramClasses,
+			Object[] paramValues, MethodInterceptor[] interceptors) {
+		if (interceptors.length != 1) {
+			throw new IllegalArgumentException("The " + NAME
+					+ " proxy backend requires exactly one interceptor");
+		}
+		ProxyClass proxyClass = PROXY_CLASSES.get(clazz);
+		if (proxyClass.type == null) {
+			return FALLBACK.getProxy(clazz, paramClasses, paramValues,
+					interceptors);
+		}
+		return (T) proxyClass.newInstance(paramClasses, paramValues,
+				interceptors[0]);
+	}
+
+	/**
+	 * @see com.github.arachnidium.util.proxy.IProxyBackend#prepareProxyClass(java.lang.Class,
+	 *      int)
+	 */
+	@Override
+	public void prepareProxyClass(Class<?> clazz, int interceptorCount) {
+		if (PROXY_CLASSES.get(clazz).type == null) {
+			FALLBACK.prepareProxyClass(clazz, interceptorCount);
+		}
+	}
+}
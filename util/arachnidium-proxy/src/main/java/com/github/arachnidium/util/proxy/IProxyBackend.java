@@ -0,0 +1,42 @@
+package com.github.arachnidium.util.proxy;
+
+import net.sf.cglib.proxy.MethodInterceptor;
+
+/**
+ * Creates proxy objects. Implementors are loaded by SPI and the one which is
+ * used by {@link EnhancedProxyFactory} is chosen by name.
+ * 
+ * @see EnhancedProxyFactory#BACKEND_PROPERTY
+ */
+public interface IProxyBackend {
+
+	/**
+	 * @return the name of the backend which is used to choose it
+	 */
+	public String getName();
+
+	/**
+	 * @param clazz Instance of defined class has to be got from
+	 * @param paramClasses An array of classes which matches to required constructor 
+	 * parameter list
+	 * @param paramValues An array of values which matches to required constructor 
+	 * parameter list
+	 * @param interceptors An array of {@link MethodInterceptor} instances
+	 * @return A proxy instance of the defined class
+	 */
+	public <T extends Object> T getProxy(Class<T> clazz,
+			Class<?>[] paramClasses, Object[] paramValues,
+			MethodInterceptor[] interceptors);
+
+	/**
+	 * Creates the proxy class of the given class in advance, so the first
+	 * {@link #getProxy(Class, Class[], Object[], MethodInterceptor[])} doesn't
+	 * do it. It does nothing by default.
+	 * 
+	 * @param clazz is the class which is going to be proxied
+	 * @param interceptorCount is the number of {@link MethodInterceptor}s
+	 * which are going to be used by proxies
+	 */
+	public default void prepareProxyClass(Class<?> clazz, int interceptorCount) {
+	}
+}
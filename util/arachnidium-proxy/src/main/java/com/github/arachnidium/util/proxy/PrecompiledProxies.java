@@ -0,0 +1,130 @@
+package com.github.arachnidium.util.proxy;
+
+import java.lang.reflect.Method;
+
+import net.sf.cglib.core.CodeGenerationException;
+import net.sf.cglib.core.Signature;
+import net.sf.cglib.proxy.MethodInterceptor;
+import net.sf.cglib.proxy.MethodProxy;
+
+import org.objectweb.asm.Type;
+
+/**
+ * Support of proxy classes which are generated at compile time. If the class
+ * with the name <code>[proxied class name] + {@link #NAME_SUFFIX}</code> is
+ * found by the class loader of the proxied class then
+ * {@link GeneratedProxyBackend} uses it instead of the generation of a new
+ * class.
+ *
+ * A precompiled proxy class should follow the contract of classes which are
+ * created by the {@link GeneratedProxyBackend}:
+ * <ul>
+ * <li>each constructor takes the interceptor from
+ * {@link #getCreatedInstanceInterceptor()} after the superclass constructor</li>
+ * <li>the method <code>arachnidium$super$[index]</code> invokes the original
+ * implementation of the method which has the same index in the array
+ * which is passed to {@link #createMethodProxies(Class, Method[])}</li>
+ * <li>the static method <code>CGLIB$findMethodProxy(Signature)</code> invokes
+ * {@link #findMethodProxy(MethodProxy[], Signature)}</li>
+ * </ul>
+ */
+public final class PrecompiledProxies {
+
+	/**
+	 * The suffix of the name of a precompiled proxy class
+	 */
+	public static final String NAME_SUFFIX = "$$ArachnidiumProxy";
+	/**
+	 * The prefix of names of methods which invoke original implementations
+	 */
+	public static final String SUPER_PREFIX = "arachnidium$super$";
+
+	/**
+	 * @return The interceptor of the instance which is being created by the
+	 *         current thread or <code>null</code>
+	 */
+	public static MethodInterceptor getCreatedInstanceInterceptor() {
+		return GeneratedProxyBackend.getCreatedInstanceInterceptor();
+	}
+
+	/**
+	 * @param proxiedClass is the superclass of a proxy class
+	 * @param name is the name of the required method
+	 * @param parameterTypes are parameter types of the required method
+	 * @return The method which is declared by the given class or the nearest
+	 *         superclass (interface) of it
+	 */
+	public static Method findMethod(Class<?> proxiedClass, String name,
+			Class<?>... parameterTypes) {
+		Method result = findDeclaredMethod(proxiedClass, name, parameterTypes);
+		if (result == null) {
+			throw new CodeGenerationException(new NoSuchMethodException(
+					proxiedClass.getName() + "." + name));
+		}
+		return result;
+	}
+
+	private static Method findDeclaredMethod(Class<?> type, String name,
+			Class<?>[] parameterTypes) {
+		for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+			try {
+				return c.getDeclaredMethod(name, parameterTypes);
+			} catch (NoSuchMethodException e) {
+				continue;
+			}
+		}
+		for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+			for (Class<?> i : c.getInterfaces()) {
+				Method result = findDeclaredMethod(i, name, parameterTypes);
+				if (result != null) {
+					return result;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @param proxyClass is a precompiled proxy class
+	 * @param methods are overridden methods
+	 * @return {@link MethodProxy} instances which invoke
+	 *         <code>arachnidium$super$[index]</code> methods of the proxy class
+	 */
+	public static MethodProxy[] createMethodProxies(Class<?> proxyClass,
+			Method[] methods) {
+		MethodProxy[] result = new MethodProxy[methods.length];
+		try {
+			for (int i = 0; i < methods.length; i++) {
+				result[i] = ProxyClassGenerator.createMethodProxy(
+						methods[i].getDeclaringClass(), proxyClass,
+						Type.getMethodDescriptor(methods[i]),
+						methods[i].getName(), SUPER_PREFIX + i);
+			}
+		} catch (ReflectiveOperationException e) {
+			throw new CodeGenerationException(e);
+		}
+		return result;
+	}
+
+	/**
+	 * @param methodProxies are {@link MethodProxy} instances of a proxy class
+	 * @param signature is the signature of the overridden method
+	 * @return The {@link MethodProxy} of the overridden method or
+	 *         <code>null</code>
+	 *
+	 * @see MethodProxy#find(Class, Signature)
+	 */
+	public static MethodProxy findMethodProxy(MethodProxy[] methodProxies,
+			Signature signature) {
+		for (MethodProxy methodProxy : methodProxies) {
+			if (methodProxy.getSignature().equals(signature)) {
+				return methodProxy;
+			}
+		}
+		return null;
+	}
+
+	private PrecompiledProxies() {
+		super();
+	}
+}
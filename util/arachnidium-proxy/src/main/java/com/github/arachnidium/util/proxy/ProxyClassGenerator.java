@@ -0,0 +1,551 @@
+package com.github.arachnidium.util.proxy;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.sf.cglib.core.CodeGenerationException;
+import net.sf.cglib.core.ReflectUtils;
+import net.sf.cglib.core.Signature;
+import net.sf.cglib.proxy.MethodInterceptor;
+import net.sf.cglib.proxy.MethodProxy;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+/**
+ * Generates subclasses for {@link GeneratedProxyBackend}.
+ *
+ * Each overridable method of the generated class reads the
+ * {@link MethodInterceptor} from the instance field and invokes it directly.
+ * While the superclass constructor is running the interceptor is taken from
+ * the thread local value of {@link GeneratedProxyBackend}. The original
+ * implementation is available through the public accessor method, so the
+ * {@link MethodProxy} which is passed to the interceptor works as it does with
+ * CGLIB proxies.
+ *
+ * Proxies of system classes (classes of <code>java.*</code> packages or classes
+ * which are loaded by the bootstrap class loader) are put into another package
+ * and they are defined by the class loader of this library, as CGLIB does. Such
+ * proxies don't override package-private methods.
+ */
+final class ProxyClassGenerator implements Opcodes {
+
+	private static final int JAVA_8 = 52;
+	private static final String NAME_SUFFIX = "$$ArachnidiumProxy$$";
+	// the package of a system class can't contain other classes
+	private static final String SYSTEM_CLASS_PREFIX = "$";
+	private static final String INTERCEPTOR_FIELD = "arachnidium$interceptor";
+	private static final String CREATED_INTERCEPTOR_FIELD = "arachnidium$createdInterceptor";
+	private static final String METHODS_FIELD = "arachnidium$methods";
+	private static final String METHOD_PROXIES_FIELD = "arachnidium$methodProxies";
+	private static final String SUPER_PREFIX = PrecompiledProxies.SUPER_PREFIX;
+	// MethodProxy#find(Class, Signature) invokes it
+	private static final String FIND_METHOD_PROXY = "CGLIB$findMethodProxy";
+
+	private static final String INTERCEPTOR = Type
+			.getInternalName(MethodInterceptor.class);
+	private static final String INTERCEPTOR_DESC = Type
+			.getDescriptor(MethodInterceptor.class);
+	private static final String THREAD_LOCAL = Type
+			.getInternalName(ThreadLocal.class);
+	private static final String THREAD_LOCAL_DESC = Type
+			.getDescriptor(ThreadLocal.class);
+	private static final String METHODS_DESC = Type
+			.getDescriptor(Method[].class);
+	private static final String METHOD_PROXIES_DESC = Type
+			.getDescriptor(MethodProxy[].class);
+	private static final String METHOD_PROXY = Type
+			.getInternalName(MethodProxy.class);
+	private static final String SIGNATURE = Type
+			.getInternalName(Signature.class);
+	private static final String INTERCEPT_DESC = Type.getMethodDescriptor(
+			Type.getType(Object.class), Type.getType(Object.class),
+			Type.getType(Method.class), Type.getType(Object[].class),
+			Type.getType(MethodProxy.class));
+
+	private static final AtomicInteger COUNTER = new AtomicInteger();
+
+	/**
+	 * Signatures of {@link MethodProxy#create} differ in versions of CGLIB
+	 * (cglib and cglib-nodep of different versions can be found at the
+	 * classpath)
+	 */
+	private static final Method CREATE_METHOD_PROXY = findCreateMethodProxy();
+
+	private static Method findCreateMethodProxy() {
+		for (Method m : MethodProxy.class.getMethods()) {
+			if (m.getName().equals("create")
+					&& Modifier.isStatic(m.getModifiers())) {
+				return m;
+			}
+		}
+		throw new IllegalStateException(
+				"There is no suitable MethodProxy.create method");
+	}
+
+	static MethodProxy createMethodProxy(Class<?> declaringClass,
+			Class<?> proxyClass, String desc, String name, String superName)
+			throws ReflectiveOperationException {
+		if (CREATE_METHOD_PROXY.getParameterCount() == 6) {
+			return (MethodProxy) CREATE_METHOD_PROXY.invoke(null,
+					proxyClass.getClassLoader(), declaringClass, proxyClass,
+					desc, name, superName);
+		}
+		return (MethodProxy) CREATE_METHOD_PROXY.invoke(null, declaringClass,
+				proxyClass, desc, name, superName);
+	}
+
+	private static String getPackageName(Class<?> type) {
+		String name = type.getName();
+		int lastDot = name.lastIndexOf('.');
+		return (lastDot < 0) ? "" : name.substring(0, lastDot);
+	}
+
+	private static boolean isSamePackage(Class<?> class1, Class<?> class2) {
+		return class1.getClassLoader() == class2.getClassLoader()
+				&& getPackageName(class1).equals(getPackageName(class2));
+	}
+
+	private static boolean isSystemClass(Class<?> type) {
+		return type.getClassLoader() == null
+				|| type.getName().startsWith("java.");
+	}
+
+	private static boolean isOverridable(Method m, Class<?> superclass) {
+		int modifiers = m.getModifiers();
+		if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers)
+				|| Modifier.isPrivate(modifiers) || m.isBridge()
+				|| m.isSynthetic()) {
+			return false;
+		}
+		if (m.getDeclaringClass().equals(Object.class)
+				&& m.getName().equals("finalize")) {
+			return false;
+		}
+		if (Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers)) {
+			return true;
+		}
+		return !isSystemClass(superclass)
+				&& isSamePackage(m.getDeclaringClass(), superclass);
+	}
+
+	private static String getKey(Method m) {
+		return m.getName() + Arrays.toString(m.getParameterTypes());
+	}
+
+	private static void collectInterfaces(Class<?> type, Set<Class<?>> result) {
+		for (Class<?> i : type.getInterfaces()) {
+			if (result.add(i)) {
+				collectInterfaces(i, result);
+			}
+		}
+	}
+
+	/**
+	 * @return methods which are overridden by the generated class. Methods of
+	 *         subclasses hide methods of superclasses. Implemented methods
+	 *         hide methods of interfaces
+	 */
+	private static List<Method> getProxiedMethods(Class<?> superclass) {
+		Map<String, Method> methods = new LinkedHashMap<>();
+		Set<String> hidden = new LinkedHashSet<>();
+		Set<Class<?>> interfaces = new LinkedHashSet<>();
+		for (Class<?> c = superclass; c != null; c = c.getSuperclass()) {
+			for (Method m : c.getDeclaredMethods()) {
+				String key = getKey(m);
+				if (hidden.contains(key) || methods.containsKey(key)) {
+					continue;
+				}
+				if (!isOverridable(m, superclass)) {
+					// a final or private method of the subclass hides
+					// methods of superclasses
+					if (!Modifier.isPrivate(m.getModifiers())) {
+						hidden.add(key);
+					}
+					continue;
+				}
+				methods.put(key, m);
+			}
+			collectInterfaces(c, interfaces);
+		}
+		for (Class<?> i : interfaces) {
+			for (Method m : i.getDeclaredMethods()) {
+				String key = getKey(m);
+				if (!hidden.contains(key) && !methods.containsKey(key)
+						&& isOverridable(m, superclass)) {
+					methods.put(key, m);
+				}
+			}
+		}
+		return new ArrayList<>(methods.values());
+	}
+
+	private static String[] getExceptions(Class<?>[] exceptionTypes) {
+		String[] result = new String[exceptionTypes.length];
+		for (int i = 0; i < exceptionTypes.length; i++) {
+			result[i] = Type.getInternalName(exceptionTypes[i]);
+		}
+		return result;
+	}
+
+	private static void pushInt(MethodVisitor mv, int value) {
+		if (value >= -1 && value <= 5) {
+			mv.visitInsn(ICONST_0 + value);
+		} else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+			mv.visitIntInsn(BIPUSH, value);
+		} else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+			mv.visitIntInsn(SIPUSH, value);
+		} else {
+			mv.visitLdcInsn(value);
+		}
+	}
+
+	private static void loadArgs(MethodVisitor mv, Class<?>[] parameterTypes) {
+		int slot = 1;
+		for (Class<?> p : parameterTypes) {
+			Type t = Type.getType(p);
+			mv.visitVarInsn(t.getOpcode(ILOAD), slot);
+			slot += t.getSize();
+		}
+	}
+
+	private static Class<?> getWrapper(Class<?> primitive) {
+		if (primitive == boolean.class) {
+			return Boolean.class;
+		}
+		if (primitive == char.class) {
+			return Character.class;
+		}
+		if (primitive == byte.class) {
+			return Byte.class;
+		}
+		if (primitive == short.class) {
+			return Short.class;
+		}
+		if (primitive == int.class) {
+			return Integer.class;
+		}
+		if (primitive == long.class) {
+			return Long.class;
+		}
+		if (primitive == float.class) {
+			return Float.class;
+		}
+		return Double.class;
+	}
+
+	private static void createArgArray(MethodVisitor mv,
+			Class<?>[] parameterTypes) {
+		pushInt(mv, parameterTypes.length);
+		mv.visitTypeInsn(ANEWARRAY, "java/lang/Object");
+		int slot = 1;
+		for (int i = 0; i < parameterTypes.length; i++) {
+			Type t = Type.getType(parameterTypes[i]);
+			mv.visitInsn(DUP);
+			pushInt(mv, i);
+			mv.visitVarInsn(t.getOpcode(ILOAD), slot);
+			if (parameterTypes[i].isPrimitive()) {
+				Class<?> wrapper = getWrapper(parameterTypes[i]);
+				mv.visitMethodInsn(INVOKESTATIC, Type.getInternalName(wrapper),
+						"valueOf", Type.getMethodDescriptor(Type.getType(wrapper), t));
+			}
+			mv.visitInsn(AASTORE);
+			slot += t.getSize();
+		}
+	}
+
+	// null is converted to zero for primitive types as CGLIB does
+	private static void unboxOrZero(MethodVisitor mv, Class<?> returnType) {
+		if (returnType == void.class) {
+			mv.visitInsn(POP);
+			return;
+		}
+		if (!returnType.isPrimitive()) {
+			if (returnType != Object.class) {
+				mv.visitTypeInsn(CHECKCAST, Type.getInternalName(returnType));
+			}
+			return;
+		}
+		Type t = Type.getType(returnType);
+		Label notNull = new Label();
+		Label end = new Label();
+		mv.visitInsn(DUP);
+		mv.visitJumpInsn(IFNONNULL, notNull);
+		mv.visitInsn(POP);
+		switch (t.getSort()) {
+		case Type.LONG:
+			mv.visitInsn(LCONST_0);
+			break;
+		case Type.FLOAT:
+			mv.visitInsn(FCONST_0);
+			break;
+		case Type.DOUBLE:
+			mv.visitInsn(DCONST_0);
+			break;
+		default:
+			mv.visitInsn(ICONST_0);
+		}
+		mv.visitJumpInsn(GOTO, end);
+		mv.visitLabel(notNull);
+		if (returnType == boolean.class) {
+			mv.visitTypeInsn(CHECKCAST, "java/lang/Boolean");
+			mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Boolean",
+					"booleanValue", "()Z");
+		} else if (returnType == char.class) {
+			mv.visitTypeInsn(CHECKCAST, "java/lang/Character");
+			mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Character",
+					"charValue", "()C");
+		} else {
+			mv.visitTypeInsn(CHECKCAST, "java/lang/Number");
+			mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Number",
+					returnType.getName() + "Value", "()" + t.getDescriptor());
+		}
+		mv.visitLabel(end);
+	}
+
+	private static void throwAbstractMethodError(MethodVisitor mv, Method m) {
+		mv.visitTypeInsn(NEW, "java/lang/AbstractMethodError");
+		mv.visitInsn(DUP);
+		mv.visitLdcInsn(m.toString());
+		mv.visitMethodInsn(INVOKESPECIAL, "java/lang/AbstractMethodError",
+				"<init>", "(Ljava/lang/String;)V");
+		mv.visitInsn(ATHROW);
+	}
+
+	private static void invokeSuper(MethodVisitor mv, String superName,
+			Method m) {
+		if (Modifier.isAbstract(m.getModifiers())) {
+			throwAbstractMethodError(mv, m);
+			return;
+		}
+		String desc = Type.getMethodDescriptor(m);
+		mv.visitVarInsn(ALOAD, 0);
+		loadArgs(mv, m.getParameterTypes());
+		mv.visitMethodInsn(INVOKESPECIAL, superName, m.getName(), desc);
+		mv.visitInsn(Type.getReturnType(desc).getOpcode(IRETURN));
+	}
+
+	private static void generateConstructor(ClassWriter cw, String className,
+			String superName, Constructor<?> c) {
+		String desc = Type.getConstructorDescriptor(c);
+		MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", desc, null,
+				getExceptions(c.getExceptionTypes()));
+		mv.visitCode();
+		mv.visitVarInsn(ALOAD, 0);
+		loadArgs(mv, c.getParameterTypes());
+		mv.visitMethodInsn(INVOKESPECIAL, superName, "<init>", desc);
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitFieldInsn(GETSTATIC, className, CREATED_INTERCEPTOR_FIELD,
+				THREAD_LOCAL_DESC);
+		mv.visitMethodInsn(INVOKEVIRTUAL, THREAD_LOCAL, "get",
+				"()Ljava/lang/Object;");
+		mv.visitTypeInsn(CHECKCAST, INTERCEPTOR);
+		mv.visitFieldInsn(PUTFIELD, className, INTERCEPTOR_FIELD,
+				INTERCEPTOR_DESC);
+		mv.visitInsn(RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+	}
+
+	private static void generateMethod(ClassWriter cw, String className,
+			String superName, Method m, int index) {
+		String desc = Type.getMethodDescriptor(m);
+		int access = m.getModifiers()
+				& (ACC_PUBLIC | ACC_PROTECTED | ACC_VARARGS);
+		String[] exceptions = getExceptions(m.getExceptionTypes());
+
+		MethodVisitor mv = cw.visitMethod(access, m.getName(), desc, null,
+				exceptions);
+		mv.visitCode();
+		Label intercept = new Label();
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitFieldInsn(GETFIELD, className, INTERCEPTOR_FIELD,
+				INTERCEPTOR_DESC);
+		mv.visitInsn(DUP);
+		mv.visitJumpInsn(IFNONNULL, intercept);
+		mv.visitInsn(POP);
+		// the superclass constructor is running
+		mv.visitFieldInsn(GETSTATIC, className, CREATED_INTERCEPTOR_FIELD,
+				THREAD_LOCAL_DESC);
+		mv.visitMethodInsn(INVOKEVIRTUAL, THREAD_LOCAL, "get",
+				"()Ljava/lang/Object;");
+		mv.visitTypeInsn(CHECKCAST, INTERCEPTOR);
+		mv.visitInsn(DUP);
+		mv.visitJumpInsn(IFNONNULL, intercept);
+		mv.visitInsn(POP);
+		invokeSuper(mv, superName, m);
+
+		mv.visitLabel(intercept);
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitFieldInsn(GETSTATIC, className, METHODS_FIELD, METHODS_DESC);
+		pushInt(mv, index);
+		mv.visitInsn(AALOAD);
+		createArgArray(mv, m.getParameterTypes());
+		mv.visitFieldInsn(GETSTATIC, className, METHOD_PROXIES_FIELD,
+				METHOD_PROXIES_DESC);
+		pushInt(mv, index);
+		mv.visitInsn(AALOAD);
+		mv.visitMethodInsn(INVOKEINTERFACE, INTERCEPTOR, "intercept",
+				INTERCEPT_DESC);
+		unboxOrZero(mv, m.getReturnType());
+		mv.visitInsn(Type.getReturnType(desc).getOpcode(IRETURN));
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		// it is invoked by MethodProxy#invokeSuper
+		mv = cw.visitMethod(ACC_PUBLIC | ACC_FINAL, SUPER_PREFIX + index,
+				desc, null, exceptions);
+		mv.visitCode();
+		invokeSuper(mv, superName, m);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+	}
+
+	/**
+	 * Generates the method which returns the {@link MethodProxy} of the
+	 * overridden method by its {@link Signature}. It is searched by
+	 * {@link MethodProxy#find(Class, Signature)}
+	 */
+	private static void generateFindMethodProxy(ClassWriter cw,
+			String className) {
+		MethodVisitor mv = cw.visitMethod(ACC_PUBLIC | ACC_STATIC,
+				FIND_METHOD_PROXY, "(L" + SIGNATURE + ";)L" + METHOD_PROXY
+						+ ";", null, null);
+		mv.visitCode();
+		mv.visitFieldInsn(GETSTATIC, className, METHOD_PROXIES_FIELD,
+				METHOD_PROXIES_DESC);
+		mv.visitVarInsn(ASTORE, 1);
+		mv.visitInsn(ICONST_0);
+		mv.visitVarInsn(ISTORE, 2);
+		Label loop = new Label();
+		Label next = new Label();
+		Label notFound = new Label();
+		mv.visitLabel(loop);
+		mv.visitVarInsn(ILOAD, 2);
+		mv.visitVarInsn(ALOAD, 1);
+		mv.visitInsn(ARRAYLENGTH);
+		mv.visitJumpInsn(IF_ICMPGE, notFound);
+		mv.visitVarInsn(ALOAD, 1);
+		mv.visitVarInsn(ILOAD, 2);
+		mv.visitInsn(AALOAD);
+		mv.visitMethodInsn(INVOKEVIRTUAL, METHOD_PROXY, "getSignature", "()L"
+				+ SIGNATURE + ";");
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitMethodInsn(INVOKEVIRTUAL, SIGNATURE, "equals",
+				"(Ljava/lang/Object;)Z");
+		mv.visitJumpInsn(IFEQ, next);
+		mv.visitVarInsn(ALOAD, 1);
+		mv.visitVarInsn(ILOAD, 2);
+		mv.visitInsn(AALOAD);
+		mv.visitInsn(ARETURN);
+		mv.visitLabel(next);
+		mv.visitIincInsn(2, 1);
+		mv.visitJumpInsn(GOTO, loop);
+		mv.visitLabel(notFound);
+		mv.visitInsn(ACONST_NULL);
+		mv.visitInsn(ARETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+	}
+
+	private static void setStaticField(Class<?> type, String name, Object value)
+			throws ReflectiveOperationException {
+		Field f = type.getDeclaredField(name);
+		f.setAccessible(true);
+		f.set(null, value);
+	}
+
+	/**
+	 * @param superclass is the class which should be proxied
+	 * @param createdInstanceInterceptor is the thread local value of the
+	 *            interceptor which is used while the superclass constructor
+	 *            is running
+	 * @return the generated subclass
+	 */
+	static Class<?> generate(Class<?> superclass,
+			ThreadLocal<MethodInterceptor> createdInstanceInterceptor) {
+		if (superclass.isInterface() || superclass.isPrimitive()
+				|| superclass.isArray()
+				|| Modifier.isFinal(superclass.getModifiers())) {
+			throw new IllegalArgumentException(superclass.getName()
+					+ " can not be proxied. It should be a non-final class");
+		}
+		boolean isSystemClass = isSystemClass(superclass);
+		String superName = Type.getInternalName(superclass);
+		String className = (isSystemClass ? SYSTEM_CLASS_PREFIX : "")
+				+ superName + NAME_SUFFIX
+				+ Integer.toHexString(COUNTER.incrementAndGet());
+		ClassLoader classLoader = isSystemClass ? ProxyClassGenerator.class
+				.getClassLoader() : superclass.getClassLoader();
+		List<Method> methods = getProxiedMethods(superclass);
+
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES
+				| ClassWriter.COMPUTE_MAXS) {
+			// frames of generated methods merge values of the same types only
+			@Override
+			protected String getCommonSuperClass(String type1, String type2) {
+				return "java/lang/Object";
+			}
+		};
+		cw.visit(JAVA_8, ACC_PUBLIC | ACC_SUPER, className,
+				null, superName, null);
+		cw.visitField(ACC_PRIVATE, INTERCEPTOR_FIELD, INTERCEPTOR_DESC, null,
+				null).visitEnd();
+		cw.visitField(ACC_PRIVATE | ACC_STATIC, CREATED_INTERCEPTOR_FIELD,
+				THREAD_LOCAL_DESC, null, null).visitEnd();
+		cw.visitField(ACC_PRIVATE | ACC_STATIC, METHODS_FIELD, METHODS_DESC,
+				null, null).visitEnd();
+		cw.visitField(ACC_PRIVATE | ACC_STATIC, METHOD_PROXIES_FIELD,
+				METHOD_PROXIES_DESC, null, null).visitEnd();
+
+		for (Constructor<?> c : superclass.getDeclaredConstructors()) {
+			int modifiers = c.getModifiers();
+			if (Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers)
+					|| (!isSystemClass && !Modifier.isPrivate(modifiers))) {
+				generateConstructor(cw, className, superName, c);
+			}
+		}
+		for (int i = 0; i < methods.size(); i++) {
+			generateMethod(cw, className, superName, methods.get(i), i);
+		}
+		generateFindMethodProxy(cw, className);
+		cw.visitEnd();
+
+		try {
+			Class<?> type = ReflectUtils.defineClass(
+					className.replace('/', '.'), cw.toByteArray(), classLoader);
+			MethodProxy[] methodProxies = new MethodProxy[methods.size()];
+			for (int i = 0; i < methodProxies.length; i++) {
+				Method m = methods.get(i);
+				methodProxies[i] = createMethodProxy(m.getDeclaringClass(),
+						type, Type.getMethodDescriptor(m), m.getName(),
+						SUPER_PREFIX + i);
+			}
+			setStaticField(type, CREATED_INTERCEPTOR_FIELD,
+					createdInstanceInterceptor);
+			setStaticField(type, METHODS_FIELD,
+					methods.toArray(new Method[] {}));
+			setStaticField(type, METHOD_PROXIES_FIELD, methodProxies);
+			return type;
+		} catch (Exception e) {
+			throw new CodeGenerationException(e);
+		}
+	}
+
+	private ProxyClassGenerator() {
+		super();
+	}
+}
@@ -0,0 +1,156 @@
+package com.github.arachnidium.util.proxy;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.Assert;
+import net.sf.cglib.core.Signature;
+import net.sf.cglib.proxy.MethodInterceptor;
+import net.sf.cglib.proxy.MethodProxy;
+
+import org.objectweb.asm.Type;
+import org.openqa.selenium.remote.RemoteWebElement;
+import org.testng.annotations.Test;
+
+public class GeneratedProxyBackendTest {
+
+	/**
+	 * It looks like page objects of the model
+	 */
+	public static class PageObject {
+		private final String name;
+
+		protected PageObject(String name) {
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		protected String describe() {
+			return "page " + name;
+		}
+
+		String getPackagePrivateName() {
+			return name;
+		}
+	}
+
+	/**
+	 * Records invoked methods and invokes the super implementation
+	 */
+	private static class RecordingInterceptor implements MethodInterceptor {
+		private final List<String> invoked = new ArrayList<>();
+
+		@Override
+		public Object intercept(Object obj, Method method, Object[] args,
+				MethodProxy proxy) throws Throwable {
+			invoked.add(method.getName());
+			return proxy.invokeSuper(obj, args);
+		}
+	}
+
+	private final IProxyBackend backend = new GeneratedProxyBackend();
+
+	@Test
+	public void jdkClassIsProxied() {
+		RecordingInterceptor interceptor = new RecordingInterceptor();
+		@SuppressWarnings("unchecked")
+		List<Object> list = backend.getProxy(ArrayList.class, new Class<?>[] {},
+				new Object[] {}, new MethodInterceptor[] { interceptor });
+
+		Assert.assertTrue(list instanceof ArrayList);
+		// it is generated, not proxied by the fallback backend
+		Assert.assertTrue(list.getClass().getName()
+				.contains("$$ArachnidiumProxy$$"));
+		Assert.assertFalse(list.getClass().getName().startsWith("java."));
+		Assert.assertNotNull(list.getClass().getClassLoader());
+		list.add("value");
+		Assert.assertEquals(1, list.size());
+		Assert.assertEquals("value", list.get(0));
+		Assert.assertTrue(interceptor.invoked.contains("add"));
+		Assert.assertTrue(interceptor.invoked.contains("size"));
+	}
+
+	@Test
+	public void remoteWebElementIsProxied() {
+		RecordingInterceptor interceptor = new RecordingInterceptor();
+		RemoteWebElement element = backend.getProxy(RemoteWebElement.class,
+				new Class<?>[] {}, new Object[] {},
+				new MethodInterceptor[] { interceptor });
+
+		Assert.assertTrue(element.getClass().getName()
+				.contains("$$ArachnidiumProxy$$"));
+		element.setId("element-id");
+		Assert.assertEquals("element-id", element.getId());
+		Assert.assertTrue(interceptor.invoked.contains("setId"));
+		Assert.assertTrue(interceptor.invoked.contains("getId"));
+	}
+
+	@Test
+	public void pageObjectIsProxied() {
+		RecordingInterceptor interceptor = new RecordingInterceptor();
+		PageObject page = backend.getProxy(PageObject.class,
+				new Class<?>[] { String.class }, new Object[] { "main" },
+				new MethodInterceptor[] { interceptor });
+
+		Assert.assertEquals("main", page.getName());
+		Assert.assertEquals("page main", page.describe());
+		Assert.assertEquals("main", page.getPackagePrivateName());
+		Assert.assertTrue(interceptor.invoked.contains("getName"));
+		Assert.assertTrue(interceptor.invoked.contains("describe"));
+		Assert.assertTrue(interceptor.invoked
+				.contains("getPackagePrivateName"));
+	}
+
+	@Test
+	public void proxyClassIsGeneratedOnce() {
+		RecordingInterceptor interceptor = new RecordingInterceptor();
+		Object first = backend.getProxy(ArrayList.class, new Class<?>[] {},
+				new Object[] {}, new MethodInterceptor[] { interceptor });
+		Object second = backend.getProxy(ArrayList.class, new Class<?>[] {},
+				new Object[] {}, new MethodInterceptor[] { interceptor });
+		Assert.assertSame(first.getClass(), second.getClass());
+	}
+
+	@Test
+	public void proxiedClassIsResolved() {
+		RecordingInterceptor interceptor = new RecordingInterceptor();
+		PageObject generated = backend.getProxy(PageObject.class,
+				new Class<?>[] { String.class }, new Object[] { "main" },
+				new MethodInterceptor[] { interceptor });
+		PageObject cglib = new CglibProxyBackend().getProxy(PageObject.class,
+				new Class<?>[] { String.class }, new Object[] { "main" },
+				new MethodInterceptor[] { interceptor });
+
+		Assert.assertSame(PageObject.class,
+				EnhancedProxyFactory.getProxiedClass(generated.getClass()));
+		Assert.assertSame(PageObject.class,
+				EnhancedProxyFactory.getProxiedClass(cglib.getClass()));
+		Assert.assertSame(PageObject.class,
+				EnhancedProxyFactory.getProxiedClass(PageObject.class));
+	}
+
+	@Test
+	public void methodProxyIsFoundBySignature() throws Throwable {
+		RecordingInterceptor interceptor = new RecordingInterceptor();
+		PageObject page = backend.getProxy(PageObject.class,
+				new Class<?>[] { String.class }, new Object[] { "main" },
+				new MethodInterceptor[] { interceptor });
+
+		// the model finds the original implementation this way (getPart and
+		// so on)
+		Method describe = PageObject.class.getDeclaredMethod("describe");
+		MethodProxy methodProxy = MethodProxy.find(page.getClass(),
+				new Signature("describe", Type.getMethodDescriptor(describe)));
+		Assert.assertNotNull(methodProxy);
+		Assert.assertEquals("page main",
+				methodProxy.invokeSuper(page, new Object[] {}));
+		Assert.assertTrue(interceptor.invoked.isEmpty());
+
+		Assert.assertNull(MethodProxy.find(page.getClass(), new Signature(
+				"describe", "(Ljava/lang/String;)Ljava/lang/String;")));
+	}
+}